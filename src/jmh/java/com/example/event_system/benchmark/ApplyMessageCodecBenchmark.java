@@ -0,0 +1,77 @@
+package com.example.event_system.benchmark;
+
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.support.ApplyMessageCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [응모 메시지 인코딩/디코딩 벤치마크]
+ * 기존 문자열 형식(문자열 연결 + StringSerializer / StringDeserializer + split + parseLong)과
+ * ApplyMessageCodec 바이너리 형식의 메시지당 처리 시간을 비교합니다.
+ * -prof gc 결과의 gc.alloc.rate.norm으로 메시지당 할당 바이트도 함께 확인합니다.
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApplyMessageCodecBenchmark {
+
+    @Param({"", "A"})
+    public String option;
+
+    private ApplyMessage message;
+    private byte[] buffer;
+    private byte[] binaryPayload;
+    private byte[] legacyPayload;
+
+    @Setup
+    public void setUp() {
+        message = ApplyMessage.of(1_024L, 987_654_321L, option.isEmpty() ? null : option);
+        buffer = new byte[ApplyMessageCodec.encodedLength(message)];
+        binaryPayload = ApplyMessageCodec.encode(message);
+        legacyPayload = message.toLegacyString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeLegacyString() {
+        // 변경 전 EventApplyService의 메시지 생성 + StringSerializer
+        String value = message.eventId() + ":" + message.memberId()
+                + (message.optionName() == null ? "" : ":" + message.optionName());
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int encodeBinary() {
+        return ApplyMessageCodec.encode(message, buffer, 0);
+    }
+
+    @Benchmark
+    public void decodeLegacySplit(Blackhole blackhole) {
+        // 변경 전 StringDeserializer + EventConsumer의 split 기반 파싱
+        String[] data = new String(legacyPayload, StandardCharsets.UTF_8).split(":", 3);
+        blackhole.consume(Long.parseLong(data[0]));
+        blackhole.consume(Long.parseLong(data[1]));
+        blackhole.consume(data.length == 3 ? data[2] : null);
+    }
+
+    @Benchmark
+    public ApplyMessage decodeLegacyCodec() {
+        return ApplyMessageCodec.decode(legacyPayload);
+    }
+
+    @Benchmark
+    public ApplyMessage decodeBinary() {
+        return ApplyMessageCodec.decode(binaryPayload);
+    }
+}
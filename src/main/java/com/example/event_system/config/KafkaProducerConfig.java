@@ -0,0 +1,54 @@
+package com.example.event_system.config;
+
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.support.ApplyMessageCodec;
+import com.example.event_system.support.ApplyMessageFormat;
+import com.example.event_system.support.PartitionKeyStrategy;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+
+import java.util.Map;
+
+/**
+ * Kafka 발행 설정
+ * 응모 메시지의 레코드 키 생성 전략(member | event | event-member)과 메시지 형식(binary | string)을 선택합니다.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    @Bean
+    public PartitionKeyStrategy partitionKeyStrategy(
+            @Value("${event.kafka.partition-key:event-member}") String partitionKey) {
+        return PartitionKeyStrategy.from(partitionKey);
+    }
+
+    @Bean
+    public ApplyMessageFormat applyMessageFormat(
+            @Value("${event.kafka.message-format:string}") String messageFormat) {
+        return ApplyMessageFormat.from(messageFormat);
+    }
+
+    /**
+     * 값 타입별 직렬화기 등록 (Spring Boot 기본 ProducerFactory에 적용)
+     * - ApplyMessage: 바이너리 코덱
+     * - String: 기존 문자열 메시지
+     * - byte[]: Consumer가 받은 원본 바이트 (DLQ 재발행 시 형식을 바꾸지 않고 그대로 전달)
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaProducerFactoryCustomizer valueSerializerCustomizer() {
+        Map<Class<?>, Serializer<?>> serializers = Map.of(
+                ApplyMessage.class, new ApplyMessageCodec.Serializer(),
+                String.class, new StringSerializer(),
+                byte[].class, new ByteArraySerializer());
+        return producerFactory -> ((DefaultKafkaProducerFactory<Object, Object>) producerFactory)
+                .setValueSerializer(new DelegatingByTypeSerializer(serializers));
+    }
+}
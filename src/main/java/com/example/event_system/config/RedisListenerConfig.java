@@ -0,0 +1,23 @@
+package com.example.event_system.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis Pub/Sub 구독 컨테이너 설정
+ * 정책 캐시 무효화 등 인스턴스 간 브로드캐스트 메시지를 수신합니다.
+ */
+@Configuration
+public class RedisListenerConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // Redis가 없어도 애플리케이션이 기동되도록 자동 시작하지 않고, RedisListenerStarter가 연결 확인 후 시작
+        container.setAutoStartup(false);
+        return container;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.event_system.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 연결이 확인되면 구독 컨테이너를 시작합니다.
+ * 기동 시점에 Redis가 없으면 주기적으로 다시 시도하며, 그동안 구독 기반 캐시는 TTL 만료로만 갱신됩니다.
+ * 한 번 시작된 뒤의 연결 끊김은 컨테이너가 자체적으로 재구독합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisListenerStarter {
+
+    private final RedisMessageListenerContainer container;
+    private final RedisConnectionFactory connectionFactory;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${event.redis-listener.retry-interval-ms:30000}")
+    public void startIfReady() {
+        if (container.isRunning()) return;
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+            container.start();
+            log.info("Redis 구독 컨테이너 시작");
+        } catch (Exception e) {
+            log.warn("Redis 연결 실패 - 구독 컨테이너 시작 보류 (캐시는 TTL로만 갱신): {}", e.getMessage());
+        }
+    }
+}
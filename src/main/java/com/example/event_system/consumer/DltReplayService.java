@@ -0,0 +1,312 @@
+package com.example.event_system.consumer;
+
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.dto.DltReplayReport;
+import com.example.event_system.repository.EventEntryRepository;
+import com.example.event_system.service.cache.EventPolicyCache;
+import com.example.event_system.support.ApplyMessageCodec;
+import com.example.event_system.support.RatePacer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [DLT 재처리]
+ * 장애 동안 .DLT로 이동한 응모 메시지를 배치 처리 경로(EventBatchProcessor)로 다시 처리합니다.
+ * - 파티션마다 전용 Consumer 하나로 병렬 처리, 처리량은 전체 파티션 합산 recordsPerSecond로 제한
+ * - 범위: 시작 시점의 DLT 끝 오프셋까지 (재처리 중 새로 쌓인 레코드는 다음 회차에서 처리)
+ * - 체크포인트: 배치마다 재처리 전용 Consumer 그룹(event.dlt-replay.group-id)에 오프셋을 커밋하므로,
+ *   중단된 재처리를 다시 실행하면 마지막 체크포인트부터 이어서 처리
+ * - 멱등성: 이미 응모 내역이 있는 회원은 배치 처리에서 걸러지므로 같은 레코드를 다시 처리해도 재고가 다시 차감되지 않음
+ * - 재처리도 실패한 레코드는 로그로 남기고 건너뜀 (DLT에는 그대로 남아 있으므로 원인 해결 후 그룹 오프셋을 되돌려 재실행)
+ * - 존재하지 않는(삭제된) 이벤트의 레코드는 배치 처리 전에 실패로 집계하고 건너뜀 (dry-run과 같은 기준)
+ * - dry-run: 저장/커밋 없이 이벤트 존재 여부와 기존 응모 내역만 조회하여 처리될 건수를 보고
+ *   (중복은 같은 파티션 안에서만 판별하며, 선착순 당첨 여부는 재고 상황에 따라 달라짐)
+ */
+@Slf4j
+@Service
+public class DltReplayService {
+
+    private static final String RAFFLE_TOPIC = "event-raffle-topic";
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final EventBatchProcessor batchProcessor;
+    private final EventPolicyCache eventPolicyCache;
+    private final EventEntryRepository entryRepository;
+    private final String groupId;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DltReplayService(ConsumerFactory<Object, Object> consumerFactory,
+                            EventBatchProcessor batchProcessor,
+                            EventPolicyCache eventPolicyCache,
+                            EventEntryRepository entryRepository,
+                            @Value("${event.dlt-replay.group-id:event-dlt-replay}") String groupId,
+                            @Value("${event.dlt-replay.batch-size:500}") int batchSize) {
+        this.consumerFactory = consumerFactory;
+        this.batchProcessor = batchProcessor;
+        this.eventPolicyCache = eventPolicyCache;
+        this.entryRepository = entryRepository;
+        this.groupId = groupId;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param dltTopic         재처리할 DLT (event-apply-topic.DLT | event-raffle-topic.DLT)
+     * @param recordsPerSecond 전체 파티션 합산 초당 처리량
+     * @param dryRun           true면 저장/오프셋 커밋 없이 처리 결과만 예측
+     * @throws IllegalStateException 다른 재처리가 진행 중이거나 재처리 중 Kafka/DB 오류가 발생한 경우
+     */
+    public DltReplayReport replay(String dltTopic, double recordsPerSecond, boolean dryRun) {
+        if (dltTopic == null || !dltTopic.endsWith(RetryTopicMetrics.DLT_SUFFIX)) {
+            throw new IllegalArgumentException("DLT 토픽이 아닙니다: " + dltTopic);
+        }
+        RatePacer pacer = new RatePacer(recordsPerSecond);
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 DLT 재처리가 진행 중입니다.");
+        }
+
+        long started = System.currentTimeMillis();
+        boolean raffle = dltTopic.startsWith(RAFFLE_TOPIC);
+        Counters counters = new Counters();
+        try {
+            Map<TopicPartition, Long> endOffsets = endOffsets(dltTopic);
+            log.info("### [DLT 재처리 시작] Topic: {}, 파티션: {}개, 초당 {}건, dry-run: {}",
+                    dltTopic, endOffsets.size(), recordsPerSecond, dryRun);
+
+            if (!endOffsets.isEmpty()) {
+                AtomicInteger threadNo = new AtomicInteger();
+                ExecutorService workers = Executors.newFixedThreadPool(endOffsets.size(),
+                        task -> new Thread(task, "dlt-replay-" + threadNo.getAndIncrement()));
+                try {
+                    List<Future<?>> futures = new ArrayList<>();
+                    endOffsets.forEach((partition, endOffset) -> futures.add(workers.submit(() -> {
+                        replayPartition(partition, endOffset, raffle, dryRun, pacer, counters);
+                        return null;
+                    })));
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                } finally {
+                    workers.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("DLT 재처리가 중단되었습니다. (다시 실행하면 체크포인트부터 이어서 처리)", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("DLT 재처리 실패: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            running.set(false);
+        }
+
+        DltReplayReport report = new DltReplayReport(dltTopic, dryRun, counters.read.sum(), counters.succeeded.sum(),
+                counters.failed.sum(), counters.duplicates.sum(), counters.malformed.sum(),
+                System.currentTimeMillis() - started);
+        log.info("### [DLT 재처리 완료] {}", report);
+        return report;
+    }
+
+    private Map<TopicPartition, Long> endOffsets(String dltTopic) {
+        try (Consumer<Object, Object> consumer = createConsumer("metadata")) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(dltTopic);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                return Map.of();
+            }
+            List<TopicPartition> partitions = partitionInfos.stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            return consumer.endOffsets(partitions);
+        }
+    }
+
+    private void replayPartition(TopicPartition partition, long endOffset, boolean raffle, boolean dryRun,
+                                 RatePacer pacer, Counters counters) throws InterruptedException {
+        // dry-run은 파티션 안의 중복만 판별 (같은 키는 같은 파티션으로 전달됨)
+        Map<Long, Set<Long>> seenByEvent = new HashMap<>();
+
+        try (Consumer<Object, Object> consumer = createConsumer(String.valueOf(partition.partition()))) {
+            consumer.assign(List.of(partition));
+            OffsetAndMetadata checkpoint = consumer.committed(Set.of(partition)).get(partition);
+            if (checkpoint != null) {
+                consumer.seek(partition, checkpoint.offset());
+            } else {
+                consumer.seekToBeginning(List.of(partition));
+            }
+            log.info("### [DLT 재처리] {} 오프셋 {} → {}", partition, consumer.position(partition), endOffset);
+
+            while (consumer.position(partition) < endOffset) {
+                List<ConsumerRecord<Object, Object>> batch = new ArrayList<>();
+                for (ConsumerRecord<Object, Object> record : consumer.poll(POLL_TIMEOUT).records(partition)) {
+                    if (record.offset() < endOffset) batch.add(record);
+                }
+                if (batch.isEmpty()) continue;
+
+                pacer.acquire(batch.size());
+                ApplyMessage[] messages = decodeAll(batch, counters);
+                if (dryRun) {
+                    preview(messages, seenByEvent, counters);
+                } else {
+                    process(batch, messages, raffle, counters);
+                    consumer.commitSync(Map.of(partition, new OffsetAndMetadata(batch.get(batch.size() - 1).offset() + 1)));
+                }
+                counters.read.add(batch.size());
+            }
+        }
+    }
+
+    /**
+     * 배치 처리 경로로 처리합니다. 처리에 실패한 레코드는 건너뛰고 그 다음 레코드부터 다시 묶어서 처리합니다.
+     */
+    private void process(List<ConsumerRecord<Object, Object>> batch, ApplyMessage[] messages,
+                         boolean raffle, Counters counters) {
+        skipUnknownEvents(batch, messages, counters);
+        int from = 0;
+        while (from < messages.length) {
+            ApplyMessage[] remaining = (from == 0) ? messages : Arrays.copyOfRange(messages, from, messages.length);
+            try {
+                if (raffle) {
+                    batchProcessor.processRaffle(remaining);
+                } else {
+                    batchProcessor.processWinning(remaining);
+                }
+                counters.succeeded.add(countDecoded(remaining, remaining.length));
+                return;
+            } catch (BatchListenerFailedException e) {
+                if (e.getIndex() < 0) throw e;
+                ConsumerRecord<Object, Object> failed = batch.get(from + e.getIndex());
+                log.error("### [DLT 재처리 실패] {}-{} offset={}, message: {}",
+                        failed.topic(), failed.partition(), failed.offset(), remaining[e.getIndex()]);
+                counters.failed.increment();
+                counters.succeeded.add(countDecoded(remaining, e.getIndex()));
+                from += e.getIndex() + 1;
+            }
+        }
+    }
+
+    /**
+     * 존재하지 않는 이벤트의 메시지는 배치 처리로 넘기지 않고 실패로 집계합니다.
+     * (배치 처리는 이벤트 존재를 확인하지 않으므로, 그대로 넘기면 없는 이벤트의 LOSE 내역이 저장됨)
+     */
+    private void skipUnknownEvents(List<ConsumerRecord<Object, Object>> batch, ApplyMessage[] messages, Counters counters) {
+        Map<Long, Boolean> exists = new HashMap<>();
+        for (int i = 0; i < messages.length; i++) {
+            if (messages[i] == null || exists.computeIfAbsent(messages[i].eventId(), this::eventExists)) continue;
+            ConsumerRecord<Object, Object> record = batch.get(i);
+            log.error("### [DLT 재처리 실패] 존재하지 않는 이벤트(건너뜀): {}-{} offset={}, message: {}",
+                    record.topic(), record.partition(), record.offset(), messages[i]);
+            counters.failed.increment();
+            messages[i] = null;
+        }
+    }
+
+    private boolean eventExists(Long eventId) {
+        try {
+            eventPolicyCache.get(eventId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * dry-run: 이벤트 존재 여부와 기존 응모 내역(IN 조회)만 확인합니다.
+     */
+    private void preview(ApplyMessage[] messages, Map<Long, Set<Long>> seenByEvent, Counters counters) {
+        Map<Long, List<Long>> membersByEvent = new LinkedHashMap<>();
+        for (ApplyMessage message : messages) {
+            if (message == null) continue;
+            membersByEvent.computeIfAbsent(message.eventId(), eventId -> new ArrayList<>()).add(message.memberId());
+        }
+
+        for (Map.Entry<Long, List<Long>> group : membersByEvent.entrySet()) {
+            Long eventId = group.getKey();
+            if (!eventExists(eventId)) {
+                counters.failed.add(group.getValue().size());
+                continue;
+            }
+
+            Set<Long> seen = seenByEvent.computeIfAbsent(eventId, id -> new HashSet<>());
+            Set<Long> newMembers = new LinkedHashSet<>();
+            for (Long memberId : group.getValue()) {
+                if (seen.add(memberId)) newMembers.add(memberId);
+            }
+            int existing = newMembers.isEmpty() ? 0
+                    : entryRepository.findMemberIdsByEventIdAndMemberIdIn(eventId, newMembers).size();
+
+            counters.duplicates.add(group.getValue().size() - newMembers.size() + existing);
+            counters.succeeded.add(newMembers.size() - existing);
+        }
+    }
+
+    /**
+     * 형식 오류 레코드는 재처리해도 성공할 수 없으므로 null로 두고 건너뜁니다.
+     */
+    private ApplyMessage[] decodeAll(List<ConsumerRecord<Object, Object>> batch, Counters counters) {
+        ApplyMessage[] messages = new ApplyMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            byte[] payload = (byte[]) batch.get(i).value();
+            try {
+                messages[i] = ApplyMessageCodec.decode(payload);
+            } catch (IllegalArgumentException e) {
+                counters.malformed.increment();
+                log.warn("### [DLT 재처리] 메시지 형식 오류(건너뜀): {}, message: {}", e.getMessage(),
+                        (payload == null) ? null : new String(payload, StandardCharsets.UTF_8));
+            }
+        }
+        return messages;
+    }
+
+    private static int countDecoded(ApplyMessage[] messages, int until) {
+        int count = 0;
+        for (int i = 0; i < until; i++) {
+            if (messages[i] != null) count++;
+        }
+        return count;
+    }
+
+    private Consumer<Object, Object> createConsumer(String clientIdSuffix) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchSize));
+        return consumerFactory.createConsumer(groupId, "dlt-replay", "-" + clientIdSuffix, overrides);
+    }
+
+    private static final class Counters {
+        private final LongAdder read = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        private final LongAdder malformed = new LongAdder();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.event_system.consumer;
+
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.support.ApplyMessageCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 배치 Consumer (event.kafka.batch.enabled=true)
+ * 한 번의 poll로 받은 메시지(최대 spring.kafka.consumer.max-poll-records건)를 이벤트별로 묶어 처리합니다.
+ * - 선착순: 이벤트별로 EventResultService.processWinningBatch 한 번 (재고 UPDATE 1회 + 보상 정책 조회 1회 + JDBC Batch INSERT)
+ * - 추첨: 이벤트별로 EventResultService.processRaffleBatch 한 번 (기존 참여자 IN 조회 1회 + JDBC Batch INSERT)
+ * - 묶음 처리가 실패하면 남은 메시지를 원래 순서대로 단건 처리하고, 단건 처리도 실패한 메시지는
+ *   BatchListenerFailedException으로 지정 → 앞선 메시지는 커밋되고 해당 메시지만 재시도 후 DLQ로 이동
+ * - 재전달된 메시지는 이미 저장된 회원으로 걸러지므로 재고가 다시 차감되지 않음
+ * 묶음/단건 전환 로직은 DLT 재처리와 함께 EventBatchProcessor를 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "event.kafka.batch.enabled", havingValue = "true")
+public class EventBatchConsumer {
+
+    private final EventBatchProcessor batchProcessor;
+
+    @KafkaListener(topics = "event-apply-topic", groupId = "event-group",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeBatch(List<ConsumerRecord<String, byte[]>> records) {
+        log.info("### Kafka 배치 수신: {}건", records.size());
+        batchProcessor.processWinning(decodeAll(records));
+    }
+
+    /**
+     * [추가] 추첨(Raffle) 응모 배치 수신
+     * 이벤트별로 배치 안 중복 제거 → 기존 참여자 IN 조회 1회 → PENDING 응모 JDBC Batch INSERT 1회
+     */
+    @KafkaListener(topics = "event-raffle-topic", groupId = "event-group",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeRaffleBatch(List<ConsumerRecord<String, byte[]>> records) {
+        log.info("### Kafka Raffle 배치 수신: {}건", records.size());
+        batchProcessor.processRaffle(decodeAll(records));
+    }
+
+    /**
+     * 형식 오류 메시지는 재시도해도 성공할 수 없으므로 null로 두고 건너뜁니다.
+     */
+    private ApplyMessage[] decodeAll(List<ConsumerRecord<String, byte[]>> records) {
+        ApplyMessage[] messages = new ApplyMessage[records.size()];
+        for (int i = 0; i < messages.length; i++) {
+            byte[] payload = records.get(i).value();
+            try {
+                messages[i] = ApplyMessageCodec.decode(payload);
+            } catch (IllegalArgumentException e) {
+                log.error("### 메시지 형식 오류(재시도 제외): {}, message: {}", e.getMessage(),
+                        (payload == null) ? null : new String(payload, StandardCharsets.UTF_8));
+            }
+        }
+        return messages;
+    }
+}
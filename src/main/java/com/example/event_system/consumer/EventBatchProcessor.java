@@ -0,0 +1,106 @@
+package com.example.event_system.consumer;
+
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.service.EventResultService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 응모 메시지 묶음 처리 (배치 Consumer, DLT 재처리 공용)
+ * - 선착순: 이벤트별로 EventResultService.processWinningBatch 한 번
+ * - 추첨: 이벤트별로 EventResultService.processRaffleBatch 한 번
+ * - 묶음 처리가 실패하면 남은 메시지를 원래 순서대로 단건 처리하고, 단건 처리도 실패한 메시지는
+ *   BatchListenerFailedException(배열 인덱스)으로 알림 → 앞선 메시지는 처리 완료된 상태
+ * - 이미 저장된 회원은 걸러지므로 같은 메시지를 다시 처리해도 재고가 다시 차감되지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventBatchProcessor {
+
+    private final EventResultService eventResultService;
+
+    /**
+     * @param messages 선착순 응모 메시지 (null 원소는 형식 오류로 보고 건너뜀)
+     */
+    public void processWinning(ApplyMessage[] messages) {
+        processByEvent(messages,
+                eventResultService::processWinningBatch,
+                message -> {
+                    if (message.optionName() != null) {
+                        eventResultService.processWinning(message.eventId(), message.memberId(), message.optionName());
+                    } else {
+                        eventResultService.processWinning(message.eventId(), message.memberId());
+                    }
+                });
+    }
+
+    /**
+     * @param messages 추첨 응모 메시지 (null 원소는 형식 오류로 보고 건너뜀)
+     */
+    public void processRaffle(ApplyMessage[] messages) {
+        processByEvent(messages,
+                (eventId, eventMessages) -> eventResultService.processRaffleBatch(eventId,
+                        eventMessages.stream().map(ApplyMessage::memberId).toList()),
+                message -> eventResultService.processRaffleEntry(message.eventId(), message.memberId()));
+    }
+
+    /**
+     * 메시지를 이벤트별로 묶어 batchHandler로 처리합니다. (배치 안에서 처음 등장한 순서 유지)
+     * 묶음 처리가 실패하면 아직 처리되지 않은 메시지를 원래 순서대로 singleHandler로 한 건씩 처리합니다.
+     */
+    private void processByEvent(ApplyMessage[] messages,
+                                BiConsumer<Long, List<ApplyMessage>> batchHandler,
+                                Consumer<ApplyMessage> singleHandler) {
+        boolean[] done = new boolean[messages.length];
+        Map<Long, List<Integer>> indexesByEvent = new LinkedHashMap<>();
+        for (int i = 0; i < messages.length; i++) {
+            if (messages[i] == null) {
+                done[i] = true;
+                continue;
+            }
+            indexesByEvent.computeIfAbsent(messages[i].eventId(), eventId -> new ArrayList<>()).add(i);
+        }
+
+        for (Map.Entry<Long, List<Integer>> group : indexesByEvent.entrySet()) {
+            List<ApplyMessage> eventMessages = new ArrayList<>(group.getValue().size());
+            group.getValue().forEach(i -> eventMessages.add(messages[i]));
+            try {
+                batchHandler.accept(group.getKey(), eventMessages);
+                group.getValue().forEach(i -> done[i] = true);
+            } catch (Exception e) {
+                log.warn("### 배치 처리 실패 → 남은 메시지 단건 처리: 이벤트={}, 원인={}", group.getKey(), e.getMessage());
+                processRemaining(messages, done, singleHandler);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 아직 처리되지 않은 메시지를 원래 순서대로 한 건씩 처리합니다.
+     */
+    private void processRemaining(ApplyMessage[] messages, boolean[] done, Consumer<ApplyMessage> singleHandler) {
+        for (int i = 0; i < messages.length; i++) {
+            if (done[i]) continue;
+            ApplyMessage message = messages[i];
+            try {
+                singleHandler.accept(message);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("### 중복 메시지(재시도 제외): {}", message);
+            } catch (Exception e) {
+                log.error("### 메시지 처리 중 시스템 오류 발생(재시도): {}, message: {}", e.getMessage(), message);
+                throw new BatchListenerFailedException("배치 메시지 처리 실패: " + message, e, i);
+            }
+        }
+    }
+}
@@ -1,44 +1,61 @@
 package com.example.event_system.consumer;
 
+import com.example.event_system.dto.ApplyMessage;
 import com.example.event_system.service.EventResultService;
+import com.example.event_system.support.ApplyMessageCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 메시지 단건 처리 Consumer (기본)
+ * event.kafka.batch.enabled=true이면 EventBatchConsumer가,
+ * event.kafka.parallel.enabled=true이면 EventParallelConsumer가 대신 등록됩니다.
+ * 처리 실패 시 재시도 토픽(.retry-*)을 거쳐 .DLT로 이동하며, 재시도 토픽 Listener도 이 메서드를 그대로 사용합니다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = {"event.kafka.batch.enabled", "event.kafka.parallel.enabled"},
+        havingValue = "false", matchIfMissing = true)
 public class EventConsumer {
 
     private final EventResultService eventResultService;
+    private final RetryTopicMetrics retryTopicMetrics;
 
     /**
      * Kafka로부터 이벤트를 수신하여 최종 당첨 처리를 진행합니다.
      * 비즈니스 로직(재고 차감, 포인트 계산)은 인프라와 분리하기 위해 Service 계층에 위임합니다.
      */
     @KafkaListener(topics = "event-apply-topic", groupId = "event-group")
-    public void consume(String message) {
+    public void consume(byte[] payload, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        retryTopicMetrics.recordAttempt(topic);
+        // 바이너리 형식과 기존 문자열 형식 "{eventId}:{memberId}[:{옵션}]"을 모두 읽음
+        ApplyMessage message = decode(payload);
+        if (message == null) return;
         log.info("### Kafka 메시지 수신: {}", message);
 
         try {
-            String[] data = message.split(":");
-            if (data.length < 2) {
-                log.error("### 잘못된 메시지 형식입니다: {}", message);
-                return;
-            }
-
-            Long eventId = Long.parseLong(data[0]);
-            Long memberId = Long.parseLong(data[1]);
-
             // 핵심 비즈니스 로직(재고 차감 + 포인트 결정 + 저장) 호출
-            eventResultService.processWinning(eventId, memberId);
+            if (message.optionName() != null) {
+                eventResultService.processWinning(message.eventId(), message.memberId(), message.optionName());
+            } else {
+                eventResultService.processWinning(message.eventId(), message.memberId());
+            }
 
-        } catch (NumberFormatException e) {
-            log.error("### 메시지 형식 오류(재시도 제외): {}, message: {}", e.getMessage(), message);
+        } catch (DataIntegrityViolationException e) {
+            // 유니크 제약 위반 = 이미 처리된 회원 (트랜잭션 롤백으로 재고 차감도 함께 취소됨)
+            log.warn("### 중복 메시지(재시도 제외): {}", message);
         } catch (Exception e) {
             log.error("### 메시지 처리 중 시스템 오류 발생(재시도): {}, message: {}", e.getMessage(), message);
-            // 예외를 다시 던져야 Spring Kafka가 에러를 감지하고 재시도(Retry) 또는 DLQ 처리를 수행합니다.
+            // 예외를 다시 던져야 Spring Kafka가 에러를 감지하고 재시도 토픽 또는 DLQ로 전달합니다.
             throw e;
         }
     }
@@ -48,22 +65,33 @@ public class EventConsumer {
      * 선착순과 달리 즉시 당첨 처리가 아니라 '응모 접수(PENDING)'만 수행합니다.
      */
     @KafkaListener(topics = "event-raffle-topic", groupId = "event-group")
-    public void consumeRaffle(String message) {
+    public void consumeRaffle(byte[] payload, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        retryTopicMetrics.recordAttempt(topic);
+        ApplyMessage message = decode(payload);
+        if (message == null) return;
         log.info("### Kafka Raffle 메시지 수신: {}", message);
         try {
-            String[] data = message.split(":");
-            if (data.length < 2) return;
-
-            Long eventId = Long.parseLong(data[0]);
-            Long memberId = Long.parseLong(data[1]);
-
             // 추첨 응모 저장 로직 호출
-            eventResultService.processRaffleEntry(eventId, memberId);
-        } catch (NumberFormatException e) {
-            log.error("### Raffle 메시지 형식 오류(재시도 제외): {}", e.getMessage());
+            eventResultService.processRaffleEntry(message.eventId(), message.memberId());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("### Raffle 중복 메시지(재시도 제외): {}", message);
         } catch (Exception e) {
             log.error("### Raffle 처리 중 시스템 오류(재시도): {}", e.getMessage());
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 형식 오류는 재시도해도 성공할 수 없으므로 로그만 남기고 건너뜁니다.
+     * @return 읽을 수 없는 메시지면 null
+     */
+    private ApplyMessage decode(byte[] payload) {
+        try {
+            return ApplyMessageCodec.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.error("### 메시지 형식 오류(재시도 제외): {}, message: {}", e.getMessage(),
+                    (payload == null) ? null : new String(payload, StandardCharsets.UTF_8));
+            return null;
+        }
+    }
+}
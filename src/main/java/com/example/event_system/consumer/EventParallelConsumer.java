@@ -0,0 +1,184 @@
+package com.example.event_system.consumer;
+
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.service.EventResultService;
+import com.example.event_system.support.ApplyMessageCodec;
+import com.example.event_system.support.KeyOrderedExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.backoff.BackOffExecution;
+import org.springframework.util.backoff.ExponentialBackOff;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 키 순서 보장 병렬 Consumer (event.kafka.parallel.enabled=true, 배치 Consumer가 꺼져 있을 때)
+ * 기본 컨테이너는 파티션마다 한 번에 한 건만 처리하므로 느린 DB 호출 하나가 파티션 전체를 막습니다.
+ * 이 Consumer는 레코드를 키별 레인(KeyOrderedExecutor)으로 넘겨 한 파티션 안에서도 여러 건을 동시에 처리합니다.
+ * - 같은 레코드 키(event.kafka.partition-key 전략의 회원/이벤트 단위)는 같은 레인에서 도착 순서대로 처리
+ * - 키가 없는 레코드(이전 Producer가 발행한 메시지)는 순서 요구가 없으므로 오프셋으로 레인을 나눔
+ * - 처리가 끝난 레코드만 ack → 컨테이너가 빈틈없이 완료된 오프셋까지만 커밋하므로 장애 시 미완료 레코드부터 재전달
+ * - 재시도/DLQ는 레인 스레드에서 직접 수행 (1초 간격 최대 3회 → "원본토픽명.DLT")
+ * - 재시도해도 결과가 같은 예외(존재하지 않는 이벤트 등)는 재시도 토픽과 마찬가지로 바로 DLQ로 보내 레인을 붙잡지 않음
+ * - DLQ 전송이 실패하면 성공할 때까지 간격을 늘려 가며 다시 보냄
+ *   (ack하지 않은 레코드가 있으면 컨테이너가 다음 poll을 멈추므로, 포기하면 재시작 전까지 파티션이 멈춤)
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${event.kafka.parallel.enabled:false} and !${event.kafka.batch.enabled:false}")
+public class EventParallelConsumer {
+
+    /** DLQ 전송 재시도 최대 간격 (ms) */
+    private static final long RECOVER_MAX_INTERVAL_MS = 30_000L;
+
+    private final EventResultService eventResultService;
+    private final DeadLetterPublishingRecoverer recoverer;
+    private final KeyOrderedExecutor executor;
+
+    public EventParallelConsumer(EventResultService eventResultService,
+                                 DeadLetterPublishingRecoverer recoverer,
+                                 @Value("${event.kafka.parallel.lanes:16}") int lanes) {
+        this.eventResultService = eventResultService;
+        this.recoverer = recoverer;
+        this.executor = new KeyOrderedExecutor("event-consumer-lane", lanes);
+    }
+
+    @KafkaListener(topics = "event-apply-topic", groupId = "event-group",
+            containerFactory = "parallelKafkaListenerContainerFactory")
+    public void consume(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        dispatch(record, acknowledgment, message -> {
+            if (message.optionName() != null) {
+                eventResultService.processWinning(message.eventId(), message.memberId(), message.optionName());
+            } else {
+                eventResultService.processWinning(message.eventId(), message.memberId());
+            }
+        });
+    }
+
+    /**
+     * [추가] 추첨(Raffle) 응모 병렬 수신 - 응모 접수(PENDING)만 수행
+     */
+    @KafkaListener(topics = "event-raffle-topic", groupId = "event-group",
+            containerFactory = "parallelKafkaListenerContainerFactory")
+    public void consumeRaffle(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        dispatch(record, acknowledgment,
+                message -> eventResultService.processRaffleEntry(message.eventId(), message.memberId()));
+    }
+
+    /**
+     * Listener 컨테이너가 모두 멈춘 뒤 호출되며, 레인에 남은 레코드를 마저 처리합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    private void dispatch(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment,
+                          Consumer<ApplyMessage> handler) {
+        Object orderingKey = (record.key() != null) ? record.key() : record.offset();
+        executor.execute(orderingKey, () -> {
+            if (handle(record, handler)) {
+                acknowledgment.acknowledge();
+            }
+        });
+    }
+
+    /**
+     * @return 처리 완료(성공, 중복, 형식 오류, DLQ 이동)이면 true
+     *         종료 중 중단되면 false → ack하지 않아 재시작 후 재전달
+     */
+    private boolean handle(ConsumerRecord<String, byte[]> record, Consumer<ApplyMessage> handler) {
+        ApplyMessage message = decode(record.value());
+        if (message == null) return true;
+
+        BackOffExecution backOff = new FixedBackOff(KafkaConsumerConfig.RETRY_INTERVAL_MS,
+                KafkaConsumerConfig.MAX_RETRIES).start();
+        while (true) {
+            try {
+                handler.accept(message);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // 유니크 제약 위반 = 이미 처리된 회원 (트랜잭션 롤백으로 재고 차감도 함께 취소됨)
+                log.warn("### 중복 메시지(재시도 제외): {}", message);
+                return true;
+            } catch (Exception e) {
+                if (isNotRetryable(e)) {
+                    log.error("### 메시지 처리 실패(재시도 제외, DLQ 이동): {}, message: {}", e.getMessage(), message);
+                    return recover(record, e);
+                }
+                long interval = backOff.nextBackOff();
+                if (interval == BackOffExecution.STOP) {
+                    log.error("### 메시지 처리 재시도 초과(DLQ 이동): {}, message: {}", e.getMessage(), message);
+                    return recover(record, e);
+                }
+                log.error("### 메시지 처리 중 시스템 오류 발생(재시도): {}, message: {}", e.getMessage(), message);
+                if (!sleep(interval)) return false;
+            }
+        }
+    }
+
+    /**
+     * 재시도 토픽 설정(notRetryOn)과 같이, 원인 중에 IllegalArgumentException(존재하지 않는 이벤트 등)이 있으면 재시도하지 않음
+     */
+    private boolean isNotRetryable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IllegalArgumentException) return true;
+        }
+        return false;
+    }
+
+    /**
+     * DLQ 전송이 성공할 때까지 재시도합니다. (1초부터 2배씩, 최대 30초 간격)
+     * @return 종료 중 중단되면 false
+     */
+    private boolean recover(ConsumerRecord<String, byte[]> record, Exception cause) {
+        ExponentialBackOff backOff = new ExponentialBackOff(KafkaConsumerConfig.RETRY_INTERVAL_MS, 2.0);
+        backOff.setMaxInterval(RECOVER_MAX_INTERVAL_MS);
+        BackOffExecution execution = backOff.start();
+        while (true) {
+            try {
+                recoverer.accept(record, cause);
+                return true;
+            } catch (Exception e) {
+                long interval = execution.nextBackOff();
+                log.error("### DLQ 전송 실패({}ms 후 재시도): Topic: {}, Partition: {}, Offset: {}, Error: {}",
+                        interval, record.topic(), record.partition(), record.offset(), e.getMessage());
+                if (!sleep(interval)) return false;
+            }
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 형식 오류는 재시도해도 성공할 수 없으므로 로그만 남기고 건너뜁니다.
+     * @return 읽을 수 없는 메시지면 null
+     */
+    private ApplyMessage decode(byte[] payload) {
+        try {
+            return ApplyMessageCodec.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.error("### 메시지 형식 오류(재시도 제외): {}, message: {}", e.getMessage(),
+                    (payload == null) ? null : new String(payload, StandardCharsets.UTF_8));
+            return null;
+        }
+    }
+}
@@ -3,15 +3,25 @@ package com.example.event_system.consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Objects;
 
 import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
 import org.springframework.util.backoff.FixedBackOff;
 
 @Slf4j
@@ -20,29 +30,120 @@ import org.springframework.util.backoff.FixedBackOff;
 @RequiredArgsConstructor
 public class KafkaConsumerConfig {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    /** 재시도 간격 (ms) */
+    public static final long RETRY_INTERVAL_MS = 1000L;
+    /** 최초 1회 이후 재시도 횟수 */
+    public static final long MAX_RETRIES = 2L;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
 
     /**
-     * Consumer 전역 에러 핸들러 설정
-     * 1. 시스템 장애 시 정해진 횟수만큼 재시도(BackOff)
-     * 2. 재시도 실패 시 DLQ(Dead Letter Queue) 토픽으로 메시지 이동
+     * Recoverer: 재시도 횟수 초과 시 실행될 로직 (DLQ 전송)
+     * 기본적으로 "원본토픽명.DLT"로 전송됩니다. (예: event-apply-topic.DLT)
      */
     @Bean
-    public DefaultErrorHandler errorHandler() {
-        // 1. Recoverer: 재시도 횟수 초과 시 실행될 로직 (DLQ 전송)
-        // 기본적으로 "원본토픽명.DLT"로 전송됩니다. (예: event-apply-topic.DLT)
-        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(Objects.requireNonNull(kafkaTemplate),
+    public DeadLetterPublishingRecoverer deadLetterPublishingRecoverer() {
+        return new DeadLetterPublishingRecoverer(Objects.requireNonNull(kafkaTemplate),
                 (record, ex) -> {
                     log.error("### [DLQ 전송] Topic: {}, Partition: {}, Error: {}", 
                             record.topic(), record.partition(), ex.getMessage());
                     return new TopicPartition(record.topic() + ".DLT", record.partition());
                 });
+    }
 
-        // 2. BackOff: 재시도 간격 및 횟수 설정
+    /**
+     * Consumer 전역 에러 핸들러 설정 (재시도 토픽이 적용되지 않는 배치 Listener 등)
+     * 1. 시스템 장애 시 정해진 횟수만큼 재시도(BackOff)
+     * 2. 재시도 실패 시 DLQ(Dead Letter Queue) 토픽으로 메시지 이동
+     */
+    @Bean
+    public DefaultErrorHandler errorHandler(DeadLetterPublishingRecoverer recoverer) {
+        // BackOff: 재시도 간격 및 횟수 설정
         // 1초 간격으로 최대 3회 시도 (최초 1회 + 재시도 2회)
-        FixedBackOff backOff = new FixedBackOff(1000L, 2L);
+        FixedBackOff backOff = new FixedBackOff(RETRY_INTERVAL_MS, MAX_RETRIES);
 
-        // 3. DefaultErrorHandler 등록
         return new DefaultErrorHandler(recoverer, backOff);
     }
-}
\ No newline at end of file
+
+    /**
+     * 논블로킹 재시도 토픽 (단건 Consumer 전용)
+     * 실패한 메시지를 지연 시간별 재시도 토픽으로 넘기고, 원본 파티션은 기다리지 않고 다음 메시지를 처리합니다.
+     * - 기본: event-apply-topic → .retry-1000 (1초 후) → .retry-10000 (10초 후) → .DLT (최초 1회 + 재시도 2회)
+     * - 재시도해도 결과가 같은 예외(존재하지 않는 이벤트 등)는 재시도 토픽을 거치지 않고 바로 .DLT
+     * - 재시도/DLT 토픽은 원본과 같은 파티션 번호로 전달되므로 원본 토픽과 같은 파티션 수로 미리 생성 (자동 생성하지 않음)
+     * - 배치/병렬 Consumer는 각자 재시도(DefaultErrorHandler / 레인 재시도)를 사용하므로 등록하지 않음
+     */
+    @Bean
+    @ConditionalOnProperty(name = {"event.kafka.batch.enabled", "event.kafka.parallel.enabled"},
+            havingValue = "false", matchIfMissing = true)
+    public RetryTopicConfiguration retryTopicConfiguration(
+            @Value("${event.kafka.retry.max-attempts:3}") int maxAttempts,
+            @Value("${event.kafka.retry.initial-delay-ms:1000}") long initialDelayMs,
+            @Value("${event.kafka.retry.multiplier:10}") double multiplier,
+            @Value("${event.kafka.retry.max-delay-ms:10000}") long maxDelayMs) {
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopics(List.of("event-apply-topic", "event-raffle-topic"))
+                .maxAttempts(maxAttempts)
+                .exponentialBackoff(initialDelayMs, multiplier, maxDelayMs)
+                .retryTopicSuffix(RetryTopicMetrics.RETRY_SUFFIX)
+                .dltSuffix(RetryTopicMetrics.DLT_SUFFIX)
+                .notRetryOn(List.of(IllegalArgumentException.class, DataIntegrityViolationException.class))
+                .traversingCauses()
+                .doNotAutoCreateRetryTopics()
+                .dltHandlerMethod("retryTopicMetrics", "handleDlt")
+                .create(kafkaTemplate);
+    }
+
+    /**
+     * Listener 컨테이너 설정 (Spring Boot 기본 설정 + 파티션 수만큼 Consumer 스레드)
+     * 메시지는 (이벤트, 회원) 등의 키로 파티셔닝되므로 파티션마다 스레드 하나가 순서대로 처리하고,
+     * 같은 키의 메시지가 동시에 처리되지 않습니다.
+     * 스레드가 파티션보다 많으면 남는 스레드는 할당을 받지 못하므로 토픽의 실제 파티션 수에 맞춰 설정합니다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${event.kafka.topic-partitions:3}") int topicPartitions) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setConcurrency(topicPartitions);
+        return factory;
+    }
+
+    /**
+     * 배치 Listener 컨테이너 (EventBatchConsumer 전용, event.kafka.batch.enabled=true)
+     * 단건 컨테이너와 같은 설정에 poll 단위 List 수신만 추가합니다.
+     * 에러 핸들러(DefaultErrorHandler)는 BatchListenerFailedException이 가리키는 메시지만 재시도/DLQ 처리합니다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${event.kafka.topic-partitions:3}") int topicPartitions) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setConcurrency(topicPartitions);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    /**
+     * 키 순서 보장 병렬 Listener 컨테이너 (EventParallelConsumer 전용, event.kafka.parallel.enabled=true)
+     * Listener는 레코드를 키별 레인에 넘기고 바로 반환하며, 처리가 끝난 레인이 Acknowledgment로 완료를 알립니다.
+     * - AckMode.MANUAL + asyncAcks: 완료 순서와 관계없이 ack를 받되, 오프셋은 빈틈없이 완료된 지점까지만 커밋
+     * - 한 poll의 레코드가 모두 ack될 때까지 컨테이너가 파티션을 멈추므로 처리 중인 레코드는 poll 1회분으로 제한
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${event.kafka.topic-partitions:3}") int topicPartitions) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setConcurrency(topicPartitions);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+}
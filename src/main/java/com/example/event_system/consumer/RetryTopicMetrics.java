@@ -0,0 +1,51 @@
+package com.example.event_system.consumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 재시도 토픽 단계별 유입량 집계
+ * - event.kafka.retry.messages{topic=원본토픽, tier=retry-1000 | retry-10000 | dlt}
+ * 재시도 토픽으로 넘어온 메시지는 EventConsumer가 수신 시 recordAttempt로, DLT로 넘어온 메시지는
+ * RetryTopicConfiguration의 DLT 핸들러(handleDlt)로 집계합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RetryTopicMetrics {
+
+    static final String RETRY_SUFFIX = ".retry";
+    static final String DLT_SUFFIX = ".DLT";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 수신 토픽이 재시도 토픽이면 해당 단계의 유입량을 1 증가시킵니다. (원본 토픽은 집계하지 않음)
+     */
+    public void recordAttempt(String topic) {
+        int index = (topic == null) ? -1 : topic.indexOf(RETRY_SUFFIX + "-");
+        if (index < 0) return;
+        increment(topic.substring(0, index), topic.substring(index + 1));
+    }
+
+    /**
+     * 재시도를 모두 소진했거나 재시도 대상이 아닌 예외로 DLT에 도착한 메시지 (재처리는 DLT에서 수동으로)
+     */
+    public void handleDlt(byte[] payload, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        log.error("### [DLT 도착] Topic: {}, message: {}", topic,
+                (payload == null) ? null : new String(payload, StandardCharsets.UTF_8));
+        String originalTopic = topic.endsWith(DLT_SUFFIX)
+                ? topic.substring(0, topic.length() - DLT_SUFFIX.length()) : topic;
+        increment(originalTopic, "dlt");
+    }
+
+    private void increment(String originalTopic, String tier) {
+        meterRegistry.counter("event.kafka.retry.messages", "topic", originalTopic, "tier", tier).increment();
+    }
+}
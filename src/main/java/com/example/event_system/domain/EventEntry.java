@@ -11,8 +11,10 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "event_entry", indexes = {
-    @Index(name = "idx_event_member", columnList = "eventId, memberId"),
+@Table(name = "event_entry", uniqueConstraints = {
+    // 한 회원은 이벤트당 한 번만 응모 가능 (Redis/Bloom Filter 중복 확인의 최종 방어선)
+    @UniqueConstraint(name = "uk_event_entry_member", columnNames = {"eventId", "memberId"})
+}, indexes = {
     @Index(name = "idx_event_status", columnList = "eventId, status")
 })
 public class EventEntry {
@@ -27,6 +29,9 @@ public class EventEntry {
     @Column(nullable = false)
     private Long memberId;
 
+    // 당첨된 경품 옵션 (옵션이 하나뿐인 이벤트나 추첨 응모는 null)
+    private String optionName;
+
     // 지급된 보상 포인트 금액
     @Column(nullable = false)
     private int rewardAmount;
@@ -42,7 +47,7 @@ public class EventEntry {
     private LocalDateTime createdAt;
 
     @Builder
-    public EventEntry(Long eventId, Long memberId, ApplicantContact contact, WinningStatus status, int rewardAmount) {
+    public EventEntry(Long eventId, Long memberId, ApplicantContact contact, WinningStatus status, int rewardAmount, String optionName) {
         if (eventId == null || memberId == null) {
             throw new IllegalArgumentException("이벤트 ID와 회원 ID는 필수값입니다.");
         }
@@ -51,6 +56,7 @@ public class EventEntry {
         this.contact = contact;
         this.status = status == null ? WinningStatus.PENDING : status;
         this.rewardAmount = rewardAmount;
+        this.optionName = optionName;
         this.createdAt = LocalDateTime.now();
     }
 
@@ -0,0 +1,35 @@
+package com.example.event_system.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * 발행 대기 중인 Kafka 메시지 (Transactional Outbox)
+ * 응모 요청 스레드는 이 테이블에 INSERT만 하고, OutboxRelay가 id 순서대로 모아 발행한 뒤 삭제합니다.
+ * 대량 INSERT/조회/삭제는 EventOutboxRepository(JDBC)가 담당하며, 엔티티는 테이블 정의 용도입니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "event_outbox")
+public class EventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    // Kafka 레코드 키 (PartitionKeyStrategy)
+    private String messageKey;
+
+    // 발행할 값 (ApplyMessageFormat으로 인코딩된 바이트)
+    @Column(nullable = false, length = 1024)
+    private byte[] payload;
+
+    private LocalDateTime createdAt;
+}
@@ -5,11 +5,14 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Table(name = "event_stock", uniqueConstraints = {
-    @UniqueConstraint(name = "uk_event_stock_option", columnNames = {"eventId", "optionName"})
+    @UniqueConstraint(name = "uk_event_stock_option", columnNames = {"eventId", "optionName", "shardNo"})
 })
 public class EventStock {
 
@@ -25,6 +28,10 @@ public class EventStock {
     @Column(nullable = false)
     private String optionName;
 
+    // 재고 분할(Sharding) 번호: 한 이벤트의 재고를 여러 행으로 나눠 행 락 경합을 분산 (기본 0 = 단일 행)
+    @Column(nullable = false)
+    private Integer shardNo;
+
     @Column(nullable = false)
     private Integer stockCount;
 
@@ -40,6 +47,16 @@ public class EventStock {
      * 옵션별 재고 설정을 위한 생성자
      */
     public EventStock(Long eventId, String optionName, Integer stockCount) {
+        this(eventId, optionName, 0, stockCount);
+    }
+
+    /**
+     * 분할 재고 행 생성자
+     */
+    public EventStock(Long eventId, String optionName, int shardNo, Integer stockCount) {
+        if (shardNo < 0) {
+            throw new IllegalArgumentException("분할 번호는 0 이상이어야 합니다.");
+        }
         if (stockCount == null || stockCount < 0) {
             throw new IllegalArgumentException("초기 재고는 0 이상이어야 합니다.");
         }
@@ -48,9 +65,26 @@ public class EventStock {
         }
         this.eventId = eventId;
         this.optionName = optionName;
+        this.shardNo = shardNo;
         this.stockCount = stockCount;
     }
 
+    /**
+     * 전체 재고를 shardCount개의 행으로 나눕니다. 나머지는 앞 번호 행부터 1개씩 더 배정합니다.
+     * (예: 10개 / 3분할 → 4, 3, 3)
+     */
+    public static List<EventStock> split(Long eventId, String optionName, int totalCount, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("분할 수는 1 이상이어야 합니다.");
+        }
+        List<EventStock> shards = new ArrayList<>(shardCount);
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            int count = totalCount / shardCount + (shardNo < totalCount % shardCount ? 1 : 0);
+            shards.add(new EventStock(eventId, optionName, shardNo, count));
+        }
+        return shards;
+    }
+
     /**
      * 재고가 남아있는지 확인합니다.
      */
@@ -69,6 +103,19 @@ public class EventStock {
         this.stockCount--;
     }
 
+    /**
+     * 재고를 count개 차감합니다. (배치 당첨 처리용)
+     */
+    public void decrease(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("차감할 재고는 1개 이상이어야 합니다.");
+        }
+        if (this.stockCount < count) {
+            throw new IllegalStateException("남은 재고가 부족합니다. (eventId: " + this.eventId + ", 잔여: " + this.stockCount + ")");
+        }
+        this.stockCount -= count;
+    }
+
     /**
      * (선택사항) 관리자 기능을 위한 재고 보충 로직
      */
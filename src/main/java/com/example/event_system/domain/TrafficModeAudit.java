@@ -0,0 +1,57 @@
+package com.example.event_system.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * 대량 트래픽 모드 자동 전환 이력 (감사용)
+ * 전환 시점의 응모율과 DB 저장 지연을 함께 남겨 임계값 조정 근거로 사용합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "traffic_mode_audit", indexes = {
+    @Index(name = "idx_traffic_mode_audit_event", columnList = "eventId, createdAt")
+})
+public class TrafficModeAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    // 전환 후 모드 (true: 대량 트래픽 → Kafka 경유, false: 일반 → DB 직접 저장)
+    @Column(nullable = false)
+    private boolean highTraffic;
+
+    // 전환 사유 (임계값 비교 결과)
+    @Column(nullable = false)
+    private String reason;
+
+    // 윈도우 기준 초당 응모 수
+    private double applyRate;
+
+    // 윈도우 기준 평균 DB 저장 지연 (ms)
+    private double dbLatencyMs;
+
+    // 전환한 인스턴스 (인스턴스별로 판단하므로 함께 기록)
+    private String instanceId;
+
+    private LocalDateTime createdAt;
+
+    public TrafficModeAudit(Long eventId, boolean highTraffic, String reason,
+                            double applyRate, double dbLatencyMs, String instanceId) {
+        this.eventId = eventId;
+        this.highTraffic = highTraffic;
+        this.reason = reason;
+        this.applyRate = applyRate;
+        this.dbLatencyMs = dbLatencyMs;
+        this.instanceId = instanceId;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.event_system.dto;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 응모 Kafka 메시지 (event-apply-topic / event-raffle-topic)
+ * - requestedAt: 응모 요청 시각(epoch ms), 기존 문자열 형식에서 읽은 메시지는 0
+ * - idempotencyHigh/Low: 요청마다 발급하는 128비트 멱등성 ID, 기존 문자열 형식에서 읽은 메시지는 0
+ * requestedAt과 멱등성 ID는 아직 Consumer에서 읽지 않으며, 이후 메시지 단위 중복 제거/대기 시간 측정을 위해 함께 전달합니다.
+ * (현재 중복 처리는 (eventId, memberId) 기준 - 참여자 Set, Bloom Filter, 유니크 제약)
+ */
+public record ApplyMessage(
+    long eventId,
+    long memberId,
+    String optionName,   // 예약한 경품 옵션 (없으면 null)
+    long requestedAt,
+    long idempotencyHigh,
+    long idempotencyLow
+) {
+
+    /**
+     * 새 응모 요청 메시지를 만듭니다.
+     * 멱등성 ID는 ThreadLocalRandom으로 발급하여 요청 경로에서 SecureRandom(UUID.randomUUID) 경합을 피합니다.
+     */
+    public static ApplyMessage of(Long eventId, Long memberId, String optionName) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new ApplyMessage(eventId, memberId, optionName, System.currentTimeMillis(),
+                random.nextLong(), random.nextLong());
+    }
+
+    public boolean hasIdempotencyId() {
+        return idempotencyHigh != 0 || idempotencyLow != 0;
+    }
+
+    /**
+     * 기존 문자열 형식 "{eventId}:{memberId}[:{옵션}]"
+     */
+    public String toLegacyString() {
+        return eventId + ":" + memberId + (optionName == null ? "" : ":" + optionName);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.event_system.dto;
+
+/**
+ * DLT 재처리 결과
+ * - read: 읽은 레코드 수 (시작 시점의 DLT 끝 오프셋까지)
+ * - succeeded: 처리 완료 건수 (dry-run이면 처리될 것으로 예상되는 건수)
+ * - failed: 재처리도 실패한 건수 (존재하지 않는 이벤트 포함, dry-run이면 존재하지 않는 이벤트만)
+ * - duplicates: 이미 응모 내역이 있거나 같은 회차 안에서 중복된 건수 (dry-run에서만 집계, 실제 처리에서는 succeeded에 포함)
+ * - malformed: 형식 오류로 건너뛴 건수
+ */
+public record DltReplayReport(
+    String topic,
+    boolean dryRun,
+    long read,
+    long succeeded,
+    long failed,
+    long duplicates,
+    long malformed,
+    long elapsedMs
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.event_system.event;
+
+/**
+ * 이벤트 정책(생성/삭제 등)이 변경되었음을 알리는 도메인 이벤트
+ * 커밋 이후 로컬 캐시 무효화에 사용됩니다.
+ */
+public record EventPolicyChangedEvent(Long eventId) {
+}
@@ -0,0 +1,9 @@
+package com.example.event_system.event;
+
+/**
+ * 선착순 이벤트(또는 옵션)의 DB 재고가 소진되었음을 알리는 도메인 이벤트
+ * 커밋 이후 매진 플래그 설정과 전체 인스턴스 전파에 사용됩니다.
+ * optionName이 null이면 이벤트 전체가 매진입니다.
+ */
+public record EventSoldOutEvent(Long eventId, String optionName) {
+}
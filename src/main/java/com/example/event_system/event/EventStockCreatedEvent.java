@@ -0,0 +1,8 @@
+package com.example.event_system.event;
+
+/**
+ * 이벤트(또는 경품 옵션)의 재고가 등록되었음을 알리는 도메인 이벤트
+ * 커밋 이후 AVERAGE_RANDOM 이벤트의 보상 덱 생성에 사용됩니다.
+ */
+public record EventStockCreatedEvent(Long eventId, String optionName, int count) {
+}
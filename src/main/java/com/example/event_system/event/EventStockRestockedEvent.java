@@ -0,0 +1,9 @@
+package com.example.event_system.event;
+
+/**
+ * 선착순 이벤트의 재고가 보충되었음을 알리는 도메인 이벤트
+ * 커밋 이후 Redis 재고 카운터 보충과 매진 플래그 해제에 사용됩니다.
+ * optionName은 재고 키 기준으로 정규화된 값입니다. (옵션이 하나뿐인 이벤트는 null)
+ */
+public record EventStockRestockedEvent(Long eventId, String optionName, int count) {
+}
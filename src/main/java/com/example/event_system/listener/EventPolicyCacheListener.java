@@ -0,0 +1,30 @@
+package com.example.event_system.listener;
+
+import com.example.event_system.event.EventPolicyChangedEvent;
+import com.example.event_system.service.ParticipantBloomFilter;
+import com.example.event_system.service.StockShardService;
+import com.example.event_system.service.cache.EventPolicyCache;
+import com.example.event_system.service.cache.RewardPolicyCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class EventPolicyCacheListener {
+
+    private final EventPolicyCache eventPolicyCache;
+    private final RewardPolicyCache rewardPolicyCache;
+    private final ParticipantBloomFilter participantBloomFilter;
+    private final StockShardService stockShardService;
+
+    // 커밋 이전에 무효화하면 다른 스레드가 변경 전 데이터를 다시 적재할 수 있으므로 커밋 이후에 실행
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handlePolicyChanged(EventPolicyChangedEvent event) {
+        eventPolicyCache.invalidate(event.eventId());
+        rewardPolicyCache.invalidate(event.eventId());
+        participantBloomFilter.evict(event.eventId());
+        stockShardService.evict(event.eventId());
+    }
+}
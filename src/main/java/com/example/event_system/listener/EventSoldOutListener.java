@@ -0,0 +1,21 @@
+package com.example.event_system.listener;
+
+import com.example.event_system.event.EventSoldOutEvent;
+import com.example.event_system.service.SoldOutRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class EventSoldOutListener {
+
+    private final SoldOutRegistry soldOutRegistry;
+
+    // 커밋 이전에 표시하면 당첨 저장이 롤백되어 재고가 되돌아가도 모든 인스턴스가 TTL 동안 응모를 차단하므로 커밋 이후에 실행
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleSoldOut(EventSoldOutEvent event) {
+        soldOutRegistry.markSoldOut(event.eventId(), event.optionName());
+    }
+}
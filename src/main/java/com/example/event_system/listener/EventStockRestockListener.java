@@ -0,0 +1,25 @@
+package com.example.event_system.listener;
+
+import com.example.event_system.event.EventStockRestockedEvent;
+import com.example.event_system.service.SoldOutRegistry;
+import com.example.event_system.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class EventStockRestockListener {
+
+    private final StockReservationService stockReservationService;
+    private final SoldOutRegistry soldOutRegistry;
+
+    // 커밋 이전에 해제하면 보충 전 재고를 읽은 요청이 다시 매진으로 표시할 수 있으므로 커밋 이후에 실행
+    // Redis 카운터를 먼저 보충해야 해제 직후 들어온 요청이 SOLD_OUT으로 되돌아가지 않음
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleRestocked(EventStockRestockedEvent event) {
+        stockReservationService.restock(event.eventId(), event.optionName(), event.count());
+        soldOutRegistry.clear(event.eventId(), event.optionName());
+    }
+}
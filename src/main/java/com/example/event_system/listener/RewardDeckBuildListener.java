@@ -0,0 +1,21 @@
+package com.example.event_system.listener;
+
+import com.example.event_system.event.EventStockCreatedEvent;
+import com.example.event_system.service.RewardDeckService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class RewardDeckBuildListener {
+
+    private final RewardDeckService rewardDeckService;
+
+    // 덱 크기는 DB 재고 합계로 정하므로, 재고 행이 커밋된 뒤에 만들어야 새로 등록한 재고까지 포함됨
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleStockCreated(EventStockCreatedEvent event) {
+        rewardDeckService.buildOnStockCreated(event.eventId());
+    }
+}
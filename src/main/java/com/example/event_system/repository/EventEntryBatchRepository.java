@@ -0,0 +1,40 @@
+package com.example.event_system.repository;
+
+import com.example.event_system.domain.EventEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 응모 내역 대량 저장 (JDBC Batch)
+ * EventEntry의 ID는 IDENTITY 전략이라 JPA saveAll은 행마다 INSERT를 실행하므로,
+ * 배치 Consumer는 JdbcTemplate.batchUpdate로 한 번에 전송합니다. (JPA 트랜잭션에 함께 참여)
+ * MySQL은 rewriteBatchedStatements=true를 설정해야 다중 행 INSERT로 전송됩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventEntryBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_SQL = "INSERT INTO event_entry " +
+            "(event_id, member_id, option_name, reward_amount, status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @throws org.springframework.dao.DataIntegrityViolationException 유니크 제약(uk_event_entry_member) 위반
+     */
+    public void insertAll(List<EventEntry> entries) {
+        if (entries.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setLong(1, entry.getEventId());
+            ps.setLong(2, entry.getMemberId());
+            ps.setString(3, entry.getOptionName());
+            ps.setInt(4, entry.getRewardAmount());
+            ps.setString(5, entry.getStatus().name());
+            ps.setObject(6, entry.getCreatedAt());
+        });
+    }
+}
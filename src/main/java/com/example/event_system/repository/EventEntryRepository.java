@@ -4,22 +4,38 @@ import com.example.event_system.domain.EventEntry;
 import com.example.event_system.domain.WinningStatus;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface EventEntryRepository extends JpaRepository<EventEntry, Long> {
 
     // 중복 응모 확인
     boolean existsByEventIdAndMemberId(Long eventId, Long memberId);
 
+    // 배치 중복 확인: 주어진 회원 중 이미 응모 내역이 있는 회원 ID (IN 조회 한 번)
+    @Query("SELECT e.memberId FROM EventEntry e WHERE e.eventId = :eventId AND e.memberId IN :memberIds")
+    List<Long> findMemberIdsByEventIdAndMemberIdIn(@Param("eventId") Long eventId,
+            @Param("memberIds") Collection<Long> memberIds);
+
+    // 참여자 Set 재구축용 회원 ID 스트리밍 조회 (트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.memberId FROM EventEntry e WHERE e.eventId = :eventId")
+    Stream<Long> streamMemberIdsByEventId(@Param("eventId") Long eventId);
+
     // 당첨자 수 합계 조회
     long countByEventIdAndStatus(Long eventId, WinningStatus status);
 
@@ -34,11 +50,12 @@ public interface EventEntryRepository extends JpaRepository<EventEntry, Long> {
     // 사후 추첨을 위한 페이징 조회
     List<EventEntry> findByEventIdAndStatus(Long eventId, WinningStatus status, Pageable pageable);
 
-    // Slice를 사용하여 ID만 페이징 조회
-    @Query("SELECT e.id FROM EventEntry e WHERE e.eventId = :eventId AND e.status = :status")
-    Slice<Long> findIdsByEventIdAndStatus(@Param("eventId") Long eventId,
+    // 키셋 페이징으로 ID만 조회 (lastId 다음부터 limit건, OFFSET 없이 idx_event_status 인덱스를 이어서 탐색)
+    @Query("SELECT e.id FROM EventEntry e WHERE e.eventId = :eventId AND e.status = :status AND e.id > :lastId ORDER BY e.id")
+    List<Long> findIdsByEventIdAndStatusAfter(@Param("eventId") Long eventId,
             @Param("status") WinningStatus status,
-            Pageable pageable);
+            @Param("lastId") Long lastId,
+            Limit limit);
 
     @Modifying
     @Query("UPDATE EventEntry e SET e.status = 'WIN' WHERE e.id IN :ids")
@@ -0,0 +1,54 @@
+package com.example.event_system.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outbox 테이블(event_outbox) 접근 (JDBC)
+ * - append: 요청 스레드의 단건 INSERT (호출 측 트랜잭션에 함께 참여)
+ * - findAfter: id 기준 키셋 조회 (OFFSET 없이 인덱스로 다음 묶음을 바로 찾음)
+ * - deleteAll: 발행이 끝난 id를 IN 목록으로 묶어 삭제
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventOutboxRepository {
+
+    private static final int DELETE_CHUNK_SIZE = 500;
+    private static final String INSERT_SQL =
+            "INSERT INTO event_outbox (topic, message_key, payload, created_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_SQL =
+            "SELECT id, topic, message_key, payload FROM event_outbox WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record OutboxRecord(long id, String topic, String key, byte[] payload) {
+    }
+
+    public void append(String topic, String key, byte[] payload) {
+        jdbcTemplate.update(INSERT_SQL, topic, key, payload, LocalDateTime.now());
+    }
+
+    public List<OutboxRecord> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new OutboxRecord(
+                rs.getLong("id"), rs.getString("topic"), rs.getString("message_key"), rs.getBytes("payload")),
+                afterId, limit);
+    }
+
+    public void deleteAll(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.update("DELETE FROM event_outbox WHERE id IN (" + placeholders + ")", chunk.toArray());
+        }
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Long.class);
+        return (count != null) ? count : 0;
+    }
+}
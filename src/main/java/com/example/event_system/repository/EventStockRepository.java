@@ -6,12 +6,40 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+
 public interface EventStockRepository extends JpaRepository<EventStock, Long> {
 
-    /* 원자적으로 stock 개수 감소시키기 */
+    /* 원자적으로 stock 개수 감소시키기: 항상 (이벤트, 옵션, 분할 번호)로 한 행만 지정 (단일 행 이벤트는 DEFAULT, 0)
+       분할 재고 모드에서는 다른 분할 행의 락과 경합하지 않음 */
+    @Modifying
+    @Query("UPDATE EventStock s SET s.stockCount = s.stockCount - 1 WHERE s.eventId = :eventId AND s.optionName = :optionName AND s.shardNo = :shardNo AND s.stockCount > 0")
+    int decreaseOptionStockShard(@Param("eventId") Long eventId, @Param("optionName") String optionName, @Param("shardNo") int shardNo);
+
+    /* 배치 차감: 지정한 옵션/분할 행에서 한 번에 count개 차감 */
     @Modifying
-    @Query("UPDATE EventStock s SET s.stockCount = s.stockCount - 1 WHERE s.eventId = :eventId AND s.stockCount > 0")
-    int decreaseStock(@Param("eventId") Long eventId);
+    @Query("UPDATE EventStock s SET s.stockCount = s.stockCount - :count WHERE s.eventId = :eventId AND s.optionName = :optionName AND s.shardNo = :shardNo AND s.stockCount >= :count")
+    int decreaseOptionStockShardBy(@Param("eventId") Long eventId, @Param("optionName") String optionName,
+                                   @Param("shardNo") int shardNo, @Param("count") int count);
+
+    /* 배치 차감 중 잔여 재고가 요청보다 적을 때: 분할 행 하나만 잠그고 현재 잔여 재고를 조회
+       (엔티티가 아닌 값으로 읽으므로 영속성 컨텍스트에 남은 이전 값을 돌려받지 않음) */
+    @Query(value = "SELECT stock_count FROM event_stock WHERE event_id = :eventId AND option_name = :optionName AND shard_no = :shardNo FOR UPDATE",
+            nativeQuery = true)
+    Integer findStockCountForUpdate(@Param("eventId") Long eventId, @Param("optionName") String optionName,
+                                    @Param("shardNo") int shardNo);
+
+    /* 분할 행 전체의 잔여 재고 합계 (행이 없으면 null) */
+    @Query("SELECT SUM(s.stockCount) FROM EventStock s WHERE s.eventId = :eventId")
+    Long sumStockCount(@Param("eventId") Long eventId);
+
+    @Query("SELECT SUM(s.stockCount) FROM EventStock s WHERE s.eventId = :eventId AND s.optionName = :optionName")
+    Long sumOptionStockCount(@Param("eventId") Long eventId, @Param("optionName") String optionName);
+
+    boolean existsByEventIdAndOptionName(Long eventId, String optionName);
+
+    List<EventStock> findAllByEventIdOrderByShardNo(Long eventId);
 
+    /* 단일 행 이벤트 전용 조회 (행이 여러 개이면 예외) - 서비스 로직은 sumStockCount를 사용 */
     EventStock findByEventId(Long eventId);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.event_system.repository;
+
+import com.example.event_system.domain.TrafficModeAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TrafficModeAuditRepository extends JpaRepository<TrafficModeAudit, Long> {
+
+    List<TrafficModeAudit> findAllByEventIdOrderByIdAsc(Long eventId);
+}
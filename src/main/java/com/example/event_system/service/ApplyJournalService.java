@@ -0,0 +1,153 @@
+package com.example.event_system.service;
+
+import com.example.event_system.support.ApplyJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * [Kafka 장애 대비 로컬 저널] (event.journal.enabled=true)
+ * 발행이 실패하면(동기 예외 또는 비동기 응답 실패) 장애 상태로 전환하고, 이후 응모 메시지는 Kafka를 거치지 않고
+ * 인스턴스 로컬 저널(ApplyJournal)에 기록합니다. → 장애 중에도 응모 접수는 메모리 맵 쓰기 한 번(마이크로초 단위)
+ * - 저널에 남은 메시지가 있는 동안에는 새 메시지도 저널 뒤에 기록하여 발행 순서를 유지
+ * - 주기적으로(drain-interval-ms) 저널 앞에서부터 묶음 발행하고, 앞에서부터 성공한 만큼만 완료 처리
+ * - 저널이 비면 정상 상태로 돌아와 다시 Kafka로 바로 발행
+ * - 기동 시 저널에 남은 메시지가 있으면(비정상 종료) 장애 상태로 시작하여 먼저 발행
+ * 저널 적체량은 event.journal.depth, 기록/재발행 건수는 event.journal.records{result=appended|replayed}로 노출됩니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "event.journal.enabled", havingValue = "true")
+public class ApplyJournalService {
+
+    // 한 주기에 재발행할 최대 묶음 수 (스케줄러 스레드를 오래 점유하지 않도록 제한)
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final ApplyJournal journal;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+    private final Counter appendedCounter;
+    private final Counter replayedCounter;
+    private volatile boolean kafkaHealthy;
+
+    public ApplyJournalService(KafkaTemplate<String, Object> kafkaTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${event.journal.dir:./data/journal}") String directory,
+                               @Value("${event.journal.segment-size:67108864}") int segmentSize,
+                               @Value("${event.journal.batch-size:500}") int batchSize,
+                               @Value("${event.journal.send-timeout-ms:10000}") long sendTimeoutMillis) throws IOException {
+        this.journal = new ApplyJournal(Path.of(directory), segmentSize);
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.appendedCounter = Counter.builder("event.journal.records").tag("result", "appended").register(meterRegistry);
+        this.replayedCounter = Counter.builder("event.journal.records").tag("result", "replayed").register(meterRegistry);
+        Gauge.builder("event.journal.depth", journal, ApplyJournal::depth).register(meterRegistry);
+
+        this.kafkaHealthy = journal.depth() == 0;
+        if (!kafkaHealthy) {
+            log.warn("### 로컬 저널 복구: 발행되지 않은 메시지 {}건 → 먼저 재발행", journal.depth());
+        }
+    }
+
+    /**
+     * Kafka 대신 저널에 기록해야 하는지 (장애 상태이거나, 순서 유지를 위해 저널에 남은 메시지가 있는 경우)
+     */
+    public boolean shouldDivert() {
+        return !kafkaHealthy || journal.depth() > 0;
+    }
+
+    public void append(String topic, String key, byte[] value) {
+        journal.append(topic, key, value);
+        appendedCounter.increment();
+    }
+
+    /**
+     * 발행에 실패한 메시지를 저널에 기록하고 장애 상태로 전환합니다.
+     */
+    public void divert(String topic, String key, byte[] value, Throwable cause) {
+        if (kafkaHealthy) {
+            kafkaHealthy = false;
+            log.error("### Kafka 발행 실패 → 로컬 저널로 전환: {}", cause.getMessage());
+        }
+        append(topic, key, value);
+    }
+
+    public long depth() {
+        return journal.depth();
+    }
+
+    @Scheduled(fixedDelayString = "${event.journal.drain-interval-ms:1000}")
+    public void drain() {
+        if (kafkaHealthy && journal.depth() == 0) return;
+        try {
+            replay();
+        } catch (Exception e) {
+            log.warn("로컬 저널 재발행 실패 (다음 주기에 재시도): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return 재발행 후 완료 처리한 메시지 수
+     */
+    public int replay() {
+        int replayed = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<ApplyJournal.Entry> entries = journal.peek(batchSize);
+            if (entries.isEmpty()) {
+                if (!kafkaHealthy) {
+                    kafkaHealthy = true;
+                    log.info("### 로컬 저널 재발행 완료 → Kafka 직접 발행으로 복귀");
+                }
+                break;
+            }
+
+            List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(entries.size());
+            for (ApplyJournal.Entry entry : entries) {
+                futures.add(kafkaTemplate.send(entry.topic(), entry.key(), entry.value()));
+            }
+
+            // 순서 유지를 위해 앞에서부터 연속으로 성공한 메시지까지만 완료 처리
+            int sent = 0;
+            try {
+                for (CompletableFuture<SendResult<String, Object>> future : futures) {
+                    future.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+                    sent++;
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("### 로컬 저널 재발행 중단: {}건 성공, 원인={}", sent, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            journal.acknowledge(entries.subList(0, sent));
+            replayed += sent;
+            replayedCounter.increment(sent);
+            if (sent < entries.size()) break;
+        }
+        return replayed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        journal.close();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.event_system.service;
+
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.repository.EventOutboxRepository;
+import com.example.event_system.support.ApplyMessageFormat;
+import com.example.event_system.support.PartitionKeyStrategy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 응모 메시지 발행 경로 선택 (event.outbox.enabled)
+ * - false(기본): KafkaTemplate.send로 바로 발행 (브로커 응답을 기다리지 않음)
+ * - true: event_outbox에 INSERT만 하고 OutboxRelay가 모아서 발행
+ *   → INSERT가 성공하면 발행이 보장되고, 실패하면 예외가 그대로 전달되어 호출 측이 예약을 되돌림
+ * 바로 발행하는 경우 event.journal.enabled=true이면 발행 실패/장애 중 메시지를 로컬 저널에 기록합니다. (ApplyJournalService)
+ */
+@Component
+public class ApplyMessagePublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final EventOutboxRepository outboxRepository;
+    private final PartitionKeyStrategy partitionKeyStrategy;
+    private final ApplyMessageFormat applyMessageFormat;
+    private final boolean outboxEnabled;
+    private final ApplyJournalService journal; // event.journal.enabled=false이면 null
+
+    public ApplyMessagePublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                 EventOutboxRepository outboxRepository,
+                                 PartitionKeyStrategy partitionKeyStrategy,
+                                 ApplyMessageFormat applyMessageFormat,
+                                 @Value("${event.outbox.enabled:false}") boolean outboxEnabled,
+                                 ObjectProvider<ApplyJournalService> journalProvider) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.outboxRepository = outboxRepository;
+        this.partitionKeyStrategy = partitionKeyStrategy;
+        this.applyMessageFormat = applyMessageFormat;
+        this.outboxEnabled = outboxEnabled;
+        this.journal = journalProvider.getIfAvailable();
+    }
+
+    /**
+     * 레코드 키로 파티션을 고정 → 같은 키의 메시지는 한 Consumer 스레드가 순서대로 처리
+     * (형식은 event.kafka.message-format)
+     */
+    public void publish(String topic, ApplyMessage message) {
+        String key = partitionKeyStrategy.key(message.eventId(), message.memberId());
+        if (outboxEnabled) {
+            outboxRepository.append(topic, key, applyMessageFormat.encode(message));
+            return;
+        }
+        if (journal == null) {
+            kafkaTemplate.send(topic, key, applyMessageFormat.payload(message));
+            return;
+        }
+
+        byte[] value = applyMessageFormat.encode(message);
+        if (journal.shouldDivert()) {
+            journal.append(topic, key, value);
+            return;
+        }
+        try {
+            kafkaTemplate.send(topic, key, applyMessageFormat.payload(message))
+                    .whenComplete((result, e) -> {
+                        if (e != null) journal.divert(topic, key, value, e);
+                    });
+        } catch (Exception e) {
+            journal.divert(topic, key, value, e);
+        }
+    }
+}
@@ -1,20 +1,22 @@
 package com.example.event_system.service;
 
-import com.example.event_system.domain.Event;
 import com.example.event_system.domain.EventEntry;
-import com.example.event_system.domain.EventStock;
 import com.example.event_system.domain.EventType;
 import com.example.event_system.domain.WinningStatus;
+import com.example.event_system.dto.ApplyMessage;
 import com.example.event_system.repository.EventEntryRepository;
-import com.example.event_system.repository.EventRepository;
-import com.example.event_system.repository.EventStockRepository;
+import com.example.event_system.service.cache.EventPolicy;
+import com.example.event_system.service.cache.EventPolicyCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -22,25 +24,98 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class EventApplyService {
     private final EventEntryRepository entryRepository;
-    private final EventStockRepository stockRepository;
-    private final EventRepository eventRepository;
+    private final StockShardService stockShardService;
+    private final EventPolicyCache eventPolicyCache;
     private final RedisRateLimiter rateLimiter;
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final StringRedisTemplate redisTemplate;
+    private final ParticipantRegistry participantRegistry;
+    private final ParticipantBloomFilter participantBloomFilter;
+    private final StockReservationService stockReservationService;
+    private final ApplyMessagePublisher applyMessagePublisher;
+    private final RaffleEntryWriter raffleEntryWriter;
+    private final TrafficModeController trafficModeController;
+    private final SoldOutRegistry soldOutRegistry;
 
     public String apply(Long eventId, Long memberId) {
-        // 1. 이벤트 조회 및 타입 확인
-        Event event = eventRepository.findById(Objects.requireNonNull(eventId))
-                .orElseThrow(() -> new IllegalArgumentException("이벤트를 찾을 수 없습니다."));
+        return apply(eventId, memberId, null);
+    }
+
+    /**
+     * @param optionName 회원이 선택한 경품 옵션 (null이면 재고가 남은 옵션을 자동 배정)
+     */
+    public String apply(Long eventId, Long memberId, String optionName) {
+        // 1. 이벤트 정책 조회 및 타입 확인 (로컬 캐시 → 미스 시 DB)
+        EventPolicy policy = eventPolicyCache.get(Objects.requireNonNull(eventId));
+
+        // 1-1. 매진 확인 (선착순) - 매진 플래그가 있으면 유량 제어/재고 조회 없이 즉시 종료
+        if (policy.type() != EventType.RAFFLE && soldOutRegistry.isSoldOut(eventId)) return "LOSE";
 
-        // 2. 중복 응모 확인 (공통 로직)
-        if (entryRepository.existsByEventIdAndMemberId(eventId, memberId)) return "ALREADY_APPLIED";
+        // 1-2. 경품 옵션 확인 (선착순) - 존재하지 않는 옵션은 참여자 등록 전에 거절
+        List<String> options = (policy.type() == EventType.RAFFLE) ? List.of() : optionCandidates(eventId, optionName);
+
+        // 2. 중복 응모 확인 (공통 로직) - Redis 참여자 Set에 확인과 등록을 한 번에 수행
+        // 장애 시에는 Bloom Filter가 '있을 수도 있다'고 답한 경우에만 DB로 검증
+        ParticipantRegistry.ClaimResult claim = participantRegistry.claim(eventId, memberId);
+        if (claim == ParticipantRegistry.ClaimResult.DUPLICATE) return "ALREADY_APPLIED";
+        if (claim == ParticipantRegistry.ClaimResult.UNAVAILABLE
+                && participantBloomFilter.isDuplicate(eventId, memberId,
+                        () -> entryRepository.existsByEventIdAndMemberId(eventId, memberId))) return "ALREADY_APPLIED";
 
         // 3. 타입별 로직 분기
-        if (event.getType() == EventType.RAFFLE) {
-            return applyRaffle(eventId, memberId);
+        String result;
+        try {
+            result = (policy.type() == EventType.RAFFLE)
+                    ? applyRaffle(eventId, memberId)
+                    : applyFirstCome(eventId, memberId, options);
+        } catch (RuntimeException e) {
+            releaseClaim(claim, eventId, memberId);
+            throw e;
+        }
+
+        // 4. 접수되지 않은 요청(유량 제어, 재고 소진 등)은 참여자 등록을 되돌려 재시도를 허용
+        // (DB 유니크 제약으로 중복이 확인된 경우는 이미 참여한 회원이므로 등록을 유지)
+        // Bloom Filter 기록은 DB에 바로 저장하는 추첨 경로에서만 수행 (Kafka 경유 응모는 Consumer가 저장 후 기록)
+        if (!isAccepted(result) && !"ALREADY_APPLIED".equals(result)) {
+            releaseClaim(claim, eventId, memberId);
+        }
+        return result;
+    }
+
+    /**
+     * 재고를 예약해 볼 옵션 순서를 정합니다.
+     * - 옵션이 하나뿐인 이벤트: [null] (이벤트 전체 재고, 기존 경로)
+     * - 옵션 선택: [선택 옵션] (option-fall-through=true이면 나머지 옵션이 뒤따름)
+     * - 옵션 미선택: 모든 옵션을 임의의 위치부터 순환 (옵션 간 재고 소진 속도를 고르게 분산)
+     */
+    private List<String> optionCandidates(Long eventId, String optionName) {
+        String requested = stockShardService.normalizeOption(eventId, optionName);
+        List<String> all = stockShardService.options(eventId);
+        if (all.size() <= 1) {
+            return Collections.singletonList(null);
+        }
+        if (requested != null && !stockShardService.isOptionFallThrough()) {
+            return List.of(requested);
+        }
+
+        List<String> candidates = new ArrayList<>(all.size());
+        if (requested != null) {
+            candidates.add(requested);
+            all.stream().filter(option -> !option.equals(requested)).forEach(candidates::add);
         } else {
-            return applyFirstCome(eventId, memberId);
+            int start = ThreadLocalRandom.current().nextInt(all.size());
+            for (int i = 0; i < all.size(); i++) {
+                candidates.add(all.get((start + i) % all.size()));
+            }
+        }
+        return candidates;
+    }
+
+    private boolean isAccepted(String result) {
+        return "APPLIED".equals(result) || "APPLIED_RAFFLE".equals(result);
+    }
+
+    private void releaseClaim(ParticipantRegistry.ClaimResult claim, Long eventId, Long memberId) {
+        if (claim == ParticipantRegistry.ClaimResult.CLAIMED) {
+            participantRegistry.release(eventId, memberId);
         }
     }
 
@@ -48,15 +123,18 @@ public class EventApplyService {
      * [단순 응모] 기본적으로 DB에 바로 저장하지만, High Traffic 이벤트인 경우 Kafka를 경유함
      */
     private String applyRaffle(Long eventId, Long memberId) {
-        // 1. 대량 트래픽 제어 모드 확인 (Redis Flag)
-        // 관리자가 "event:policy:high-traffic:{eventId}" 키를 설정해둔 경우에만 Kafka를 태움
-        if (Boolean.TRUE.equals(redisTemplate.hasKey("event:policy:high-traffic:" + eventId))) {
+        // 1. 대량 트래픽 제어 모드 확인
+        // 관리자가 "event:policy:high-traffic:{eventId}" 키를 설정해둔 경우(로컬 캐시 → 변경 시 구독으로 즉시 무효화) 또는
+        // 응모율/DB 저장 지연이 임계값을 넘어 자동 전환된 경우 Kafka를 태움
+        trafficModeController.recordApply(eventId);
+        if (trafficModeController.isHighTraffic(eventId)) {
             // 1-1. 유량 제어 (선택 사항이지만 대량 트래픽 보호를 위해 적용)
             boolean isAllowed = rateLimiter.isAllowed("event:raffle:" + eventId, "event:limit:raffle:" + eventId, 1000); // 넉넉하게 1000 TPS
             if (!isAllowed) return "TRY_AGAIN";
 
-            // 1-2. Kafka 메시지 발행 (추첨 전용 토픽)
-            kafkaTemplate.send("event-raffle-topic", eventId + ":" + memberId);
+            // 1-2. Kafka 메시지 발행 (추첨 전용 토픽, event.outbox.enabled=true이면 Outbox 경유)
+            // 레코드 키로 파티션을 고정 → 같은 키의 메시지는 한 Consumer 스레드가 순서대로 처리
+            applyMessagePublisher.publish("event-raffle-topic", ApplyMessage.of(eventId, memberId, null));
             return "APPLIED_RAFFLE"; // 사용자에게는 동일하게 응모 완료로 응답
         }
 
@@ -66,14 +144,31 @@ public class EventApplyService {
                 .memberId(memberId)
                 .status(WinningStatus.PENDING)
                 .build();
-        entryRepository.save(Objects.requireNonNull(entry));
+
+        // 2-1. 지연 저장 모드(event.raffle.write-behind.enabled): 버퍼에 넣고 바로 응답, 버퍼가 가득 차면 아래에서 바로 저장
+        if (raffleEntryWriter.submit(entry)) {
+            participantBloomFilter.put(eventId, memberId);
+            return "APPLIED_RAFFLE";
+        }
+        long started = System.nanoTime();
+        try {
+            entryRepository.save(Objects.requireNonNull(entry));
+        } catch (DataIntegrityViolationException e) {
+            // 중복 확인을 통과했더라도 유니크 제약(uk_event_entry_member)이 최종적으로 중복을 차단
+            log.warn("중복 응모 차단(유니크 제약): 이벤트={}, 회원={}", eventId, memberId);
+            return "ALREADY_APPLIED";
+        } finally {
+            // 2-2. DB 저장 지연 기록 → 자동 전환 판단에 사용
+            trafficModeController.recordDbWrite(eventId, System.nanoTime() - started);
+        }
+        participantBloomFilter.put(eventId, memberId);
         return "APPLIED_RAFFLE";
     }
 
     /**
      * [실시간/선착순 응모] Redis 유량 제어 -> Kafka 대기열 -> 비동기 처리
      */
-    private String applyFirstCome(Long eventId, Long memberId) {
+    private String applyFirstCome(Long eventId, Long memberId, List<String> options) {
         // 2. Redis 방어막 (장애 시 로직 진행)
         boolean isAllowed = true;
         try {
@@ -84,18 +179,58 @@ public class EventApplyService {
         }
         if (!isAllowed) return "LOSE";
 
-        // 3. 재고확인
-        EventStock stock = stockRepository.findByEventId(eventId);
-        if (stock != null && !stock.hasStock()) {
-            return "LOSE"; // DB UPDATE 쿼리 전 애플리케이션 단계에서 차단
+        // 3. 재고 예약 (Redis Lua: 중복 확인 + 차감 + 예약 기록을 원자적으로 처리)
+        // 재고를 확보한 요청만 발행하므로 Kafka에는 재고 수량만큼만 메시지가 쌓임
+        // 옵션 이벤트는 후보 옵션을 차례로 예약하며, 매진 표시된 옵션은 Redis 호출 없이 건너뜀
+        StockReservationService.ReserveResult reservation = StockReservationService.ReserveResult.SOLD_OUT;
+        String option = null;
+        for (String candidate : options) {
+            if (candidate != null && soldOutRegistry.isSoldOut(eventId, candidate)) continue;
+            reservation = stockReservationService.reserve(eventId, memberId, candidate);
+            if (reservation != StockReservationService.ReserveResult.SOLD_OUT) {
+                option = candidate;
+                break;
+            }
+            markSoldOut(eventId, candidate);
+        }
+        if (reservation == StockReservationService.ReserveResult.SOLD_OUT) return "LOSE";
+        if (reservation == StockReservationService.ReserveResult.DUPLICATE) return "ALREADY_APPLIED";
+        if (reservation == StockReservationService.ReserveResult.UNAVAILABLE) {
+            // Redis 장애 시 DB 재고로 사전 확인 (다른 옵션으로 넘어갈 수 있으면 전체 재고 기준)
+            Long remaining = (options.size() > 1) ? stockShardService.remaining(eventId)
+                    : stockShardService.remaining(eventId, option);
+            if (remaining != null && remaining <= 0) {
+                markSoldOut(eventId, options.size() > 1 ? null : option);
+                return "LOSE"; // DB UPDATE 쿼리 전 애플리케이션 단계에서 차단
+            }
         }
 
-        // 4. Kafka 메시지 발행 (비동기 처리)
+        // 4. Kafka 메시지 발행 (비동기 처리, 최종 재고 확정은 Consumer의 재고 차감)
+        // 옵션 이벤트는 예약한 옵션을 함께 전달 (요청 시각, 멱등성 ID 포함 / 형식은 event.kafka.message-format)
+        // event.outbox.enabled=true이면 Outbox INSERT 성공 시점에 발행이 보장됨 (실패 시 예약 반환)
+        ApplyMessage message = ApplyMessage.of(eventId, memberId, option);
         try {
-            kafkaTemplate.send("event-apply-topic", eventId + ":" + memberId);
+            applyMessagePublisher.publish("event-apply-topic", message);
             return "APPLIED";
         } catch (Exception e) {
+            if (reservation == StockReservationService.ReserveResult.RESERVED) {
+                stockReservationService.release(eventId, memberId, option);
+            }
             return "Kafka ERROR";
         }
     }
+
+    /**
+     * 이후 요청은 Redis까지 가지 않고 차단하도록 매진 표시 (옵션이 모두 소진되면 이벤트 전체를 표시)
+     */
+    private void markSoldOut(Long eventId, String option) {
+        if (option == null) {
+            soldOutRegistry.markSoldOut(eventId);
+            return;
+        }
+        soldOutRegistry.markSoldOut(eventId, option);
+        if (soldOutRegistry.isAllSoldOut(eventId, stockShardService.options(eventId))) {
+            soldOutRegistry.markSoldOut(eventId);
+        }
+    }
 }
\ No newline at end of file
@@ -11,9 +11,9 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -107,12 +107,15 @@ public class EventBatchService {
     private List<Long> selectWinnersUsingReservoirSampling(Long eventId, int limit) {
         List<Long> reservoir = new ArrayList<>(limit);
         int count = 0;
+        long lastId = 0L;
 
-        Slice<Long> idSlice = entryRepository.findIdsByEventIdAndStatus(
-                eventId, WinningStatus.PENDING, PageRequest.of(0, READ_PAGE_SIZE));
-
+        // 키셋 페이징: 직전 페이지의 마지막 ID 다음부터 조회
+        // (OFFSET 페이징은 뒤 페이지일수록 앞의 행을 다시 건너뛰어야 하므로 전체 스캔이 O(N²)이 됨)
         while (true) {
-            for (Long id : idSlice.getContent()) {
+            List<Long> ids = entryRepository.findIdsByEventIdAndStatusAfter(
+                    eventId, WinningStatus.PENDING, lastId, Limit.of(READ_PAGE_SIZE));
+
+            for (Long id : ids) {
                 count++;
                 if (reservoir.size() < limit) {
                     reservoir.add(id);
@@ -125,11 +128,10 @@ public class EventBatchService {
                 }
             }
 
-            if (!idSlice.hasNext()) {
+            if (ids.size() < READ_PAGE_SIZE) {
                 break;
             }
-            idSlice = entryRepository.findIdsByEventIdAndStatus(
-                    eventId, WinningStatus.PENDING, idSlice.nextPageable());
+            lastId = ids.get(ids.size() - 1);
         }
         return reservoir;
     }
@@ -2,17 +2,31 @@ package com.example.event_system.service;
 
 import com.example.event_system.domain.EventEntry;
 import com.example.event_system.domain.EventReward;
+import com.example.event_system.domain.RewardType;
 import com.example.event_system.domain.WinningStatus;
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.event.EventSoldOutEvent;
+import com.example.event_system.repository.EventEntryBatchRepository;
 import com.example.event_system.repository.EventEntryRepository;
-import com.example.event_system.repository.EventRewardRepository;
-import com.example.event_system.repository.EventStockRepository;
+import com.example.event_system.service.cache.RewardPolicyCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
@@ -21,22 +35,87 @@ import java.util.concurrent.ThreadLocalRandom;
 public class EventResultService {
 
     private final EventEntryRepository entryRepository;
-    private final EventStockRepository stockRepository;
-    private final EventRewardRepository rewardRepository;
+    private final StockShardService stockShardService;
+    private final RewardPolicyCache rewardPolicyCache;
     private final StringRedisTemplate redisTemplate;
+    private final ParticipantBloomFilter participantBloomFilter;
+    private final SoldOutRegistry soldOutRegistry;
+    private final EventEntryBatchRepository entryBatchRepository;
+    private final RewardDeckService rewardDeckService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TrafficModeController trafficModeController;
+
+    /**
+     * AVERAGE_RANDOM 보상 배정 (조회-결정-갱신을 원자적으로 한 번에)
+     * KEYS[1] = 누적 지급액, KEYS[2] = 누적 지급 건수
+     * ARGV[1] = 최소 금액, ARGV[2] = 목표 평균, ARGV[3] = 최대 금액, ARGV[4] = 배정할 보상 수,
+     * ARGV[5] = 난수 시드 (스크립트 안의 math.random은 호출마다 같은 수열이므로 호출 측에서 발급)
+     * 반환: 배정된 보상 목록 (첫 지급은 목표 평균, 이후 누적 평균이 목표보다 높으면 [min, target], 아니면 [target, max])
+     */
+    @SuppressWarnings("rawtypes")
+    public static final RedisScript<List> FEEDBACK_REWARD_SCRIPT = new DefaultRedisScript<>(
+            "local min = tonumber(ARGV[1]) " +
+            "local target = tonumber(ARGV[2]) " +
+            "local max = tonumber(ARGV[3]) " +
+            "math.randomseed(tonumber(ARGV[5])) " +
+            "local sum = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local count = tonumber(redis.call('GET', KEYS[2]) or '0') " +
+            "local rewards = {} " +
+            "for i = 1, tonumber(ARGV[4]) do " +
+            "  local reward = target " +
+            "  if count > 0 then " +
+            "    if sum > target * count then reward = math.random(min, target) " +
+            "    else reward = math.random(target, max) end " +
+            "  end " +
+            "  rewards[i] = reward " +
+            "  sum = sum + reward " +
+            "  count = count + 1 " +
+            "end " +
+            "redis.call('SET', KEYS[1], string.format('%d', sum)) " +
+            "redis.call('SET', KEYS[2], string.format('%d', count)) " +
+            "return rewards",
+            List.class);
+
+    /**
+     * 배치 당첨 처리 결과
+     */
+    public record WinningBatchResult(int wins, int losses, int duplicates) {
+    }
 
     /**
      * Kafka Consumer로부터 호출되는 실제 당첨 처리 로직
      */
     @Transactional
     public void processWinning(Long eventId, Long memberId) {
-        // 1. 실제 DB 재고 차감 (Atomic Update 쿼리 사용)
+        processWinning(eventId, memberId, null);
+    }
+
+    /**
+     * @param optionName 응모 단계에서 예약한 경품 옵션 (null이면 이벤트 전체 재고)
+     */
+    @Transactional
+    public void processWinning(Long eventId, Long memberId, String optionName) {
+        // 0. Kafka 중복 메시지 방어 (재전달/재시도 메시지가 재고와 보상 덱을 다시 소비하지 않도록 가장 먼저 확인)
+        if (participantBloomFilter.isDuplicate(eventId, memberId,
+                () -> entryRepository.existsByEventIdAndMemberId(eventId, memberId))) {
+            log.info("### [중복 메시지] 이벤트:{}, 회원:{} - 이미 처리됨", eventId, memberId);
+            return;
+        }
+
+        // 1. 실제 DB 재고 차감 (Atomic Update 쿼리 사용) - Redis에서 예약된 재고를 확정하는 단계
         // 쿼리 예시: UPDATE event_stock SET stock_count = stock_count - 1 WHERE event_id = :eventId AND stock_count > 0
-        int updatedRows = stockRepository.decreaseStock(eventId);
+        // (분할 재고 이벤트는 임의의 분할 행부터 차감하여 행 락 경합을 분산, 옵션 이벤트는 옵션 행만 차감)
+        int updatedRows = stockShardService.decrease(eventId, optionName);
+        String wonOption = optionName;
+        if (updatedRows == 0 && optionName != null) {
+            markSoldOut(eventId, optionName);
+            wonOption = decreaseOtherOption(eventId, optionName);
+            updatedRows = (wonOption != null) ? 1 : 0;
+        }
 
         if (updatedRows > 0) {
-            // 2. 보상 정책 조회
-            EventReward rewardPolicy = rewardRepository.findByEventId(eventId)
+            // 2. 보상 정책 조회 (로컬 캐시)
+            EventReward rewardPolicy = rewardPolicyCache.get(eventId)
                     .orElseGet(() -> null); // 정책이 없으면 기본 처리
 
             // 3. 보상 금액 계산
@@ -48,13 +127,152 @@ public class EventResultService {
                     .memberId(memberId)
                     .status(WinningStatus.WIN)
                     .rewardAmount(finalReward)
+                    .optionName(wonOption)
                     .build();
 
             entryRepository.save(Objects.requireNonNull(entry));
-            log.info("### [최종 승인] 이벤트:{}, 회원:{}, 보상:{}P", eventId, memberId, finalReward);
+            participantBloomFilter.put(eventId, memberId);
+            log.info("### [최종 승인] 이벤트:{}, 회원:{}, 옵션:{}, 보상:{}P", eventId, memberId, wonOption, finalReward);
         } else {
-            log.warn("### [재고 소진] 이벤트:{}, 회원:{} - 처리 실패", eventId, memberId);
+            // Redis 예약을 통과했는데도 DB 재고가 없다면 카운터가 어긋난 것 (종료 후 재고 대사에서 정리)
+            log.warn("### [재고 소진] 이벤트:{}, 회원:{}, 옵션:{} - 처리 실패", eventId, memberId, optionName);
+            // 커밋 이후 전체 인스턴스에 매진 전파 → 응모 단계에서 즉시 차단 (옵션만 소진된 경우는 옵션만 표시)
+            if (optionName == null || stockShardService.isOptionFallThrough() || !stockShardService.hasStock(eventId)) {
+                markSoldOut(eventId, null);
+            }
+        }
+    }
+
+    /**
+     * [배치 당첨 처리] 한 번의 poll에서 받은 같은 이벤트의 응모 메시지를 한 트랜잭션으로 처리합니다.
+     * 1. 중복 제거: 배치 안의 같은 회원은 첫 메시지만, 이미 응모 내역이 있는 회원은 Bloom Filter + IN 조회 한 번으로 제외
+     * 2. 재고 확보: 옵션별로 조건부 UPDATE 한 번으로 메시지 수만큼 확보 (잔여 재고가 적으면 남은 만큼만)
+     * 3. 보상 계산: 보상 정책을 한 번 조회하여 메모리에서 계산
+     * 4. 저장: 당첨(WIN)과 재고를 확보하지 못한 응모(LOSE)를 JDBC Batch로 저장
+     * 중복 회원은 재고를 확보하기 전에 제외하므로, 같은 메시지가 다시 전달되어도 재고가 두 번 차감되지 않습니다.
+     * @throws org.springframework.dao.DataIntegrityViolationException 다른 스레드가 먼저 저장한 회원이 있는 경우 (전체 롤백)
+     */
+    @Transactional
+    public WinningBatchResult processWinningBatch(Long eventId, List<ApplyMessage> messages) {
+        // 1. 중복 제거
+        Map<Long, ApplyMessage> pending = new LinkedHashMap<>();
+        for (ApplyMessage message : messages) {
+            pending.putIfAbsent(message.memberId(), message);
+        }
+        pending.keySet().removeAll(findParticipants(eventId, pending.keySet()));
+        int duplicates = messages.size() - pending.size();
+        if (pending.isEmpty()) return new WinningBatchResult(0, 0, duplicates);
+
+        // 2. 옵션별 재고 확보 (옵션 이벤트가 아니면 옵션 null 하나로 묶임)
+        Map<String, List<ApplyMessage>> byOption = new LinkedHashMap<>();
+        for (ApplyMessage message : pending.values()) {
+            byOption.computeIfAbsent(message.optionName(), option -> new ArrayList<>()).add(message);
+        }
+        List<ApplyMessage> winners = new ArrayList<>();
+        List<String> wonOptions = new ArrayList<>();
+        List<ApplyMessage> losers = new ArrayList<>();
+        for (Map.Entry<String, List<ApplyMessage>> group : byOption.entrySet()) {
+            List<ApplyMessage> requests = group.getValue();
+            int claimed = stockShardService.claim(eventId, group.getKey(), requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                if (i < claimed) {
+                    winners.add(requests.get(i));
+                    wonOptions.add(group.getKey());
+                } else {
+                    losers.add(requests.get(i));
+                }
+            }
+            if (claimed < requests.size() && group.getKey() != null) {
+                markSoldOut(eventId, group.getKey());
+            }
+        }
+        losers = claimOtherOptions(eventId, byOption.keySet(), losers, winners, wonOptions);
+
+        // 3. 보상 계산 (정책은 로컬 캐시에서 조회)
+        EventReward rewardPolicy = rewardPolicyCache.get(eventId).orElse(null);
+        int[] rewards = calculateRewardAmounts(eventId, rewardPolicy, winners.size());
+
+        // 4. 당첨/미당첨 내역 일괄 저장
+        List<EventEntry> entries = new ArrayList<>(pending.size());
+        for (int i = 0; i < winners.size(); i++) {
+            entries.add(EventEntry.builder()
+                    .eventId(eventId)
+                    .memberId(winners.get(i).memberId())
+                    .status(WinningStatus.WIN)
+                    .rewardAmount(rewards[i])
+                    .optionName(wonOptions.get(i))
+                    .build());
+        }
+        for (ApplyMessage loser : losers) {
+            entries.add(EventEntry.builder()
+                    .eventId(eventId)
+                    .memberId(loser.memberId())
+                    .status(WinningStatus.LOSE)
+                    .optionName(loser.optionName())
+                    .build());
+        }
+        entryBatchRepository.insertAll(entries);
+        pending.keySet().forEach(memberId -> participantBloomFilter.put(eventId, memberId));
+
+        if (!losers.isEmpty()) {
+            log.warn("### [재고 소진] 이벤트:{}, 미당첨 처리 {}건", eventId, losers.size());
+            boolean anyWithoutOption = losers.stream().anyMatch(loser -> loser.optionName() == null);
+            if (anyWithoutOption || stockShardService.isOptionFallThrough() || !stockShardService.hasStock(eventId)) {
+                markSoldOut(eventId, null);
+            }
+        }
+        log.info("### [배치 최종 승인] 이벤트:{}, 당첨:{}, 미당첨:{}, 중복:{}", eventId, winners.size(), losers.size(), duplicates);
+        return new WinningBatchResult(winners.size(), losers.size(), duplicates);
+    }
+
+    /**
+     * [배치 옵션 넘김] 옵션 재고가 부족해 남은 요청을 재고가 남은 다른 옵션으로 당첨 처리합니다.
+     * @return 어느 옵션에서도 재고를 확보하지 못한 요청
+     */
+    private List<ApplyMessage> claimOtherOptions(Long eventId, Set<String> requestedOptions,
+                                                 List<ApplyMessage> losers, List<ApplyMessage> winners, List<String> wonOptions) {
+        if (losers.isEmpty() || !stockShardService.isOptionFallThrough()) return losers;
+
+        int next = 0;
+        for (String option : stockShardService.options(eventId)) {
+            if (next == losers.size()) break;
+            if (requestedOptions.contains(option) || soldOutRegistry.isSoldOut(eventId, option)) continue;
+            int claimed = stockShardService.claim(eventId, option, losers.size() - next);
+            for (int i = 0; i < claimed; i++) {
+                winners.add(losers.get(next++));
+                wonOptions.add(option);
+            }
+            if (next < losers.size()) {
+                markSoldOut(eventId, option);
+            }
+        }
+        return losers.subList(next, losers.size());
+    }
+
+    /**
+     * [옵션 넘김 (fall-through)] 예약한 옵션의 DB 재고가 없으면 재고가 남은 다른 옵션으로 당첨 처리합니다.
+     * 매진 표시된 옵션은 UPDATE 없이 건너뜁니다.
+     * @return 차감한 옵션 (넘김 모드가 아니거나 모든 옵션이 소진되면 null)
+     */
+    private String decreaseOtherOption(Long eventId, String optionName) {
+        if (!stockShardService.isOptionFallThrough()) return null;
+
+        for (String option : stockShardService.options(eventId)) {
+            if (option.equals(optionName) || soldOutRegistry.isSoldOut(eventId, option)) continue;
+            if (stockShardService.decrease(eventId, option) > 0) {
+                log.info("### [옵션 넘김] 이벤트:{}, {} 소진 → {}", eventId, optionName, option);
+                return option;
+            }
+            markSoldOut(eventId, option);
         }
+        return null;
+    }
+
+    /**
+     * 매진 표시는 커밋 이후에 수행합니다. (저장이 롤백되어 재고가 되돌아가면 표시하지 않음)
+     */
+    private void markSoldOut(Long eventId, String optionName) {
+        eventPublisher.publishEvent(new EventSoldOutEvent(eventId, optionName));
     }
 
     private int calculateRewardAmount(Long eventId, EventReward policy) {
@@ -63,11 +281,40 @@ public class EventResultService {
         return switch (policy.getRewardType()) {
             case FIXED -> policy.getFixedAmount();
             case RANDOM -> ThreadLocalRandom.current().nextInt(policy.getMinAmount(), policy.getMaxAmount() + 1);
-            case AVERAGE_RANDOM -> calculateAverageFeedbackReward(eventId, policy);
+            case AVERAGE_RANDOM -> calculateAverageRewards(eventId, policy, 1)[0];
             default -> 1;
         };
     }
 
+    /**
+     * 당첨자 count명의 보상을 계산합니다. (AVERAGE_RANDOM은 보상 스크립트 호출 한 번)
+     */
+    private int[] calculateRewardAmounts(Long eventId, EventReward policy, int count) {
+        if (count > 0 && policy != null && policy.getRewardType() == RewardType.AVERAGE_RANDOM) {
+            return calculateAverageRewards(eventId, policy, count);
+        }
+        int[] rewards = new int[count];
+        for (int i = 0; i < count; i++) {
+            rewards[i] = calculateRewardAmount(eventId, policy);
+        }
+        return rewards;
+    }
+
+    /**
+     * AVERAGE_RANDOM 보상: 보상 덱(event.reward.deck.enabled)에서 먼저 꺼내고,
+     * 덱이 없거나 소진되어 모자란 만큼은 피드백 루프로 계산합니다.
+     * 중복 확인 이후에만 호출하며, 꺼낸 금액은 트랜잭션이 롤백되면 덱에 되돌아갑니다.
+     */
+    private int[] calculateAverageRewards(Long eventId, EventReward policy, int count) {
+        int[] drawn = rewardDeckService.draw(eventId, count);
+        if (drawn.length == count) return drawn;
+
+        int[] rest = calculateAverageFeedbackRewards(eventId, policy, count - drawn.length);
+        int[] rewards = Arrays.copyOf(drawn, count);
+        System.arraycopy(rest, 0, rewards, drawn.length, rest.length);
+        return rewards;
+    }
+
     /**
      * [설계 의도]
      * 단순 랜덤(min~max) 방식은 평균값이 (min+max)/2로 고정되어,
@@ -76,42 +323,33 @@ public class EventResultService {
      * 목표 평균보다 높으면 낮은 금액 구간에서, 낮으면 높은 금액 구간에서 랜덤 추출합니다.
      * 이를 통해 '최소 1P ~ 최대 2000P'와 같이 넓은 보상 범위를 제공하면서도,
      * 최종적으로는 목표 평균(예: 50P)에 수렴하도록 예산을 통제할 수 있습니다.
+     * (조회-결정-갱신을 FEEDBACK_REWARD_SCRIPT 한 번으로 처리하여 동시 Consumer 간 평균 경합 제거,
+     *  배치 처리 시에는 count명의 보상을 같은 스크립트 호출 한 번으로 배정)
      */
-    private int calculateAverageFeedbackReward(Long eventId, EventReward policy) {
+    private int[] calculateAverageFeedbackRewards(Long eventId, EventReward policy, int count) {
         String sumKey = "event:reward:sum:" + eventId;
         String countKey = "event:reward:count:" + eventId;
+        int[] rewards = new int[count];
 
         try {
-            // Redis에서 현재 누적 데이터 조회
-            String sumStr = redisTemplate.opsForValue().get(sumKey);
-            String countStr = redisTemplate.opsForValue().get(countKey);
-
-            long totalSum = (sumStr != null) ? Long.parseLong(sumStr) : 0;
-            long totalCount = (countStr != null) ? Long.parseLong(countStr) : 0;
-
-            int reward;
-            if (totalCount == 0) {
-                reward = policy.getTargetAverage(); // 첫 참여자는 목표 평균값 지급
-            } else {
-                double currentAvg = (double) totalSum / totalCount;
-
-                // 평균이 목표보다 높으면 낮은 쪽에서, 낮으면 높은 쪽에서 랜덤 추출
-                if (currentAvg > policy.getTargetAverage()) {
-                    reward = ThreadLocalRandom.current().nextInt(policy.getMinAmount(), policy.getTargetAverage() + 1);
-                } else {
-                    reward = ThreadLocalRandom.current().nextInt(policy.getTargetAverage(), policy.getMaxAmount() + 1);
-                }
+            List<?> result = redisTemplate.execute(FEEDBACK_REWARD_SCRIPT, List.of(sumKey, countKey),
+                    String.valueOf(policy.getMinAmount()),
+                    String.valueOf(policy.getTargetAverage()),
+                    String.valueOf(policy.getMaxAmount()),
+                    String.valueOf(count),
+                    String.valueOf(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE)));
+            if (result == null || result.size() != count) {
+                throw new IllegalStateException("보상 스크립트 결과가 올바르지 않습니다: " + result);
             }
-
-            // Redis 통계 업데이트
-            redisTemplate.opsForValue().increment(sumKey, reward);
-            redisTemplate.opsForValue().increment(countKey, 1);
-
-            return reward;
+            for (int i = 0; i < count; i++) {
+                rewards[i] = ((Number) result.get(i)).intValue();
+            }
+            return rewards;
 
         } catch (Exception e) {
             log.error("### Redis 오류로 인한 Fallback(최소포인트) 지급: {}", e.getMessage());
-            return policy.getMinAmount(); // 장애 시 최소 포인트 방어선
+            Arrays.fill(rewards, policy.getMinAmount()); // 장애 시 최소 포인트 방어선
+            return rewards;
         }
     }
 
@@ -121,14 +359,63 @@ public class EventResultService {
      */
     @Transactional
     public void processRaffleEntry(Long eventId, Long memberId) {
-        // Kafka 중복 메시지 방어
-        if (entryRepository.existsByEventIdAndMemberId(eventId, memberId)) return;
+        // Kafka 중복 메시지 방어 (Bloom Filter가 '있을 수도 있다'고 답한 경우에만 DB 조회)
+        if (participantBloomFilter.isDuplicate(eventId, memberId,
+                () -> entryRepository.existsByEventIdAndMemberId(eventId, memberId))) return;
 
         EventEntry entry = EventEntry.builder()
                 .eventId(eventId)
                 .memberId(memberId)
                 .status(WinningStatus.PENDING)
                 .build();
-        entryRepository.save(Objects.requireNonNull(entry));
+        // DB 저장 지연 기록 → 대량 트래픽 모드에서도 자동 전환의 복귀 판단에 사용
+        long started = System.nanoTime();
+        try {
+            entryRepository.save(Objects.requireNonNull(entry));
+        } finally {
+            trafficModeController.recordDbWrite(eventId, System.nanoTime() - started);
+        }
+        participantBloomFilter.put(eventId, memberId);
+    }
+
+    /**
+     * [배치 추첨 응모] 같은 이벤트의 추첨 응모 메시지를 한 트랜잭션으로 저장합니다.
+     * 메시지마다 exists 조회 + INSERT(2회 왕복)를 하던 것을
+     * 배치 안 중복 제거(메모리) → 기존 참여자 IN 조회 1회(Bloom Filter가 '있을 수도 있다'고 한 회원만) → JDBC Batch INSERT 1회로 줄입니다.
+     * @return 새로 저장한 응모 수
+     * @throws org.springframework.dao.DataIntegrityViolationException 다른 인스턴스가 먼저 저장한 회원이 있는 경우 (전체 롤백)
+     */
+    @Transactional
+    public int processRaffleBatch(Long eventId, List<Long> memberIds) {
+        Set<Long> newMembers = new LinkedHashSet<>(memberIds);
+        newMembers.removeAll(findParticipants(eventId, newMembers));
+        if (newMembers.isEmpty()) return 0;
+
+        List<EventEntry> entries = new ArrayList<>(newMembers.size());
+        for (Long memberId : newMembers) {
+            entries.add(EventEntry.builder()
+                    .eventId(eventId)
+                    .memberId(memberId)
+                    .status(WinningStatus.PENDING)
+                    .build());
+        }
+        long started = System.nanoTime();
+        try {
+            entryBatchRepository.insertAll(entries);
+        } finally {
+            trafficModeController.recordDbWrite(eventId, System.nanoTime() - started); // 묶음 INSERT 1회를 표본 1건으로 기록
+        }
+        newMembers.forEach(memberId -> participantBloomFilter.put(eventId, memberId));
+        log.info("### [배치 추첨 응모] 이벤트:{}, 저장:{}, 중복:{}", eventId, newMembers.size(), memberIds.size() - newMembers.size());
+        return newMembers.size();
+    }
+
+    /**
+     * 주어진 회원 중 이미 응모 내역이 있는 회원 (IN 조회 1회)
+     */
+    private Set<Long> findParticipants(Long eventId, Collection<Long> memberIds) {
+        if (memberIds.isEmpty()) return Set.of();
+        return participantBloomFilter.findDuplicates(eventId, memberIds,
+                candidates -> entryRepository.findMemberIdsByEventIdAndMemberIdIn(eventId, candidates));
     }
-}
\ No newline at end of file
+}
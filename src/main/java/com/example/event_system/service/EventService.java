@@ -6,6 +6,8 @@ import com.example.event_system.domain.EventLock;
 import com.example.event_system.domain.vo.ComplianceInfo;
 import com.example.event_system.domain.vo.EventPeriod;
 import com.example.event_system.dto.EventCreateRequest;
+import com.example.event_system.event.EventPolicyChangedEvent;
+import com.example.event_system.event.EventStockRestockedEvent;
 import com.example.event_system.repository.EventEntryRepository;
 import com.example.event_system.repository.EventLockRepository;
 import com.example.event_system.repository.EventRepository;
@@ -17,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.List;
 import java.util.Objects;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +31,8 @@ public class EventService {
     private final EventRepository eventRepository;
     private final EventLockRepository eventLockRepository;
     private final EventEntryRepository eventEntryRepository;
+    private final StockShardService stockShardService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 신규 이벤트를 생성하고 추첨을 위한 락 레코드를 함께 등록합니다.
@@ -67,6 +72,9 @@ public class EventService {
         // 추첨 배치 로직이 안전하게 줄을 설 수 있도록 이 시점에 미리 생성해 둡니다.
         eventLockRepository.save(new EventLock(savedEvent.getId()));
 
+        // 5. 응모 경로의 정책 캐시 무효화 (커밋 이후 실행)
+        eventPublisher.publishEvent(new EventPolicyChangedEvent(savedEvent.getId()));
+
         log.info("이벤트 생성 및 락 레코드 등록 완료: ID={}", savedEvent.getId());
         return savedEvent.getId();
     }
@@ -85,7 +93,33 @@ public class EventService {
         // 2. 개인정보 파기 (Privacy Masking)
         List<EventEntry> entries = eventEntryRepository.findAllByEventId(eventId);
         entries.forEach(EventEntry::clearContactInfo);
-        
+
+        // 3. 응모 경로의 정책 캐시 무효화 (커밋 이후 실행)
+        eventPublisher.publishEvent(new EventPolicyChangedEvent(eventId));
+
         log.info("이벤트 삭제 및 개인정보 파기 완료: ID={}, 대상={}명", eventId, entries.size());
     }
-}
\ No newline at end of file
+
+    /**
+     * 선착순 이벤트의 재고를 보충하고, 커밋 이후 전체 인스턴스의 매진 플래그를 해제합니다.
+     */
+    @Transactional
+    public void restock(Long eventId, int count) {
+        restock(eventId, null, count);
+    }
+
+    /**
+     * 경품 옵션의 재고를 보충합니다. (옵션이 여러 개인 이벤트는 옵션 지정 필수)
+     */
+    @Transactional
+    public void restock(Long eventId, String optionName, int count) {
+        // 1. 재고 보충 (도메인 검증: 1개 이상, 분할 재고는 행마다 나눠 보충)
+        long remaining = stockShardService.increase(Objects.requireNonNull(eventId), optionName, count);
+
+        // 2. Redis 재고 카운터 보충 및 매진 플래그 해제 (커밋 이후 실행)
+        String stockOption = stockShardService.normalizeOption(eventId, optionName);
+        eventPublisher.publishEvent(new EventStockRestockedEvent(eventId, stockOption, count));
+
+        log.info("재고 보충 완료: ID={}, 옵션={}, 보충={}, 잔여={}", eventId, optionName, count, remaining);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.event_system.service;
+
+import com.example.event_system.repository.EventOutboxRepository;
+import com.example.event_system.repository.EventOutboxRepository.OutboxRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * [Outbox 릴레이] event_outbox에 쌓인 메시지를 묶음 단위로 Kafka에 발행합니다. (event.outbox.enabled=true)
+ * - 조회: id 키셋으로 batch-size건씩 (매 주기 처음부터 다시 읽으므로 늦게 커밋된 작은 id도 다음 주기에 발행됨)
+ * - 발행: 묶음 전체를 send한 뒤 응답을 한 번에 기다림 → 요청 스레드는 브로커 왕복을 기다리지 않음
+ * - 삭제: 발행이 확인된 id만 IN 목록으로 묶어 삭제, 실패한 메시지는 남겨 두고 다음 주기에 재시도
+ * - 멱등성 프로듀서(enable.idempotence)로 브로커 재시도에 의한 중복/순서 뒤바뀜을 막고,
+ *   삭제 전에 종료되어 다시 발행되는 경우는 Consumer의 중복 확인(uk_event_entry_member)이 걸러냄
+ * 여러 인스턴스에서 동시에 실행되면 같은 메시지를 중복 발행할 수 있으므로 릴레이는 한 인스턴스에서만 켜는 것을 권장합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "event.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    // 한 주기에 처리할 최대 묶음 수 (스케줄러 스레드를 오래 점유하지 않도록 제한)
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final EventOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+
+    public OutboxRelay(EventOutboxRepository outboxRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       @Value("${event.outbox.batch-size:1000}") int batchSize,
+                       @Value("${event.outbox.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Outbox 묶음 크기는 1 이상이어야 합니다.");
+        }
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${event.outbox.relay-interval-ms:100}")
+    public void relay() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.error("Outbox 발행 실패 (다음 주기에 재시도): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return 발행 후 삭제한 메시지 수
+     */
+    public int drain() {
+        int relayed = 0;
+        long afterId = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<OutboxRecord> records = outboxRepository.findAfter(afterId, batchSize);
+            if (records.isEmpty()) break;
+
+            List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(records.size());
+            for (OutboxRecord record : records) {
+                futures.add(kafkaTemplate.send(record.topic(), record.key(), record.payload()));
+            }
+
+            List<Long> sent = new ArrayList<>(records.size());
+            boolean failed = false;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+                    sent.add(records.get(i).id());
+                } catch (ExecutionException | TimeoutException e) {
+                    failed = true;
+                    log.warn("### Outbox 메시지 발행 실패: id={}, 원인={}", records.get(i).id(), e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failed = true;
+                    break;
+                }
+            }
+
+            outboxRepository.deleteAll(sent);
+            relayed += sent.size();
+            if (failed || records.size() < batchSize) break;
+            afterId = records.get(records.size() - 1).id();
+        }
+        if (relayed > 0) {
+            log.debug("Outbox 발행: {}건", relayed);
+        }
+        return relayed;
+    }
+}
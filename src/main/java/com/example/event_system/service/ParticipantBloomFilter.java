@@ -0,0 +1,188 @@
+package com.example.event_system.service;
+
+import com.example.event_system.repository.EventEntryRepository;
+import com.example.event_system.service.cache.EventPolicyCache;
+import com.example.event_system.support.BloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * [이벤트별 참여자 Bloom Filter]
+ * 대부분의 응모는 처음 참여하는 회원이므로 중복 확인 쿼리는 거의 항상 '없음'으로 끝납니다.
+ * 필터가 "없다"고 답하면 DB 조회를 생략하고, "있을 수도 있다"고 답할 때만 실제 확인을 수행합니다.
+ * - 크기: max(min-expected, maxWinners × participants-per-winner) 원소, 목표 오탐률 fpp
+ * - 최초 사용 시 DB의 참여 내역으로 채우며, 오래 쓰이지 않은 이벤트의 필터는 메모리에서 내립니다.
+ * - 실제로 저장된(또는 저장이 예약된) 참여만 기록합니다. Kafka 경유 응모를 접수 시점에 기록하면
+ *   Consumer의 중복 확인이 항상 '있을 수도 있다'가 되어 필터가 의미를 잃습니다.
+ * - 인스턴스 로컬 필터이므로 다른 인스턴스의 신규 참여는 보지 못합니다.
+ *   이 틈은 event_entry의 (eventId, memberId) 유니크 제약이 최종 방어합니다.
+ */
+@Slf4j
+@Service
+public class ParticipantBloomFilter {
+
+    private final EventEntryRepository entryRepository;
+    private final EventPolicyCache eventPolicyCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Long, BloomFilter> filters;
+
+    private final double falsePositiveRate;
+    private final boolean offHeap;
+    private final long participantsPerWinner;
+    private final long minExpectedInsertions;
+
+    private final Counter negativeCounter;
+    private final Counter positiveCounter;
+    private final Counter falsePositiveCounter;
+
+    public ParticipantBloomFilter(EventEntryRepository entryRepository,
+                                  EventPolicyCache eventPolicyCache,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${event.bloom.fpp:0.01}") double falsePositiveRate,
+                                  @Value("${event.bloom.off-heap:false}") boolean offHeap,
+                                  @Value("${event.bloom.participants-per-winner:100}") long participantsPerWinner,
+                                  @Value("${event.bloom.min-expected:10000}") long minExpectedInsertions,
+                                  @Value("${event.bloom.idle-expire-minutes:60}") long idleExpireMinutes,
+                                  @Value("${event.bloom.max-events:1000}") long maxEvents) {
+        this.entryRepository = entryRepository;
+        this.eventPolicyCache = eventPolicyCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.offHeap = offHeap;
+        this.participantsPerWinner = participantsPerWinner;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.filters = Caffeine.newBuilder()
+                .maximumSize(maxEvents)
+                .expireAfterAccess(Duration.ofMinutes(idleExpireMinutes))
+                .build();
+
+        this.negativeCounter = Counter.builder("event.bloom.checks").tag("result", "negative")
+                .description("필터가 미참여로 판단하여 DB 조회를 생략한 횟수").register(meterRegistry);
+        this.positiveCounter = Counter.builder("event.bloom.checks").tag("result", "positive")
+                .description("필터가 참여 가능성을 보고하여 DB로 확인한 횟수").register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("event.bloom.false.positives")
+                .description("필터는 참여로 판단했으나 DB에는 없었던 횟수").register(meterRegistry);
+        Gauge.builder("event.bloom.memory", this, ParticipantBloomFilter::memoryBytes)
+                .baseUnit("bytes").description("적재된 필터의 비트 배열 크기 합계").register(meterRegistry);
+        Gauge.builder("event.bloom.filters", filters, cache -> cache.estimatedSize())
+                .description("메모리에 적재된 이벤트 필터 수").register(meterRegistry);
+        Gauge.builder("event.bloom.fpp.max", this, ParticipantBloomFilter::maxExpectedFalsePositiveRate)
+                .description("적재된 필터 중 가장 높은 예상 오탐률").register(meterRegistry);
+    }
+
+    /**
+     * 필터가 "없다"고 하면 바로 false, "있을 수도 있다"고 하면 authoritativeCheck 결과를 따릅니다.
+     */
+    public boolean isDuplicate(Long eventId, Long memberId, BooleanSupplier authoritativeCheck) {
+        if (!filterFor(eventId).mightContain(Objects.requireNonNull(memberId))) {
+            negativeCounter.increment();
+            return false;
+        }
+        positiveCounter.increment();
+        boolean duplicate = authoritativeCheck.getAsBoolean();
+        if (!duplicate) {
+            falsePositiveCounter.increment();
+        }
+        return duplicate;
+    }
+
+    /**
+     * 여러 회원을 한 번에 확인합니다. (배치 Consumer용)
+     * 필터가 "있을 수도 있다"고 답한 회원만 모아 authoritativeCheck(IN 조회 한 번)로 확인하며,
+     * 모두 "없다"이면 DB 조회를 하지 않습니다.
+     * @return 실제로 참여 내역이 있는 회원
+     */
+    public Set<Long> findDuplicates(Long eventId, Collection<Long> memberIds,
+                                    Function<Collection<Long>, Collection<Long>> authoritativeCheck) {
+        BloomFilter filter = filterFor(eventId);
+        List<Long> candidates = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            if (filter.mightContain(Objects.requireNonNull(memberId))) {
+                candidates.add(memberId);
+            }
+        }
+        negativeCounter.increment(memberIds.size() - candidates.size());
+        if (candidates.isEmpty()) return Set.of();
+
+        positiveCounter.increment(candidates.size());
+        Set<Long> duplicates = new HashSet<>(authoritativeCheck.apply(candidates));
+        falsePositiveCounter.increment(candidates.size() - duplicates.size());
+        return duplicates;
+    }
+
+    public void put(Long eventId, Long memberId) {
+        filterFor(eventId).put(Objects.requireNonNull(memberId));
+    }
+
+    /**
+     * 이벤트 정책 변경(삭제 등) 시 필터를 내려 다음 사용 때 새 정책 크기로 다시 만듭니다.
+     */
+    public void evict(Long eventId) {
+        filters.invalidate(Objects.requireNonNull(eventId));
+    }
+
+    private BloomFilter filterFor(Long eventId) {
+        return filters.get(Objects.requireNonNull(eventId), this::load);
+    }
+
+    private BloomFilter load(Long eventId) {
+        long expected = expectedParticipants(eventId);
+        BloomFilter filter = BloomFilter.create(expected, falsePositiveRate, offHeap);
+
+        Long loaded = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<Long> memberIds = entryRepository.streamMemberIdsByEventId(eventId)) {
+                for (Long memberId : (Iterable<Long>) memberIds::iterator) {
+                    filter.put(memberId);
+                    count++;
+                }
+            }
+            return count;
+        });
+
+        log.info("참여자 Bloom Filter 적재: 이벤트={}, 예상={}명, 적재={}명, 크기={}B, 오프힙={}",
+                eventId, expected, loaded, filter.memoryBytes(), filter.isOffHeap());
+        return filter;
+    }
+
+    private long expectedParticipants(Long eventId) {
+        try {
+            long byWinners = eventPolicyCache.get(eventId).maxWinners() * participantsPerWinner;
+            return Math.max(minExpectedInsertions, byWinners);
+        } catch (IllegalArgumentException e) {
+            return minExpectedInsertions;
+        }
+    }
+
+    private double memoryBytes() {
+        return filters.asMap().values().stream().mapToLong(BloomFilter::memoryBytes).sum();
+    }
+
+    private double maxExpectedFalsePositiveRate() {
+        return filters.asMap().values().stream()
+                .mapToDouble(BloomFilter::expectedFalsePositiveRate)
+                .max()
+                .orElse(0);
+    }
+}
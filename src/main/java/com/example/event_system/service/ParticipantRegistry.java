@@ -0,0 +1,224 @@
+package com.example.event_system.service;
+
+import com.example.event_system.repository.EventEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * [이벤트별 참여자 Set (Redis)]
+ * apply 경로의 existsByEventIdAndMemberId 인덱스 조회를 Redis SADD 한 번으로 대체합니다.
+ * - 확인과 등록을 하나의 Lua 스크립트로 처리하므로 동시 요청 간 경합이 없습니다.
+ * - Set이 없으면(최초 응모, 만료, Redis 재시작) DB에서 재구축한 뒤 다시 시도합니다.
+ *   재구축은 인스턴스 안에서는 이벤트당 한 스레드만(나머지는 완료를 기다림), 인스턴스 간에는 SET NX PX 락으로 한 곳만 수행하며
+ *   다른 인스턴스가 재구축 중이거나 대기 시간이 지나면 UNAVAILABLE로 답해 호출 측이 DB로 확인합니다.
+ * - DB가 최종 원본(Source of Truth)이며, Redis 장애 시 호출 측이 DB로 확인합니다.
+ */
+@Slf4j
+@Service
+public class ParticipantRegistry {
+
+    public enum ClaimResult {
+        CLAIMED,     // 신규 참여자로 등록됨
+        DUPLICATE,   // 이미 참여한 회원
+        UNAVAILABLE  // Redis 장애 등으로 판단 불가 → DB 확인 필요
+    }
+
+    private static final long NEEDS_REBUILD = -1L;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    // 재구축 도중 인스턴스가 종료되어도 임시 키가 남지 않도록 만료 설정
+    private static final long REBUILD_TEMP_TTL_SECONDS = 600;
+
+    // 참여자가 0명이어도 Set이 존재하도록 넣어두는 표식 (회원 ID와 겹치지 않는 값)
+    private static final String PRESENCE_MARKER = "-";
+
+    /**
+     * KEYS[1] = 참여자 Set, ARGV[1] = 회원 ID
+     * 반환: 1 = 신규 등록, 0 = 이미 참여, -1 = Set 없음(재구축 필요)
+     */
+    public static final RedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "return redis.call('SADD', KEYS[1], ARGV[1])",
+            Long.class);
+
+    /**
+     * KEYS[1] = 재구축 락, ARGV[1] = 락 획득 시 기록한 토큰
+     * 반환: 1 = 해제, 0 = 만료되어 다른 인스턴스가 가져간 락 (해제하지 않음)
+     */
+    public static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final EventEntryRepository entryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlSeconds;
+    private final long rebuildLockMillis;
+    private final long rebuildWaitMillis;
+    // 이벤트 ID → 이 인스턴스에서 진행 중인 재구축 (완료 시 재구축 여부)
+    private final Map<Long, CompletableFuture<Boolean>> rebuilds = new ConcurrentHashMap<>();
+
+    public ParticipantRegistry(StringRedisTemplate redisTemplate,
+                               EventEntryRepository entryRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${event.participant-set.ttl-seconds:259200}") long ttlSeconds,
+                               @Value("${event.participant-set.rebuild-lock-ms:60000}") long rebuildLockMillis,
+                               @Value("${event.participant-set.rebuild-wait-ms:2000}") long rebuildWaitMillis) {
+        this.redisTemplate = redisTemplate;
+        this.entryRepository = entryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlSeconds = ttlSeconds;
+        this.rebuildLockMillis = rebuildLockMillis;
+        this.rebuildWaitMillis = rebuildWaitMillis;
+    }
+
+    /**
+     * 참여 여부 확인과 등록을 한 번의 왕복으로 처리합니다.
+     */
+    public ClaimResult claim(Long eventId, Long memberId) {
+        String key = participantKey(eventId);
+        try {
+            Long result = executeClaim(key, memberId);
+            if (result != null && result == NEEDS_REBUILD && rebuildOnce(eventId)) {
+                result = executeClaim(key, memberId);
+            }
+            if (result == null || result < 0) {
+                return ClaimResult.UNAVAILABLE;
+            }
+            return result == 1L ? ClaimResult.CLAIMED : ClaimResult.DUPLICATE;
+        } catch (Exception e) {
+            log.error("Redis 장애 - 참여자 Set 확인 실패, DB로 검증: {}", e.getMessage());
+            return ClaimResult.UNAVAILABLE;
+        }
+    }
+
+    /**
+     * 응모가 최종 접수되지 않은 경우(유량 제어, 재고 소진 등) 등록을 되돌려 재시도를 허용합니다.
+     */
+    public void release(Long eventId, Long memberId) {
+        try {
+            redisTemplate.opsForSet().remove(participantKey(eventId), String.valueOf(memberId));
+        } catch (Exception e) {
+            log.error("Redis 장애 - 참여자 등록 해제 실패: 이벤트={}, 회원={}, {}", eventId, memberId, e.getMessage());
+        }
+    }
+
+    /**
+     * 이벤트당 한 번만 재구축합니다. 같은 인스턴스의 다른 스레드가 재구축 중이면 최대 rebuild-wait-ms 동안 완료를 기다립니다.
+     * @return 재구축이 끝났으면 true, 다른 인스턴스가 재구축 중이거나 대기 시간이 지나면 false
+     */
+    private boolean rebuildOnce(Long eventId) {
+        CompletableFuture<Boolean> mine = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = rebuilds.putIfAbsent(eventId, mine);
+        if (running != null) {
+            try {
+                return running.get(rebuildWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (TimeoutException | ExecutionException e) {
+                return false;
+            }
+        }
+
+        try {
+            boolean rebuilt = rebuildWithLock(eventId);
+            mine.complete(rebuilt);
+            return rebuilt;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            rebuilds.remove(eventId, mine);
+        }
+    }
+
+    /**
+     * 인스턴스 간 재구축 락 (SET NX PX, 토큰이 같을 때만 해제)
+     * 락을 얻은 뒤 Set이 이미 있으면 다른 인스턴스가 방금 재구축을 마친 것이므로 다시 만들지 않습니다.
+     */
+    private boolean rebuildWithLock(Long eventId) {
+        String key = participantKey(eventId);
+        String lockKey = key + ":rebuild-lock";
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, token, rebuildLockMillis, TimeUnit.MILLISECONDS);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("다른 인스턴스가 참여자 Set 재구축 중 - DB로 검증: 이벤트={}", eventId);
+            return false;
+        }
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                rebuild(eventId);
+            }
+            return true;
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
+        }
+    }
+
+    /**
+     * DB의 참여 내역으로 Set을 재구축합니다.
+     * 임시 키에 적재한 뒤 SUNIONSTORE로 합치므로, 재구축 도중 등록된 참여자도 유실되지 않고
+     * 적재가 끝나기 전에는 다른 요청이 불완전한 Set을 보지 않습니다.
+     */
+    private void rebuild(Long eventId) {
+        String key = participantKey(eventId);
+        String tempKey = key + ":rebuild:" + UUID.randomUUID();
+
+        redisTemplate.opsForSet().add(tempKey, PRESENCE_MARKER);
+        redisTemplate.expire(tempKey, REBUILD_TEMP_TTL_SECONDS, TimeUnit.SECONDS);
+
+        Long loaded = transactionTemplate.execute(status -> {
+            long count = 0;
+            List<String> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+            try (Stream<Long> memberIds = entryRepository.streamMemberIdsByEventId(eventId)) {
+                for (Long memberId : (Iterable<Long>) memberIds::iterator) {
+                    chunk.add(String.valueOf(memberId));
+                    count++;
+                    if (chunk.size() >= REBUILD_CHUNK_SIZE) {
+                        addAll(tempKey, chunk);
+                    }
+                }
+            }
+            addAll(tempKey, chunk);
+            return count;
+        });
+
+        redisTemplate.opsForSet().unionAndStore(key, tempKey, key);
+        redisTemplate.delete(tempKey);
+        redisTemplate.expire(key, ttlSeconds, TimeUnit.SECONDS);
+        log.info("참여자 Set 재구축 완료: 이벤트={}, 참여자={}명", eventId, loaded);
+    }
+
+    private void addAll(String key, List<String> chunk) {
+        if (chunk.isEmpty()) return;
+        redisTemplate.opsForSet().add(key, chunk.toArray(new String[0]));
+        chunk.clear();
+    }
+
+    private Long executeClaim(String key, Long memberId) {
+        return redisTemplate.execute(CLAIM_SCRIPT, List.of(key), String.valueOf(Objects.requireNonNull(memberId)));
+    }
+
+    private static String participantKey(Long eventId) {
+        return "event:participants:" + eventId;
+    }
+}
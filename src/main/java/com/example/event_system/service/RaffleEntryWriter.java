@@ -0,0 +1,212 @@
+package com.example.event_system.service;
+
+import com.example.event_system.domain.EventEntry;
+import com.example.event_system.repository.EventEntryBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * [추첨 응모 지연 저장 (Write-Behind)] (event.raffle.write-behind.enabled=true)
+ * 일반 모드 추첨 응모는 요청마다 IDENTITY INSERT 한 번이라 Hibernate가 묶어서 보낼 수 없으므로,
+ * 고정 크기 버퍼에 넣고 전용 스레드가 batch-size건 또는 flush-interval-ms마다 JDBC Batch로 저장합니다.
+ * - 버퍼가 가득 차면 submit이 false를 돌려주고 호출 측이 바로 저장 (역압)
+ * - 묶음 저장이 유니크 제약에 걸리면 한 건씩 다시 저장하여 중복 회원만 건너뜀 (중복은 Redis 참여자 Set에서 이미 대부분 차단)
+ * - DB 장애로 저장이 실패하면 같은 묶음을 1초 간격으로 재시도 → 그동안 버퍼가 차면 요청 스레드의 바로 저장으로 넘어감
+ *   한 건씩 저장하는 중에 실패해도 같은 방식으로 재시도하며, 이미 저장했거나 중복으로 건너뛴 응모부터 다시 저장하지 않음
+ * - 묶음 저장 시간은 묶음에 포함된 이벤트마다 DB 저장 지연 표본 1건으로 기록 (대량 트래픽 모드 자동 전환 판단)
+ * - 정상 종료 시 접수를 막은 뒤 버퍼에 남은 응모를 모두 저장하고 종료 (비정상 종료 시에는 버퍼 내용이 유실될 수 있음)
+ * 버퍼 적체량은 event.raffle.write-behind.buffered, 역압으로 바로 저장한 건수는 event.raffle.write-behind.fallback으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class RaffleEntryWriter {
+
+    private static final long RETRY_INTERVAL_MS = 1000L;
+
+    private final EventEntryBatchRepository entryBatchRepository;
+    private final TrafficModeController trafficModeController;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<EventEntry> buffer;
+    private final Counter fallbackCounter;
+    // 접수(read)와 종료(write)를 구분 → 종료가 시작된 뒤에는 버퍼에 새로 들어오지 않음
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private final Thread writer;
+    private volatile boolean running;
+
+    public RaffleEntryWriter(EventEntryBatchRepository entryBatchRepository,
+                             TrafficModeController trafficModeController,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${event.raffle.write-behind.enabled:false}") boolean enabled,
+                             @Value("${event.raffle.write-behind.capacity:10000}") int capacity,
+                             @Value("${event.raffle.write-behind.batch-size:500}") int batchSize,
+                             @Value("${event.raffle.write-behind.flush-interval-ms:50}") long flushIntervalMillis) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("버퍼 크기와 묶음 크기는 1 이상이어야 합니다.");
+        }
+        this.entryBatchRepository = entryBatchRepository;
+        this.trafficModeController = trafficModeController;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.fallbackCounter = Counter.builder("event.raffle.write-behind.fallback").register(meterRegistry);
+        Gauge.builder("event.raffle.write-behind.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "raffle-entry-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            running = true;
+            writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 응모를 버퍼에 넣습니다.
+     * @return 버퍼에 넣지 못하면 false (비활성화, 종료 중, 버퍼 가득 참) → 호출 측이 바로 저장
+     */
+    public boolean submit(EventEntry entry) {
+        if (!enabled) return false;
+        acceptLock.readLock().lock();
+        try {
+            if (running && buffer.offer(entry)) return true;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        fallbackCounter.increment();
+        return false;
+    }
+
+    public int buffered() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) return;
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!buffer.isEmpty()) {
+            log.error("### 추첨 응모 지연 저장 종료 시 미저장 {}건", buffer.size());
+        }
+    }
+
+    private void writeLoop() {
+        List<EventEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                EventEntry first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // batch-size건이 모이거나 첫 응모 이후 flush-interval-ms가 지나면 저장
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) break;
+                    EventEntry next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("### 추첨 응모 저장 실패: {}, 대상={}", e.getMessage(), batch.stream()
+                        .map(entry -> entry.getEventId() + ":" + entry.getMemberId()).toList());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<EventEntry> batch) throws InterruptedException {
+        List<EventEntry> remaining = new ArrayList<>(batch);
+        boolean oneByOne = false;
+        while (!remaining.isEmpty()) {
+            long started = System.nanoTime();
+            try {
+                if (oneByOne) {
+                    insertOneByOne(remaining);
+                } else {
+                    transactionTemplate.executeWithoutResult(status -> entryBatchRepository.insertAll(remaining));
+                    remaining.clear();
+                }
+                recordDbWrite(batch, System.nanoTime() - started);
+            } catch (DataIntegrityViolationException e) {
+                // 묶음 저장이 유니크 제약에 걸림 (묶음 전체 롤백) → 한 건씩 저장하여 중복 회원만 건너뜀
+                recordDbWrite(batch, System.nanoTime() - started);
+                oneByOne = true;
+            } catch (Exception e) {
+                recordDbWrite(batch, System.nanoTime() - started);
+                if (!running) {
+                    // 종료 중에는 재시도하지 않고 남은 응모를 로그로 남김
+                    log.error("### 종료 중 추첨 응모 저장 실패: {}, 대상={}", e.getMessage(), remaining.stream()
+                            .map(entry -> entry.getEventId() + ":" + entry.getMemberId()).toList());
+                    return;
+                }
+                log.error("### 추첨 응모 {} 저장 실패 ({}건 남음, 재시도): {}", oneByOne ? "단건" : "묶음",
+                        remaining.size(), e.getMessage());
+                Thread.sleep(RETRY_INTERVAL_MS);
+            }
+        }
+    }
+
+    private void recordDbWrite(List<EventEntry> batch, long elapsedNanos) {
+        batch.stream().map(EventEntry::getEventId).distinct()
+                .forEach(eventId -> trafficModeController.recordDbWrite(eventId, elapsedNanos));
+    }
+
+    /**
+     * 한 건씩 저장하고, 저장했거나 유니크 제약으로 건너뛴 응모는 목록에서 제거합니다.
+     * 그 밖의 오류는 그대로 던져 호출 측이 남은 응모부터 재시도합니다.
+     */
+    private void insertOneByOne(List<EventEntry> remaining) {
+        Iterator<EventEntry> iterator = remaining.iterator();
+        while (iterator.hasNext()) {
+            EventEntry entry = iterator.next();
+            try {
+                entryBatchRepository.insertAll(List.of(entry));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("중복 응모 차단(유니크 제약): 이벤트={}, 회원={}", entry.getEventId(), entry.getMemberId());
+            }
+            iterator.remove();
+        }
+    }
+}
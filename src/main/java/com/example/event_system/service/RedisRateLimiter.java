@@ -1,52 +1,253 @@
 package com.example.event_system.service;
 
+import com.example.event_system.service.cache.RedisPolicyCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * [Redis 유량 제어]
+ * 보충/차감 + 만료 설정을 Lua 스크립트 한 번(EVALSHA)으로 처리합니다.
+ * (기존: GET → INCR → EXPIRE 최대 3회 왕복, 1초 고정 윈도우라 경계에서 2배 버스트 발생)
+ * 동적 허용량 설정 키는 RedisPolicyCache가 로컬에 캐싱하고 변경 시 구독으로 즉시 무효화합니다.
+ * - sliding-window: 최근 window-ms 동안의 요청 시각을 ZSET에 기록 → 어느 구간에서도 limit을 넘지 않음 (기본값)
+ * - token-bucket: 용량 limit, 초당 limit/window 비율로 보충 → 평균 처리율을 지키면서 짧은 버스트 허용
+ * 시각은 Redis 서버의 TIME을 사용하므로 인스턴스 간 시계 차이의 영향을 받지 않습니다.
+ *
+ * [토큰 임대(Lease) 모드]
+ * lease.enabled=true이면 Redis에서 허용량의 일부(lease.fraction, 예: 5%)를 한 번에 받아와
+ * 인스턴스 메모리에서 CAS 카운터로 소진하고, 다 쓰거나 만료(lease.ttl-ms)되면 다시 받아옵니다.
+ * - 초당 1000건 이상 이벤트에서 Redis 호출이 요청 수 → 임대 횟수로 줄어듭니다.
+ * - 인스턴스마다 최대 1회분의 미사용 토큰을 들고 있으므로 전체 허용량은 근사적으로 지켜집니다.
+ *   (오차 한도 ≈ 인스턴스 수 × limit × lease.fraction)
+ * - Redis에서 더 받을 토큰이 없으면 임대 1회분을 다시 채우는 데 걸리는 시간만큼 로컬에서 바로 차단합니다.
+ */
 @Service
 public class RedisRateLimiter {
 
+    public enum Algorithm {
+        SLIDING_WINDOW, TOKEN_BUCKET;
+
+        public static Algorithm from(String value) {
+            return valueOf(value.trim().replace('-', '_').toUpperCase());
+        }
+    }
+
+    /**
+     * KEYS[1] = 요청 기록 ZSET
+     * ARGV[1] = 허용량, ARGV[2] = 윈도우(ms), ARGV[3] = 요청 식별용 난수,
+     * ARGV[4] = 요청 토큰 수 (1 이상이면 개수, 1 미만이면 허용량 대비 비율)
+     * 반환: 실제로 발급된 토큰 수 (0 = 차단)
+     */
+    public static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>(
+            "local limit = tonumber(ARGV[1]) " +
+            "local permits = tonumber(ARGV[4]) " +
+            "if permits < 1 then permits = math.max(1, math.floor(limit * permits)) end " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000000 + tonumber(time[2]) " +
+            "local window = tonumber(ARGV[2]) * 1000 " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window) " +
+            "local granted = math.min(permits, limit - redis.call('ZCARD', KEYS[1])) " +
+            "if granted <= 0 then return 0 end " +
+            "for i = 1, granted do " +
+            "  redis.call('ZADD', KEYS[1], now, now .. '-' .. ARGV[3] .. '-' .. i) " +
+            "end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "return granted",
+            Long.class);
+
+    /**
+     * KEYS[1] = 버킷 HASH(tokens, ts)
+     * ARGV[1] = 허용량(버킷 용량), ARGV[2] = 보충 주기(ms),
+     * ARGV[3] = 요청 토큰 수 (1 이상이면 개수, 1 미만이면 허용량 대비 비율)
+     * 반환: 실제로 발급된 토큰 수 (0 = 차단)
+     */
+    public static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local limit = tonumber(ARGV[1]) " +
+            "local permits = tonumber(ARGV[3]) " +
+            "if permits < 1 then permits = math.max(1, math.floor(limit * permits)) end " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000000 + tonumber(time[2]) " +
+            "local window = tonumber(ARGV[2]) * 1000 " +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(bucket[1]) " +
+            "local ts = tonumber(bucket[2]) " +
+            "if not tokens or not ts then tokens = limit; ts = now end " +
+            "tokens = math.min(limit, tokens + math.max(0, now - ts) * limit / window) " +
+            "local granted = math.max(0, math.min(permits, math.floor(tokens))) " +
+            "tokens = tokens - granted " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now)) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2] * 2) " +
+            "return granted",
+            Long.class);
+
     private final StringRedisTemplate redisTemplate;
+    private final RedisPolicyCache policyCache;
+    private final Algorithm algorithm;
+    private final long windowMillis;
+
+    private final boolean leaseEnabled;
+    private final double leaseFraction;
+    private final long leaseTtlNanos;
+    private final long exhaustedBackoffNanos;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
 
-    public RedisRateLimiter(StringRedisTemplate redisTemplate) {
+    public RedisRateLimiter(StringRedisTemplate redisTemplate,
+                            RedisPolicyCache policyCache,
+                            @Value("${event.rate-limiter.algorithm:sliding-window}") String algorithm,
+                            @Value("${event.rate-limiter.window-ms:1000}") long windowMillis,
+                            @Value("${event.rate-limiter.lease.enabled:false}") boolean leaseEnabled,
+                            @Value("${event.rate-limiter.lease.fraction:0.05}") double leaseFraction,
+                            @Value("${event.rate-limiter.lease.ttl-ms:1000}") long leaseTtlMillis) {
+        if (leaseFraction <= 0 || leaseFraction >= 1) {
+            throw new IllegalArgumentException("임대 비율은 0과 1 사이여야 합니다.");
+        }
         this.redisTemplate = redisTemplate;
+        this.policyCache = policyCache;
+        this.algorithm = Algorithm.from(algorithm);
+        this.windowMillis = windowMillis;
+        this.leaseEnabled = leaseEnabled;
+        this.leaseFraction = leaseFraction;
+        // 윈도우보다 오래 들고 있으면 이미 Redis에서 풀린 토큰을 쓰게 되므로 윈도우 이내로 제한
+        this.leaseTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(leaseTtlMillis, windowMillis));
+        this.exhaustedBackoffNanos = (long) (TimeUnit.MILLISECONDS.toNanos(windowMillis) * leaseFraction);
     }
 
     /**
      * @param key 이벤트 식별 키
-     * @param limit 1초당 허용량
+     * @param limit 윈도우(기본 1초)당 허용량
      * @return 허용 여부
      */
     public boolean isAllowed(String key, int limit) {
-        Objects.requireNonNull(key);
-        // Redis의 INCR 연산은 원자적(Atomic)으로 동작합니다.
-        Long count = redisTemplate.opsForValue().increment(key);
-        
-        if (count != null && count == 1) {
-            // 첫 번째 요청일 때 1초의 유효시간을 설정합니다.
-            redisTemplate.expire(key, 1, TimeUnit.SECONDS);
-        }
-        
-        return count != null && count <= limit;
+        return acquire(limiterKey(key), limit);
     }
 
     /**
      * 동적 설정 적용: Redis에 저장된 설정값을 조회하여 허용량을 결정합니다.
+     * 설정값은 로컬 캐시에서 읽으므로 추가 왕복이 없고, 변경 시 구독으로 즉시 반영됩니다.
      * @param key 이벤트 식별 키
      * @param limitConfigKey 허용량 설정값이 저장된 Redis 키
      * @param defaultLimit 설정값이 없을 경우 사용할 기본값
      */
     public boolean isAllowed(String key, String limitConfigKey, int defaultLimit) {
-        String limitStr = redisTemplate.opsForValue().get(Objects.requireNonNull(limitConfigKey));
-        int limit = defaultLimit;
-        if (limitStr != null) {
+        return acquire(limiterKey(key), policyCache.getInt(limitConfigKey, defaultLimit));
+    }
+
+    public Algorithm algorithm() {
+        return algorithm;
+    }
+
+    private boolean acquire(String key, int limit) {
+        if (!leaseEnabled) {
+            return requestTokens(key, limit, 1) > 0;
+        }
+
+        while (true) {
+            Lease lease = leases.computeIfAbsent(key, k -> Lease.empty());
+            if (lease.tryAcquire()) return true;
+            if (lease.isExhausted()) return false; // Redis에도 남은 토큰이 없음 → 백오프 동안 로컬 차단
+
+            // 임대 갱신은 키당 한 스레드만 수행하고, 그동안 들어온 요청은 단건으로 Redis에 직접 요청 (대기 없음)
+            if (!lease.startRefill()) {
+                return requestTokens(key, limit, 1) > 0;
+            }
             try {
-                limit = Integer.parseInt(limitStr);
-            } catch (NumberFormatException ignored) {}
+                // 이전 임대를 들고 있던 스레드가 갱신이 끝난 뒤 들어온 경우: 새 임대를 덮어쓰지 않고 새 임대로 다시 시도
+                if (leases.get(key) != lease) continue;
+
+                long granted = requestTokens(key, limit, leaseFraction);
+                long now = System.nanoTime();
+                if (granted <= 0) {
+                    leases.replace(key, lease, Lease.exhausted(now + exhaustedBackoffNanos));
+                    return false;
+                }
+                leases.replace(key, lease, new Lease((int) granted - 1, now + leaseTtlNanos));
+                return true;
+            } finally {
+                lease.endRefill();
+            }
+        }
+    }
+
+    private long requestTokens(String key, int limit, double permits) {
+        List<String> keys = List.of(key);
+        Long granted = (algorithm == Algorithm.TOKEN_BUCKET)
+                ? redisTemplate.execute(TOKEN_BUCKET_SCRIPT, keys,
+                        String.valueOf(limit), String.valueOf(windowMillis), String.valueOf(permits))
+                : redisTemplate.execute(SLIDING_WINDOW_SCRIPT, keys,
+                        String.valueOf(limit), String.valueOf(windowMillis),
+                        String.valueOf(ThreadLocalRandom.current().nextLong()), String.valueOf(permits));
+        return granted == null ? 0 : granted;
+    }
+
+    // 기존 INCR 카운터(String)와 자료형이 달라 키를 분리 (배포 중 WRONGTYPE 충돌 방지)
+    private String limiterKey(String key) {
+        String suffix = (algorithm == Algorithm.TOKEN_BUCKET) ? ":tb" : ":sw";
+        return Objects.requireNonNull(key) + suffix;
+    }
+
+    /**
+     * 인스턴스 로컬에 임대한 토큰 묶음 (Lock-Free)
+     */
+    private static final class Lease {
+        private final AtomicInteger remaining;
+        private final long expiresAtNanos;
+        private final boolean exhausted;
+        private final AtomicBoolean refilling = new AtomicBoolean(false);
+
+        private Lease(int remaining, long expiresAtNanos) {
+            this(remaining, expiresAtNanos, false);
+        }
+
+        private Lease(int remaining, long expiresAtNanos, boolean exhausted) {
+            this.remaining = new AtomicInteger(remaining);
+            this.expiresAtNanos = expiresAtNanos;
+            this.exhausted = exhausted;
+        }
+
+        static Lease empty() {
+            return new Lease(0, System.nanoTime());
+        }
+
+        static Lease exhausted(long untilNanos) {
+            return new Lease(0, untilNanos, true);
+        }
+
+        boolean tryAcquire() {
+            if (isExpired()) return false;
+            int current;
+            do {
+                current = remaining.get();
+                if (current <= 0) return false;
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        boolean isExhausted() {
+            return exhausted && !isExpired();
+        }
+
+        boolean startRefill() {
+            return refilling.compareAndSet(false, true);
+        }
+
+        void endRefill() {
+            refilling.set(false);
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
         }
-        return isAllowed(key, limit);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.example.event_system.service;
+
+import com.example.event_system.domain.EventReward;
+import com.example.event_system.domain.RewardType;
+import com.example.event_system.repository.EventRewardRepository;
+import com.example.event_system.support.RewardDeck;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * [보상 덱] AVERAGE_RANDOM 이벤트의 보상 금액을 미리 섞어 Redis에 저장해 두고 당첨자마다 하나씩 꺼냅니다.
+ * - 재고 등록이 커밋되면 자동으로 build (RewardDeckBuildListener): 재고 수만큼의 금액을 합계 = 목표 평균 × 재고로 생성 → 예산이 정확히 맞고 평균이 흔들리지 않음
+ * - 저장: BITFIELD로 금액당 bitWidth(max)비트씩 압축 (예: 최대 2,000P → 11비트, 10만 명 ≈ 134KB)
+ * - 배정: 커서 INCRBY로 자리를 확보하고 BITFIELD GET으로 읽음 → 당첨자 수와 관계없이 O(1), 배치는 K개를 한 번에
+ * - 덱이 없거나(미생성, Redis 초기화) 소진되면(재고 보충 등) 빈 배열을 돌려주고 호출 측이 피드백 루프로 계산
+ * - 트랜잭션 안에서 꺼낸 금액은 롤백되면 반환 목록에 되돌리고, 다음 배정은 반환 목록부터 꺼냄 → 롤백/재전달에도 예산 유지
+ * - 진행 중인 이벤트의 덱을 다시 만들면 이미 지급된 금액과 합쳐 예산이 맞지 않으므로 시작 전에만 생성
+ */
+@Slf4j
+@Service
+public class RewardDeckService {
+
+    private static final int WRITE_CHUNK_SIZE = 10_000;
+
+    /**
+     * KEYS[1] = 덱(BITFIELD), KEYS[2] = 메타 HASH(width, size)
+     * ARGV[1] = 금액당 비트 수, ARGV[2] = 시작 위치, ARGV[3] = 금액 목록(쉼표 구분),
+     * ARGV[4] = 덱 크기 (마지막 조각에서만 0보다 큼 → 메타를 기록해야 배정이 시작됨)
+     * 반환: 다음 조각의 시작 위치
+     */
+    public static final RedisScript<Long> DECK_WRITE_SCRIPT = new DefaultRedisScript<>(
+            "local width = 'u' .. ARGV[1] " +
+            "local index = tonumber(ARGV[2]) " +
+            "local ops = {} " +
+            "for amount in string.gmatch(ARGV[3], '%d+') do " +
+            "  ops[#ops + 1] = 'SET'; ops[#ops + 1] = width; ops[#ops + 1] = '#' .. index; ops[#ops + 1] = amount " +
+            "  index = index + 1 " +
+            "  if #ops >= 4000 then redis.call('BITFIELD', KEYS[1], unpack(ops)); ops = {} end " +
+            "end " +
+            "if #ops > 0 then redis.call('BITFIELD', KEYS[1], unpack(ops)) end " +
+            "if tonumber(ARGV[4]) > 0 then redis.call('HSET', KEYS[2], 'width', ARGV[1], 'size', ARGV[4]) end " +
+            "return index",
+            Long.class);
+
+    /**
+     * KEYS[1] = 덱(BITFIELD), KEYS[2] = 메타 HASH(width, size), KEYS[3] = 커서, KEYS[4] = 반환 목록(LIST)
+     * ARGV[1] = 꺼낼 금액 수
+     * 반환: 꺼낸 금액 목록 (반환 목록을 먼저 소진한 뒤 커서 위치부터, 덱이 없거나 남은 금액이 부족하면 요청보다 짧음)
+     * BITFIELD 인자는 unpack 한도를 넘지 않도록 1,000개(3,000인자)씩 나눠 호출
+     */
+    @SuppressWarnings("rawtypes")
+    public static final RedisScript<List> DECK_DRAW_SCRIPT = new DefaultRedisScript<>(
+            "local meta = redis.call('HMGET', KEYS[2], 'width', 'size') " +
+            "if not meta[1] or not meta[2] then return {} end " +
+            "local n = tonumber(ARGV[1]) " +
+            "local amounts = {} " +
+            "while #amounts < n do " +
+            "  local amount = redis.call('LPOP', KEYS[4]) " +
+            "  if not amount then break end " +
+            "  amounts[#amounts + 1] = tonumber(amount) " +
+            "end " +
+            "local need = n - #amounts " +
+            "if need == 0 then return amounts end " +
+            "local size = tonumber(meta[2]) " +
+            "local start = redis.call('INCRBY', KEYS[3], need) - need " +
+            "if start >= size then return amounts end " +
+            "local width = 'u' .. meta[1] " +
+            "local last = math.min(start + need, size) - 1 " +
+            "local ops = {} " +
+            "for index = start, last do " +
+            "  ops[#ops + 1] = 'GET'; ops[#ops + 1] = width; ops[#ops + 1] = '#' .. index " +
+            "  if #ops >= 3000 or index == last then " +
+            "    for _, amount in ipairs(redis.call('BITFIELD', KEYS[1], unpack(ops))) do amounts[#amounts + 1] = amount end " +
+            "    ops = {} " +
+            "  end " +
+            "end " +
+            "return amounts",
+            List.class);
+
+    /**
+     * KEYS[1] = 메타 HASH, KEYS[2] = 반환 목록(LIST)
+     * ARGV = 되돌릴 금액 목록
+     * 반환: 반환 목록 길이 (덱이 교체/삭제되어 메타가 없으면 0, 되돌리지 않음)
+     * RPUSH 인자는 unpack 한도를 넘지 않도록 1,000개씩 나눠 호출
+     */
+    public static final RedisScript<Long> DECK_RETURN_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local length = 0 " +
+            "for from = 1, #ARGV, 1000 do " +
+            "  length = redis.call('RPUSH', KEYS[2], unpack(ARGV, from, math.min(from + 999, #ARGV))) " +
+            "end " +
+            "return length",
+            Long.class);
+
+    private static final int[] EMPTY = new int[0];
+
+    private final StringRedisTemplate redisTemplate;
+    private final EventRewardRepository rewardRepository;
+    private final StockShardService stockShardService;
+    private final boolean enabled;
+
+    public RewardDeckService(StringRedisTemplate redisTemplate,
+                             EventRewardRepository rewardRepository,
+                             StockShardService stockShardService,
+                             @Value("${event.reward.deck.enabled:false}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.rewardRepository = rewardRepository;
+        this.stockShardService = stockShardService;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 재고 등록이 커밋된 뒤 호출됩니다. 덱 사용 설정이 켜진 AVERAGE_RANDOM 이벤트만 덱을 만들고,
+     * 이미 배정이 시작된 덱은 교체하지 않습니다. (실패해도 예외를 던지지 않고 피드백 루프로 계산)
+     */
+    public void buildOnStockCreated(Long eventId) {
+        if (!enabled) return;
+        try {
+            EventReward policy = rewardRepository.findByEventId(Objects.requireNonNull(eventId)).orElse(null);
+            if (policy == null || policy.getRewardType() != RewardType.AVERAGE_RANDOM) return;
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(cursorKey(eventId)))) {
+                log.warn("### 보상 덱 배정이 이미 시작되어 다시 만들지 않음: ID={}", eventId);
+                return;
+            }
+            build(eventId);
+        } catch (Exception e) {
+            log.error("### 보상 덱 생성 실패(피드백 루프로 계산): ID={}, {}", eventId, e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 재고 수만큼의 보상 덱을 만듭니다. (이벤트 시작 전, 기존 덱은 교체)
+     * @return 덱 크기
+     */
+    public int build(Long eventId) {
+        EventReward policy = rewardRepository.findByEventId(Objects.requireNonNull(eventId))
+                .orElseThrow(() -> new IllegalArgumentException("보상 정책이 없습니다. (eventId: " + eventId + ")"));
+        if (policy.getRewardType() != RewardType.AVERAGE_RANDOM) {
+            throw new IllegalStateException("AVERAGE_RANDOM 이벤트만 보상 덱을 사용할 수 있습니다.");
+        }
+        Long stock = stockShardService.remaining(eventId);
+        if (stock == null || stock < 1) {
+            throw new IllegalStateException("재고가 설정되지 않은 이벤트입니다. (eventId: " + eventId + ")");
+        }
+
+        int size = Math.toIntExact(stock);
+        int[] amounts = RewardDeck.generate(size, policy.getMinAmount(), policy.getTargetAverage(),
+                policy.getMaxAmount(), ThreadLocalRandom.current());
+        int width = RewardDeck.bitWidth(policy.getMaxAmount());
+
+        // 메타를 먼저 지워 교체 중에는 배정되지 않도록 함 (마지막 조각에서 다시 기록)
+        redisTemplate.delete(metaKey(eventId));
+        redisTemplate.delete(cursorKey(eventId));
+        redisTemplate.delete(returnedKey(eventId));
+        redisTemplate.delete(deckKey(eventId));
+        for (int from = 0; from < size; from += WRITE_CHUNK_SIZE) {
+            int to = Math.min(from + WRITE_CHUNK_SIZE, size);
+            String chunk = Arrays.stream(amounts, from, to).mapToObj(String::valueOf).collect(Collectors.joining(","));
+            redisTemplate.execute(DECK_WRITE_SCRIPT, List.of(deckKey(eventId), metaKey(eventId)),
+                    String.valueOf(width), String.valueOf(from), chunk, String.valueOf(to == size ? size : 0));
+        }
+
+        log.info("보상 덱 생성: ID={}, 크기={}, 예산={}, 금액당 {}비트", eventId, size,
+                (long) policy.getTargetAverage() * size, width);
+        return size;
+    }
+
+    /**
+     * 덱에서 count개의 금액을 꺼냅니다. (비활성화 상태이거나 Redis 오류 시 빈 배열)
+     * 트랜잭션 안에서 호출하면, 롤백될 때 꺼낸 금액을 덱에 되돌립니다.
+     * @return 꺼낸 금액 (덱이 없거나 남은 금액이 부족하면 count보다 짧음)
+     */
+    public int[] draw(Long eventId, int count) {
+        if (!enabled || count < 1) return EMPTY;
+        try {
+            List<?> result = redisTemplate.execute(DECK_DRAW_SCRIPT,
+                    List.of(deckKey(eventId), metaKey(eventId), cursorKey(eventId), returnedKey(eventId)), String.valueOf(count));
+            if (result == null || result.isEmpty()) return EMPTY;
+            int[] amounts = new int[result.size()];
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = ((Number) result.get(i)).intValue();
+            }
+            if (amounts.length < count) {
+                log.warn("### 보상 덱 소진: ID={}, 요청={}, 배정={} → 나머지는 피드백 루프로 계산", eventId, count, amounts.length);
+            }
+            restoreOnRollback(eventId, amounts);
+            return amounts;
+        } catch (Exception e) {
+            log.error("### 보상 덱 조회 실패(피드백 루프로 계산): {}", e.getMessage());
+            return EMPTY;
+        }
+    }
+
+    /**
+     * 당첨 저장이 롤백되면(중복 재전달, 재시도, 저장 실패) 꺼낸 금액이 지급되지 않으므로 반환 목록에 되돌립니다.
+     */
+    private void restoreOnRollback(Long eventId, int[] amounts) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) restore(eventId, amounts);
+            }
+        });
+    }
+
+    private void restore(Long eventId, int[] amounts) {
+        try {
+            String[] args = Arrays.stream(amounts).mapToObj(String::valueOf).toArray(String[]::new);
+            redisTemplate.execute(DECK_RETURN_SCRIPT, List.of(metaKey(eventId), returnedKey(eventId)), (Object[]) args);
+            log.info("보상 덱 반환(롤백): ID={}, 금액 수={}", eventId, amounts.length);
+        } catch (Exception e) {
+            log.error("### 보상 덱 반환 실패 (예산이 {}건만큼 어긋날 수 있음): {}", amounts.length, e.getMessage());
+        }
+    }
+
+    private static String deckKey(Long eventId) {
+        return "event:reward:deck:" + eventId;
+    }
+
+    private static String metaKey(Long eventId) {
+        return "event:reward:deck:meta:" + eventId;
+    }
+
+    private static String cursorKey(Long eventId) {
+        return "event:reward:deck:cursor:" + eventId;
+    }
+
+    private static String returnedKey(Long eventId) {
+        return "event:reward:deck:returned:" + eventId;
+    }
+}
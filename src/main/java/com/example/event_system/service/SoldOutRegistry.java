@@ -0,0 +1,169 @@
+package com.example.event_system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [매진 플래그 (인스턴스 로컬 + Redis Pub/Sub 브로드캐스트)]
+ * 재고가 소진된 선착순 이벤트는 유량 제어/재고 조회 없이 메모리 확인만으로 즉시 LOSE 처리합니다.
+ * - Consumer의 재고 차감(StockShardService.decrease)이 0을 반환하거나 Redis 재고 예약이 소진되면 매진으로 표시하고 전체 인스턴스에 전파
+ * - 재입고(EventStock.increase) 커밋 후 해제 메시지를 전파
+ * - 해제 이전 시각에 발생한 매진 메시지는 무시하므로, 전파 순서가 뒤바뀌어도 재입고가 덮어써지지 않음
+ * - 메시지를 놓친 경우에 대비해 플래그는 TTL(ttl-ms) 후 자동 해제 → 다음 요청이 실제 재고를 다시 확인
+ * - 옵션별 재고 이벤트는 옵션 단위로도 표시하여, 소진된 옵션은 예약 시도 없이 건너뜀
+ */
+@Slf4j
+@Component
+public class SoldOutRegistry implements MessageListener {
+
+    public static final String CHANNEL = "event:sold-out";
+
+    private static final String SOLD_OUT = "SOLD_OUT";
+    private static final String RESTOCK = "RESTOCK";
+
+    private final StringRedisTemplate redisTemplate;
+    private final long ttlNanos;
+    private final Counter rejectionCounter;
+
+    // (이벤트 ID, 옵션) → 플래그 만료 시각(nanoTime), 옵션이 null이면 이벤트 전체
+    private final Map<Key, Long> soldOutUntil = new ConcurrentHashMap<>();
+    // 이벤트 ID → 마지막 재입고 시각(epoch ms)
+    private final Map<Long, Long> restockedAt = new ConcurrentHashMap<>();
+
+    public SoldOutRegistry(StringRedisTemplate redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           MeterRegistry meterRegistry,
+                           @Value("${event.sold-out.ttl-ms:30000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.rejectionCounter = Counter.builder("event.sold.out.rejections")
+                .description("매진 플래그로 I/O 없이 차단한 요청 수")
+                .register(meterRegistry);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public boolean isSoldOut(Long eventId) {
+        return isSoldOut(eventId, null);
+    }
+
+    /**
+     * @param optionName 옵션 (null이면 이벤트 전체)
+     */
+    public boolean isSoldOut(Long eventId, String optionName) {
+        if (!isFlagged(new Key(Objects.requireNonNull(eventId), optionName))) return false;
+        rejectionCounter.increment();
+        return true;
+    }
+
+    /**
+     * 주어진 옵션이 모두 매진으로 표시되어 있는지 확인합니다. (차단 지표에는 집계하지 않음)
+     */
+    public boolean isAllSoldOut(Long eventId, Collection<String> optionNames) {
+        return optionNames.stream().allMatch(option -> isFlagged(new Key(eventId, option)));
+    }
+
+    public void markSoldOut(Long eventId) {
+        markSoldOut(eventId, null);
+    }
+
+    /**
+     * 매진으로 표시하고, 이 인스턴스에서 새로 표시된 경우에만 다른 인스턴스에 전파합니다.
+     */
+    public void markSoldOut(Long eventId, String optionName) {
+        long now = System.currentTimeMillis();
+        if (applySoldOut(new Key(Objects.requireNonNull(eventId), optionName), now)) {
+            log.info("매진 플래그 설정: 이벤트={}, 옵션={}", eventId, optionName == null ? "전체" : optionName);
+            publish(SOLD_OUT, eventId, now, optionName);
+        }
+    }
+
+    public void clear(Long eventId) {
+        clear(eventId, null);
+    }
+
+    /**
+     * 재입고 등으로 매진 플래그를 해제하고 다른 인스턴스에 전파합니다.
+     * 이벤트 전체 플래그는 항상 해제하고, 옵션을 지정하지 않으면 모든 옵션 플래그도 해제합니다.
+     */
+    public void clear(Long eventId, String optionName) {
+        long now = System.currentTimeMillis();
+        applyRestock(Objects.requireNonNull(eventId), optionName, now);
+        log.info("매진 플래그 해제: 이벤트={}, 옵션={}", eventId, optionName == null ? "전체" : optionName);
+        publish(RESTOCK, eventId, now, optionName);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // 형식: {SOLD_OUT|RESTOCK}:{eventId}:{epochMillis}[:{옵션}]
+        String[] data = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 4);
+        if (data.length < 3) return;
+        try {
+            Long eventId = Long.parseLong(data[1]);
+            long timestamp = Long.parseLong(data[2]);
+            String optionName = (data.length == 4) ? data[3] : null;
+            if (SOLD_OUT.equals(data[0])) {
+                applySoldOut(new Key(eventId, optionName), timestamp);
+            } else if (RESTOCK.equals(data[0])) {
+                applyRestock(eventId, optionName, timestamp);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 매진 메시지 형식: {}", e.getMessage());
+        }
+    }
+
+    private boolean isFlagged(Key key) {
+        Long until = soldOutUntil.get(key);
+        if (until == null) return false;
+        if (System.nanoTime() - until >= 0) {
+            soldOutUntil.remove(key, until);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean applySoldOut(Key key, long markedAt) {
+        if (markedAt < restockedAt.getOrDefault(key.eventId(), 0L)) {
+            return false; // 재입고 이전의 매진 정보
+        }
+        long now = System.nanoTime();
+        Long previous = soldOutUntil.put(key, now + ttlNanos);
+        return previous == null || now - previous >= 0;
+    }
+
+    private void applyRestock(Long eventId, String optionName, long clearedAt) {
+        restockedAt.merge(eventId, clearedAt, Math::max);
+        if (optionName == null) {
+            soldOutUntil.keySet().removeIf(key -> key.eventId().equals(eventId));
+        } else {
+            soldOutUntil.remove(new Key(eventId, null));
+            soldOutUntil.remove(new Key(eventId, optionName));
+        }
+    }
+
+    private void publish(String type, Long eventId, long timestamp, String optionName) {
+        try {
+            String message = type + ":" + eventId + ":" + timestamp + (optionName == null ? "" : ":" + optionName);
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            log.error("Redis 장애 - 매진 플래그 전파 실패 (다른 인스턴스는 TTL 또는 재고 확인으로 반영): {}", e.getMessage());
+        }
+    }
+
+    private record Key(Long eventId, String optionName) {
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.event_system.service;
+
+import com.example.event_system.domain.WinningStatus;
+import com.example.event_system.repository.EventEntryRepository;
+import com.example.event_system.service.cache.EventPolicy;
+import com.example.event_system.service.cache.EventPolicyCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * [선착순 재고 예약 (Redis)]
+ * event_stock 재고를 Redis 카운터로 옮겨와, 재고를 실제로 확보한 요청만 Kafka로 발행합니다.
+ * - 중복 확인 + 재고 차감 + 예약 기록을 하나의 Lua 스크립트로 처리 (원자성 보장)
+ * - 카운터가 없으면 event_stock에서 SET NX로 적재 (여러 인스턴스가 동시에 적재해도 한 번만 반영)
+ * - DB의 재고 차감(StockShardService.decrease)은 예약을 확정하는 단계로 남아 최종 재고를 책임집니다.
+ * - 이벤트 종료 후에는 Redis 카운터를 event_stock과 대사(Reconciliation)하고 정리합니다.
+ * - 경품 옵션이 여러 개인 이벤트는 옵션별 카운터(event:stock:{id}:{옵션})를 사용하고, 예약 회원 Set은 이벤트 단위로 공유합니다.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    public enum ReserveResult {
+        RESERVED,    // 재고 1개 확보
+        DUPLICATE,   // 이미 예약한 회원
+        SOLD_OUT,    // 재고 소진
+        UNAVAILABLE  // Redis 장애 또는 재고 설정 없음 → DB로 확인 필요
+    }
+
+    private static final long NOT_SEEDED = -2L;
+    private static final long ALREADY_RESERVED = -1L;
+    private static final long NO_STOCK = 0L;
+
+    // 적재된(예약이 진행 중인) 이벤트 목록 → 종료 후 대사 대상
+    private static final String ACTIVE_EVENTS_KEY = "event:stock:active";
+
+    /**
+     * KEYS[1] = 재고 카운터, KEYS[2] = 예약 회원 Set, ARGV[1] = 회원 ID
+     * 반환: 1 = 예약 성공, 0 = 재고 소진, -1 = 이미 예약, -2 = 카운터 없음(적재 필요)
+     */
+    public static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local stock = redis.call('GET', KEYS[1]) " +
+            "if not stock then return -2 end " +
+            "if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 1 then return -1 end " +
+            "if tonumber(stock) <= 0 then return 0 end " +
+            "redis.call('DECR', KEYS[1]) " +
+            "redis.call('SADD', KEYS[2], ARGV[1]) " +
+            "if redis.call('SCARD', KEYS[2]) == 1 then " +
+            "  local ttl = redis.call('TTL', KEYS[1]) " +
+            "  if ttl > 0 then redis.call('EXPIRE', KEYS[2], ttl) end " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    /**
+     * KEYS[1] = 재고 카운터, KEYS[2] = 예약 회원 Set, ARGV[1] = 회원 ID
+     * 반환: 1 = 반환 완료, 0 = 예약 내역 없음
+     */
+    public static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SREM', KEYS[2], ARGV[1]) == 0 then return 0 end " +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('INCR', KEYS[1]) end " +
+            "return 1",
+            Long.class);
+
+    /**
+     * KEYS[1] = 재고 카운터, KEYS[2] = 적재 이벤트 Set, ARGV[1] = 재고, ARGV[2] = TTL(초), ARGV[3] = 이벤트 ID
+     * 반환: 1 = 적재, 0 = 이미 적재됨
+     */
+    public static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+            "local seeded = redis.call('SET', KEYS[1], ARGV[1], 'NX', 'EX', ARGV[2]) " +
+            "redis.call('SADD', KEYS[2], ARGV[3]) " +
+            "if seeded then return 1 end " +
+            "return 0",
+            Long.class);
+
+    /**
+     * KEYS[1] = 재고 카운터, ARGV[1] = 보충 수량
+     * 반환: 보충 후 재고, -1 = 카운터 없음 (다음 예약 시 event_stock에서 적재)
+     */
+    public static final RedisScript<Long> RESTOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "return redis.call('INCRBY', KEYS[1], ARGV[1])",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final StockShardService stockShardService;
+    private final EventEntryRepository entryRepository;
+    private final EventPolicyCache eventPolicyCache;
+    private final long ttlSeconds;
+    private final long reconcileGraceMillis;
+    private final Counter unconfirmedCounter;
+
+    public StockReservationService(StringRedisTemplate redisTemplate,
+                                   StockShardService stockShardService,
+                                   EventEntryRepository entryRepository,
+                                   EventPolicyCache eventPolicyCache,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${event.stock-reservation.ttl-seconds:259200}") long ttlSeconds,
+                                   @Value("${event.stock-reservation.reconcile-grace-ms:300000}") long reconcileGraceMillis) {
+        this.redisTemplate = redisTemplate;
+        this.stockShardService = stockShardService;
+        this.entryRepository = entryRepository;
+        this.eventPolicyCache = eventPolicyCache;
+        this.ttlSeconds = ttlSeconds;
+        this.reconcileGraceMillis = reconcileGraceMillis;
+        this.unconfirmedCounter = Counter.builder("event.stock.reconcile.unconfirmed")
+                .description("Redis에서 예약됐지만 DB에서 확정되지 않은 재고 수량 (발행 실패, DLT 등)")
+                .register(meterRegistry);
+    }
+
+    public ReserveResult reserve(Long eventId, Long memberId) {
+        return reserve(eventId, memberId, null);
+    }
+
+    /**
+     * @param optionName 옵션 (null이면 이벤트 전체 재고, StockShardService.normalizeOption으로 정규화된 값)
+     */
+    public ReserveResult reserve(Long eventId, Long memberId, String optionName) {
+        try {
+            Long result = executeReserve(eventId, memberId, optionName);
+            if (result != null && result == NOT_SEEDED) {
+                if (!seed(eventId, optionName)) {
+                    return ReserveResult.UNAVAILABLE;
+                }
+                result = executeReserve(eventId, memberId, optionName);
+            }
+            if (result == null || result == NOT_SEEDED) return ReserveResult.UNAVAILABLE;
+            if (result == ALREADY_RESERVED) return ReserveResult.DUPLICATE;
+            if (result == NO_STOCK) return ReserveResult.SOLD_OUT;
+            return ReserveResult.RESERVED;
+        } catch (Exception e) {
+            log.error("Redis 장애 - 재고 예약 실패, DB로 확인: {}", e.getMessage());
+            return ReserveResult.UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Kafka 발행에 실패한 경우 확보한 재고를 되돌립니다.
+     */
+    public void release(Long eventId, Long memberId) {
+        release(eventId, memberId, null);
+    }
+
+    public void release(Long eventId, Long memberId, String optionName) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(stockKey(eventId, optionName), reservedKey(eventId)),
+                    String.valueOf(memberId));
+        } catch (Exception e) {
+            log.error("Redis 장애 - 재고 예약 반환 실패: 이벤트={}, 회원={}, {}", eventId, memberId, e.getMessage());
+        }
+    }
+
+    /**
+     * 재입고가 커밋된 뒤 Redis 카운터에도 보충 수량을 반영합니다.
+     * 카운터가 아직 없으면 다음 예약 시 보충된 event_stock으로 적재되므로 아무것도 하지 않습니다.
+     */
+    public void restock(Long eventId, String optionName, int count) {
+        try {
+            Long result = redisTemplate.execute(RESTOCK_SCRIPT, List.of(stockKey(Objects.requireNonNull(eventId), optionName)),
+                    String.valueOf(count));
+            if (result != null && result >= 0) {
+                log.info("재고 카운터 보충: 이벤트={}, 옵션={}, 보충={}, 잔여={}", eventId, optionName, count, result);
+            }
+        } catch (Exception e) {
+            // 보충되지 않은 카운터는 종료 후 재고 대사에서 event_stock 기준으로 정리
+            log.error("Redis 장애 - 재고 카운터 보충 실패: 이벤트={}, {}", eventId, e.getMessage());
+        }
+    }
+
+    /**
+     * 종료(또는 삭제)되고 유예 시간이 지난 이벤트의 Redis 재고를 event_stock과 대사합니다.
+     * 적재 목록에서 SREM에 성공한 인스턴스만 처리하므로 여러 인스턴스에서 동시에 실행되어도 한 번만 수행됩니다.
+     */
+    @Scheduled(fixedDelayString = "${event.stock-reservation.reconcile-interval-ms:60000}")
+    public void reconcileClosedEvents() {
+        try {
+            Set<String> eventIds = redisTemplate.opsForSet().members(ACTIVE_EVENTS_KEY);
+            if (eventIds == null) return;
+
+            for (String value : eventIds) {
+                Long eventId = Long.valueOf(value);
+                if (!isClosed(eventId)) continue;
+
+                Long removed = redisTemplate.opsForSet().remove(ACTIVE_EVENTS_KEY, value);
+                if (removed == null || removed == 0) continue; // 다른 인스턴스가 처리 중
+
+                try {
+                    reconcile(eventId);
+                } catch (Exception e) {
+                    redisTemplate.opsForSet().add(ACTIVE_EVENTS_KEY, value); // 다음 주기에 다시 대사
+                    throw e;
+                }
+            }
+        } catch (Exception e) {
+            log.error("재고 대사 실패 (다음 주기에 재시도): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * DB의 event_stock은 Consumer가 확정한 재고이고, Redis 카운터는 예약 기준 재고입니다.
+     * 예약됐지만 확정되지 않은 수량(발행 실패, DLT 이동 등)은 event_stock에 그대로 남아 있으므로
+     * event_stock을 기준으로 차이를 기록한 뒤 Redis 키를 정리합니다.
+     */
+    private void reconcile(Long eventId) {
+        List<String> counterKeys = counterKeys(eventId);
+        List<String> remainings = redisTemplate.opsForValue().multiGet(counterKeys);
+        Long reserved = redisTemplate.opsForSet().size(reservedKey(eventId));
+
+        Long stock = stockShardService.remaining(eventId);
+        long dbRemaining = (stock != null) ? stock : 0;
+        long redisRemaining = sumCounters(remainings, dbRemaining);
+        long confirmed = entryRepository.countByEventIdAndStatus(eventId, WinningStatus.WIN);
+        long unconfirmed = dbRemaining - redisRemaining;
+
+        if (unconfirmed != 0) {
+            log.warn("재고 대사 불일치: 이벤트={}, DB 잔여={}, Redis 잔여={}, 예약={}, 확정 당첨={} → event_stock 기준으로 정리",
+                    eventId, dbRemaining, redisRemaining, reserved, confirmed);
+            if (unconfirmed > 0) {
+                unconfirmedCounter.increment(unconfirmed);
+            }
+        } else {
+            log.info("재고 대사 완료: 이벤트={}, 잔여={}, 예약={}, 확정 당첨={}", eventId, dbRemaining, reserved, confirmed);
+        }
+
+        redisTemplate.delete(counterKeys);
+        redisTemplate.delete(reservedKey(eventId));
+    }
+
+    // 이벤트 전체 카운터 + 옵션별 카운터 (옵션이 하나뿐인 이벤트는 전체 카운터만 사용)
+    private List<String> counterKeys(Long eventId) {
+        List<String> keys = new ArrayList<>();
+        keys.add(stockKey(eventId, null));
+        List<String> options = stockShardService.options(eventId);
+        if (options.size() > 1) {
+            options.forEach(option -> keys.add(stockKey(eventId, option)));
+        }
+        return keys;
+    }
+
+    // 적재된 카운터가 하나도 없으면 예약이 없었던 것이므로 DB 잔여를 그대로 사용
+    private static long sumCounters(List<String> values, long defaultValue) {
+        if (values == null || values.stream().allMatch(Objects::isNull)) return defaultValue;
+        return values.stream().filter(Objects::nonNull).mapToLong(Long::parseLong).sum();
+    }
+
+    private boolean seed(Long eventId, String optionName) {
+        Long stock = stockShardService.remaining(eventId, optionName); // 분할 재고는 합계로 적재
+        if (stock == null) {
+            return false; // 재고 설정이 없는 이벤트는 예약 대상이 아님
+        }
+        Long seeded = redisTemplate.execute(SEED_SCRIPT, List.of(stockKey(eventId, optionName), ACTIVE_EVENTS_KEY),
+                String.valueOf(stock), String.valueOf(ttlSeconds), String.valueOf(eventId));
+        if (seeded != null && seeded == 1L) {
+            log.info("재고 카운터 적재: 이벤트={}, 옵션={}, 재고={}", eventId, optionName, stock);
+        }
+        return seeded != null;
+    }
+
+    private boolean isClosed(Long eventId) {
+        try {
+            EventPolicy policy = eventPolicyCache.get(eventId);
+            LocalDateTime closedAt = policy.period().endDateTime().plus(Duration.ofMillis(reconcileGraceMillis));
+            return policy.deleted() || LocalDateTime.now().isAfter(closedAt);
+        } catch (IllegalArgumentException e) {
+            return true; // 이벤트가 사라진 경우에도 Redis 키는 정리
+        }
+    }
+
+    private Long executeReserve(Long eventId, Long memberId, String optionName) {
+        return redisTemplate.execute(RESERVE_SCRIPT, List.of(stockKey(eventId, optionName), reservedKey(eventId)),
+                String.valueOf(Objects.requireNonNull(memberId)));
+    }
+
+    private static String stockKey(Long eventId, String optionName) {
+        return (optionName == null) ? "event:stock:" + eventId : "event:stock:" + eventId + ":" + optionName;
+    }
+
+    private static String reservedKey(Long eventId) {
+        return "event:stock:reserved:" + eventId;
+    }
+}
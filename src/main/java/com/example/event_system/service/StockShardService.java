@@ -0,0 +1,325 @@
+package com.example.event_system.service;
+
+import com.example.event_system.domain.EventStock;
+import com.example.event_system.event.EventStockCreatedEvent;
+import com.example.event_system.repository.EventStockRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * [옵션별 / 분할 재고 (Sharded Stock)]
+ * 재고가 이벤트당 한 행이면 차감 UPDATE가 모든 Consumer 스레드가 같은 행 락에서 줄을 서게 됩니다.
+ * 재고를 N개의 행(shardNo 0 ~ N-1)으로 나눠 두면 차감이 임의의 분할 행에서 시작하므로 락 경합이 1/N로 줄어듭니다.
+ * - 시작 행이 비어 있으면 나머지 행을 차례로 시도하므로, 재고가 남아 있는 한 차감은 실패하지 않음 (총량 정확)
+ * - 잔여 재고/hasStock은 분할 행의 합계로 판단
+ * - 차감은 재고 행이 1개인 이벤트(기본)도 항상 (이벤트, 옵션, 분할 번호)로 한 행만 지정하여 UPDATE
+ *   (행 구성 캐시가 오래되어 다른 인스턴스가 옵션을 추가했더라도 한 번의 당첨이 여러 행을 차감하지 않음)
+ *
+ * 경품 옵션(optionName)이 여러 개인 이벤트는 옵션별로 재고를 차감합니다. (분할은 옵션 안에서 적용)
+ * option-fall-through=true이면 선택한 옵션이 소진됐을 때 재고가 남은 다른 옵션으로 넘어갑니다.
+ */
+@Slf4j
+@Service
+public class StockShardService {
+
+    public static final String DEFAULT_OPTION = "DEFAULT";
+
+    private final EventStockRepository stockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultShardCount;
+    private final boolean optionFallThrough;
+
+    // 이벤트 ID → 옵션별 분할 행 수 (재고 설정 이후에는 거의 바뀌지 않으므로 로컬에 보관, 다른 인스턴스의 변경은 TTL로 반영)
+    private final Cache<Long, StockLayout> layouts;
+
+    public StockShardService(EventStockRepository stockRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${event.stock.shard-count:1}") int defaultShardCount,
+                             @Value("${event.stock.option-fall-through:false}") boolean optionFallThrough,
+                             @Value("${event.stock.layout-ttl-ms:60000}") long layoutTtlMillis) {
+        if (defaultShardCount < 1) {
+            throw new IllegalArgumentException("분할 수는 1 이상이어야 합니다.");
+        }
+        this.stockRepository = stockRepository;
+        this.eventPublisher = eventPublisher;
+        this.defaultShardCount = defaultShardCount;
+        this.optionFallThrough = optionFallThrough;
+        this.layouts = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(layoutTtlMillis))
+                .build();
+    }
+
+    /**
+     * 설정된 기본 분할 수(event.stock.shard-count)로 재고를 등록합니다.
+     */
+    @Transactional
+    public void createStock(Long eventId, int totalCount) {
+        createStock(eventId, DEFAULT_OPTION, totalCount, defaultShardCount);
+    }
+
+    @Transactional
+    public void createStock(Long eventId, int totalCount, int shardCount) {
+        createStock(eventId, DEFAULT_OPTION, totalCount, shardCount);
+    }
+
+    @Transactional
+    public void createStock(Long eventId, String optionName, int totalCount, int shardCount) {
+        if (stockRepository.existsByEventIdAndOptionName(Objects.requireNonNull(eventId), optionName)) {
+            throw new IllegalStateException("이미 재고가 설정된 옵션입니다. (eventId: " + eventId + ", option: " + optionName + ")");
+        }
+        stockRepository.saveAll(EventStock.split(eventId, optionName, totalCount, shardCount));
+        layouts.invalidate(eventId);
+
+        // 보상 덱 생성 (커밋 이후 실행, event.reward.deck.enabled=true인 AVERAGE_RANDOM 이벤트만)
+        eventPublisher.publishEvent(new EventStockCreatedEvent(eventId, optionName, totalCount));
+        log.info("재고 등록: 이벤트={}, 옵션={}, 재고={}, 분할={}", eventId, optionName, totalCount, shardCount);
+    }
+
+    public boolean isOptionFallThrough() {
+        return optionFallThrough;
+    }
+
+    /**
+     * 이벤트의 경품 옵션 목록 (이름순, 재고 설정이 없으면 빈 목록)
+     */
+    public List<String> options(Long eventId) {
+        return layout(eventId).options();
+    }
+
+    /**
+     * 요청한 옵션을 검증하고, 재고 키로 사용할 옵션을 반환합니다.
+     * 옵션이 하나뿐인 이벤트는 기존 단일 재고 경로를 그대로 쓰도록 null을 반환합니다.
+     * @throws IllegalArgumentException 존재하지 않는 옵션
+     */
+    public String normalizeOption(Long eventId, String optionName) {
+        StockLayout layout = layout(eventId);
+        if (optionName != null && !layout.isEmpty() && !layout.contains(optionName)) {
+            layout = reload(eventId); // 다른 인스턴스에서 추가된 옵션일 수 있으므로 한 번 다시 조회
+            if (!layout.contains(optionName)) {
+                throw new IllegalArgumentException("존재하지 않는 옵션입니다. (eventId: " + eventId + ", option: " + optionName + ")");
+            }
+        }
+        return layout.isMultiOption() ? optionName : null;
+    }
+
+    /**
+     * 재고를 1개 차감합니다. 옵션이 여러 개이면 재고가 남은 옵션에서 차감합니다. (호출하는 트랜잭션 안에서 실행)
+     * @return 차감된 행 수 (0 = 재고 소진)
+     */
+    @Transactional
+    public int decrease(Long eventId) {
+        StockLayout layout = writeLayout(eventId);
+        for (String option : layout.options()) {
+            if (decreaseOption(eventId, option, layout.shards(option)) > 0) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 지정한 옵션의 재고를 1개 차감합니다. (호출하는 트랜잭션 안에서 실행)
+     * @param optionName 옵션 (null이면 decrease(eventId)와 동일)
+     * @return 차감된 행 수 (0 = 해당 옵션 재고 소진)
+     */
+    @Transactional
+    public int decrease(Long eventId, String optionName) {
+        StockLayout layout = writeLayout(eventId);
+        if (optionName == null || !layout.isMultiOption()) {
+            return decrease(eventId);
+        }
+        return decreaseOption(eventId, optionName, layout.shards(optionName));
+    }
+
+    /**
+     * [배치 차감] 재고를 최대 count개까지 한 번에 확보합니다. (호출하는 트랜잭션 안에서 실행)
+     * 1. 분할 행 하나에 count개 이상 남아 있으면 조건부 UPDATE 한 번으로 확보 (임의의 분할 행부터 시도하여 경합 분산)
+     * 2. 어느 행에도 count개가 남아 있지 않으면 (매진 직전) 분할 행을 하나씩 잠그고 남은 만큼만 조건부 UPDATE로 차감
+     * 차감은 항상 stock_count - n 형태의 UPDATE로만 하므로, 다른 Consumer가 커밋한 차감을 덮어쓰지 않습니다.
+     * @param optionName 옵션 (null이면 옵션 구분 없이 재고가 남은 행에서 차감)
+     * @return 확보한 수량 (0 ~ count)
+     */
+    @Transactional
+    public int claim(Long eventId, String optionName, int count) {
+        if (count <= 0) return 0;
+
+        StockLayout layout = writeLayout(eventId);
+        List<String> options = (optionName != null && layout.isMultiOption()) ? List.of(optionName) : layout.options();
+
+        for (String option : options) {
+            int shards = layout.shards(option);
+            int start = ThreadLocalRandom.current().nextInt(shards);
+            for (int i = 0; i < shards; i++) {
+                if (stockRepository.decreaseOptionStockShardBy(eventId, option, (start + i) % shards, count) > 0) {
+                    return count;
+                }
+            }
+        }
+
+        // 잠금 순서를 (옵션, 분할 번호) 순으로 고정하여 Consumer 간 교착을 방지
+        int claimed = 0;
+        for (String option : options) {
+            for (int shardNo = 0; shardNo < layout.shards(option) && claimed < count; shardNo++) {
+                Integer stockCount = stockRepository.findStockCountForUpdate(eventId, option, shardNo);
+                int portion = Math.min(count - claimed, (stockCount == null) ? 0 : stockCount);
+                if (portion > 0 && stockRepository.decreaseOptionStockShardBy(eventId, option, shardNo, portion) > 0) {
+                    claimed += portion;
+                }
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * 잔여 재고 합계 (행 구성 캐시와 관계없이 이벤트의 모든 재고 행을 합산)
+     * @return 재고 설정이 없으면 null
+     */
+    @Transactional(readOnly = true)
+    public Long remaining(Long eventId) {
+        return stockRepository.sumStockCount(Objects.requireNonNull(eventId));
+    }
+
+    /**
+     * 옵션별 잔여 재고 합계
+     * @param optionName 옵션 (null이면 전체)
+     * @return 재고 설정이 없으면 null
+     */
+    @Transactional(readOnly = true)
+    public Long remaining(Long eventId, String optionName) {
+        if (optionName == null) {
+            return remaining(eventId);
+        }
+        return stockRepository.sumOptionStockCount(Objects.requireNonNull(eventId), optionName);
+    }
+
+    public boolean hasStock(Long eventId) {
+        Long remaining = remaining(eventId);
+        return remaining != null && remaining > 0;
+    }
+
+    /**
+     * 재고를 보충합니다. 분할 행에는 split과 같은 규칙으로 나눠 배정합니다.
+     * @param optionName 옵션 (옵션이 여러 개인 이벤트는 필수)
+     * @return 보충 후 해당 옵션의 잔여 재고 합계
+     */
+    @Transactional
+    public long increase(Long eventId, String optionName, int count) {
+        List<EventStock> rows = stockRepository.findAllByEventIdOrderByShardNo(Objects.requireNonNull(eventId));
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("재고 정보를 찾을 수 없습니다.");
+        }
+        if (count <= 0) {
+            throw new IllegalArgumentException("보충할 재고는 1개 이상이어야 합니다.");
+        }
+
+        List<EventStock> shards = new ArrayList<>();
+        for (EventStock row : rows) {
+            if (optionName == null || optionName.equals(row.getOptionName())) {
+                shards.add(row);
+            }
+        }
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 옵션입니다. (eventId: " + eventId + ", option: " + optionName + ")");
+        }
+        if (optionName == null && shards.stream().map(EventStock::getOptionName).distinct().count() > 1) {
+            throw new IllegalArgumentException("옵션이 여러 개인 이벤트는 보충할 옵션을 지정해야 합니다.");
+        }
+
+        long total = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            EventStock shard = shards.get(i);
+            int portion = count / shards.size() + (i < count % shards.size() ? 1 : 0);
+            if (portion > 0) {
+                shard.increase(portion);
+            }
+            total += shard.getStockCount();
+        }
+        return total;
+    }
+
+    public void evict(Long eventId) {
+        layouts.invalidate(eventId);
+    }
+
+    private int decreaseOption(Long eventId, String optionName, int shards) {
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            if (stockRepository.decreaseOptionStockShard(eventId, optionName, (start + i) % shards) > 0) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    private StockLayout layout(Long eventId) {
+        return layouts.get(Objects.requireNonNull(eventId), this::load);
+    }
+
+    /**
+     * 차감용 행 구성: 재고 설정이 없는 것으로 캐시되어 있으면 다른 인스턴스에서 방금 등록했을 수 있으므로 한 번 다시 조회
+     */
+    private StockLayout writeLayout(Long eventId) {
+        StockLayout layout = layout(eventId);
+        return layout.isEmpty() ? reload(eventId) : layout;
+    }
+
+    private StockLayout reload(Long eventId) {
+        StockLayout layout = load(eventId);
+        layouts.put(eventId, layout);
+        return layout;
+    }
+
+    private StockLayout load(Long eventId) {
+        Map<String, Integer> shardsByOption = new TreeMap<>();
+        for (EventStock row : stockRepository.findAllByEventIdOrderByShardNo(eventId)) {
+            shardsByOption.merge(row.getOptionName(), 1, Integer::sum);
+        }
+        return new StockLayout(Collections.unmodifiableMap(shardsByOption));
+    }
+
+    /**
+     * 이벤트의 재고 행 구성 (옵션 → 분할 행 수)
+     */
+    private record StockLayout(Map<String, Integer> shardsByOption) {
+
+        List<String> options() {
+            return List.copyOf(shardsByOption.keySet());
+        }
+
+        int shards(String optionName) {
+            Integer shards = shardsByOption.get(optionName);
+            if (shards == null) {
+                throw new IllegalArgumentException("존재하지 않는 옵션입니다. (option: " + optionName + ")");
+            }
+            return shards;
+        }
+
+        boolean contains(String optionName) {
+            return shardsByOption.containsKey(optionName);
+        }
+
+        boolean isMultiOption() {
+            return shardsByOption.size() > 1;
+        }
+
+        boolean isEmpty() {
+            return shardsByOption.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.event_system.service;
+
+import com.example.event_system.domain.TrafficModeAudit;
+import com.example.event_system.repository.TrafficModeAuditRepository;
+import com.example.event_system.service.cache.RedisPolicyCache;
+import com.example.event_system.support.SlidingWindowCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * [대량 트래픽 모드 자동 전환]
+ * 운영자가 미리 켜 두는 Redis 플래그(event:policy:high-traffic:{eventId}) 외에,
+ * 이벤트별 응모율과 DB 저장 지연을 슬라이딩 윈도우로 집계하여 추첨 응모를 Kafka 경유로 자동 전환합니다.
+ * - 진입: 초당 응모 수 >= enter-rate 또는 평균 DB 저장 지연 >= enter-latency-ms (표본 10건 이상)
+ * - 복귀: 초당 응모 수 <= exit-rate 이고 지연 <= exit-latency-ms 인 상태가 exit-hold회 연속 (히스테리시스)
+ *   DB 저장 지연은 일반 모드 저장뿐 아니라 Kafka Consumer의 추첨 응모 저장, 지연 저장(Write-Behind) 묶음 저장에서도 기록
+ *   지연으로 진입한 경우 윈도우 안에 새 지연 표본이 있어야 복귀 (표본이 끊겨 지연이 0으로 보이는 것을 복귀로 오인하지 않음)
+ * - 판단은 인스턴스별로 수행하며(분산 없이 로컬 집계), 전환마다 traffic_mode_audit에 기록
+ * - Redis 플래그가 켜져 있으면 자동 판단과 관계없이 대량 트래픽 모드
+ * 전환 횟수는 event.traffic-mode.transitions{mode=high|normal}로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class TrafficModeController {
+
+    private static final int WINDOW_BUCKETS = 10;
+    private static final int MIN_LATENCY_SAMPLES = 10;
+
+    private final RedisPolicyCache redisPolicyCache;
+    private final TrafficModeAuditRepository auditRepository;
+    private final Counter highCounter;
+    private final Counter normalCounter;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final double enterRate;
+    private final double exitRate;
+    private final double enterLatencyMs;
+    private final double exitLatencyMs;
+    private final int exitHold;
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+    private final Map<Long, EventTraffic> traffic = new ConcurrentHashMap<>();
+
+    private static final class EventTraffic {
+        private final SlidingWindowCounter applies;
+        private final SlidingWindowCounter dbWrites;
+        private volatile boolean highTraffic;
+        private boolean enteredOnLatency;
+        private int calmEvaluations;
+
+        private EventTraffic(long bucketMillis) {
+            this.applies = new SlidingWindowCounter(WINDOW_BUCKETS, bucketMillis);
+            this.dbWrites = new SlidingWindowCounter(WINDOW_BUCKETS, bucketMillis);
+        }
+    }
+
+    public TrafficModeController(RedisPolicyCache redisPolicyCache,
+                                 TrafficModeAuditRepository auditRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${event.traffic-mode.auto.enabled:true}") boolean enabled,
+                                 @Value("${event.traffic-mode.window-ms:10000}") long windowMillis,
+                                 @Value("${event.traffic-mode.enter-rate:500}") double enterRate,
+                                 @Value("${event.traffic-mode.exit-rate:200}") double exitRate,
+                                 @Value("${event.traffic-mode.enter-latency-ms:200}") double enterLatencyMs,
+                                 @Value("${event.traffic-mode.exit-latency-ms:50}") double exitLatencyMs,
+                                 @Value("${event.traffic-mode.exit-hold:5}") int exitHold) {
+        if (windowMillis < WINDOW_BUCKETS || exitRate > enterRate || exitLatencyMs > enterLatencyMs) {
+            throw new IllegalArgumentException("윈도우 길이 또는 임계값 설정이 올바르지 않습니다. (복귀 임계값 <= 진입 임계값)");
+        }
+        this.redisPolicyCache = redisPolicyCache;
+        this.auditRepository = auditRepository;
+        this.highCounter = Counter.builder("event.traffic-mode.transitions").tag("mode", "high").register(meterRegistry);
+        this.normalCounter = Counter.builder("event.traffic-mode.transitions").tag("mode", "normal").register(meterRegistry);
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.enterRate = enterRate;
+        this.exitRate = exitRate;
+        this.enterLatencyMs = enterLatencyMs;
+        this.exitLatencyMs = exitLatencyMs;
+        this.exitHold = exitHold;
+    }
+
+    /**
+     * 대량 트래픽 모드 여부 (운영자 Redis 플래그 또는 자동 전환)
+     */
+    public boolean isHighTraffic(Long eventId) {
+        if (redisPolicyCache.isHighTraffic(eventId)) return true;
+        EventTraffic eventTraffic = traffic.get(eventId);
+        return eventTraffic != null && eventTraffic.highTraffic;
+    }
+
+    public void recordApply(Long eventId) {
+        if (!enabled) return;
+        traffic(eventId).applies.add(1, System.nanoTime());
+    }
+
+    public void recordDbWrite(Long eventId, long elapsedNanos) {
+        if (!enabled) return;
+        traffic(eventId).dbWrites.add(elapsedNanos, System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${event.traffic-mode.evaluate-interval-ms:1000}")
+    public void evaluate() {
+        long now = System.nanoTime();
+        traffic.forEach((eventId, eventTraffic) -> evaluate(eventId, eventTraffic, now));
+    }
+
+    private void evaluate(Long eventId, EventTraffic eventTraffic, long now) {
+        double applyRate = eventTraffic.applies.count(now) * 1000.0 / windowMillis;
+        long writes = eventTraffic.dbWrites.count(now);
+        double latencyMs = (writes == 0) ? 0 : eventTraffic.dbWrites.sum(now) / (double) writes / 1_000_000;
+
+        if (!eventTraffic.highTraffic) {
+            if (applyRate >= enterRate) {
+                transition(eventId, eventTraffic, true, "응모율 " + format(applyRate) + "/s >= " + format(enterRate), applyRate, latencyMs);
+            } else if (writes >= MIN_LATENCY_SAMPLES && latencyMs >= enterLatencyMs) {
+                transition(eventId, eventTraffic, true, "DB 지연 " + format(latencyMs) + "ms >= " + format(enterLatencyMs), applyRate, latencyMs);
+                eventTraffic.enteredOnLatency = true;
+            } else if (applyRate == 0) {
+                traffic.remove(eventId, eventTraffic); // 응모가 끊긴 이벤트는 집계 대상에서 제외
+            }
+            return;
+        }
+
+        // 지연으로 진입했는데 응모는 들어오면서 지연 표본이 없으면 DB 상태를 알 수 없으므로 복귀 판단을 보류
+        boolean latencyObserved = !eventTraffic.enteredOnLatency || writes > 0 || applyRate == 0;
+        if (applyRate <= exitRate && latencyMs <= exitLatencyMs && latencyObserved) {
+            if (++eventTraffic.calmEvaluations >= exitHold) {
+                transition(eventId, eventTraffic, false, "응모율 " + format(applyRate) + "/s, DB 지연 " + format(latencyMs)
+                        + "ms가 " + exitHold + "회 연속 복귀 임계값 이하", applyRate, latencyMs);
+            }
+        } else {
+            eventTraffic.calmEvaluations = 0;
+        }
+    }
+
+    private void transition(Long eventId, EventTraffic eventTraffic, boolean highTraffic,
+                            String reason, double applyRate, double latencyMs) {
+        eventTraffic.highTraffic = highTraffic;
+        eventTraffic.enteredOnLatency = false;
+        eventTraffic.calmEvaluations = 0;
+        (highTraffic ? highCounter : normalCounter).increment();
+        log.warn("### 대량 트래픽 모드 자동 {}: 이벤트={}, 사유={}", highTraffic ? "진입" : "복귀", eventId, reason);
+        try {
+            auditRepository.save(new TrafficModeAudit(eventId, highTraffic, reason, applyRate, latencyMs, instanceId));
+        } catch (Exception e) {
+            log.error("대량 트래픽 모드 전환 이력 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private EventTraffic traffic(Long eventId) {
+        return traffic.computeIfAbsent(Objects.requireNonNull(eventId),
+                id -> new EventTraffic(windowMillis / WINDOW_BUCKETS));
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
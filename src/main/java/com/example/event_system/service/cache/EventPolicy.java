@@ -0,0 +1,29 @@
+package com.example.event_system.service.cache;
+
+import com.example.event_system.domain.Event;
+import com.example.event_system.domain.EventType;
+import com.example.event_system.domain.vo.EventPeriod;
+
+/**
+ * 응모 경로에서 필요한 이벤트 정책만 추려낸 불변 스냅샷
+ * content(TEXT) 등 무거운 컬럼은 담지 않으므로 캐시에 올려두어도 부담이 적습니다.
+ */
+public record EventPolicy(
+    Long eventId,
+    EventType type,
+    EventPeriod period,
+    int maxWinners,
+    boolean duplicateParticipationAllowed,
+    boolean deleted
+) {
+    public static EventPolicy from(Long eventId, Event event) {
+        return new EventPolicy(
+                eventId,
+                event.getType(),
+                event.getEventPeriod(),
+                event.getMaxWinners() == null ? 0 : event.getMaxWinners(),
+                event.isDuplicateParticipationAllowed(),
+                event.isDeleted()
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.event_system.service.cache;
+
+import com.example.event_system.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * [이벤트 정책 로컬 캐시]
+ * apply 호출마다 발생하던 events 테이블 PK 조회를 인스턴스 메모리에서 흡수합니다.
+ * - 최대 크기(max-size) 초과 시 오래 쓰이지 않은 항목부터 제거
+ * - TTL(ttl-ms) 경과 시 자동 만료 → 다른 인스턴스에서 변경된 정책도 TTL 안에 반영
+ * - 생성/삭제 시에는 EventPolicyChangedEvent를 통해 즉시 무효화
+ * 적중/미스 지표는 Micrometer의 cache.gets{cache=eventPolicy, result=hit|miss}로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class EventPolicyCache {
+
+    private final EventRepository eventRepository;
+    private final Cache<Long, EventPolicy> cache;
+
+    public EventPolicyCache(EventRepository eventRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${event.policy-cache.max-size:10000}") long maxSize,
+                            @Value("${event.policy-cache.ttl-ms:10000}") long ttlMillis) {
+        this.eventRepository = eventRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventPolicy");
+    }
+
+    /**
+     * 캐시에 없으면 DB에서 읽어 스냅샷을 만들어 둡니다.
+     * 존재하지 않는 이벤트는 캐시하지 않고 예외를 그대로 던집니다.
+     */
+    public EventPolicy get(Long eventId) {
+        return cache.get(Objects.requireNonNull(eventId), this::load);
+    }
+
+    public void invalidate(Long eventId) {
+        cache.invalidate(Objects.requireNonNull(eventId));
+        log.debug("이벤트 정책 캐시 무효화: ID={}", eventId);
+    }
+
+    private EventPolicy load(Long eventId) {
+        return eventRepository.findById(eventId)
+                .map(event -> EventPolicy.from(eventId, event))
+                .orElseThrow(() -> new IllegalArgumentException("이벤트를 찾을 수 없습니다."));
+    }
+}
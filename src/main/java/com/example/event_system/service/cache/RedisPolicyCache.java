@@ -0,0 +1,123 @@
+package com.example.event_system.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * [Redis 정책 키 로컬 캐시]
+ * 관리자가 Redis에 직접 설정하는 정책 키(High Traffic 플래그, 동적 허용량)는 이벤트당 거의 바뀌지 않으므로
+ * 매 요청마다 조회하지 않고 인스턴스 메모리에 캐싱합니다.
+ * - 무효화 1: Keyspace Notification (Redis에 notify-keyspace-events "Kg$" 설정 시, 키 변경 즉시 반영)
+ * - 무효화 2: event:policy:invalidate 채널로 키 이름을 PUBLISH (설정을 바꿀 수 없는 환경용, "*"는 전체 무효화)
+ * - 안전망: 구독이 끊겨도 TTL(redis-ttl-ms)이 지나면 다시 조회
+ */
+@Slf4j
+@Component
+public class RedisPolicyCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "event:policy:invalidate";
+    public static final String HIGH_TRAFFIC_PREFIX = "event:policy:high-traffic:";
+
+    private static final String KEYSPACE_PREFIX = "__keyspace@";
+    private static final String INVALIDATE_ALL = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, Boolean> flags;
+    private final Cache<String, Optional<String>> values;
+
+    public RedisPolicyCache(StringRedisTemplate redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            MeterRegistry meterRegistry,
+                            @Value("${event.policy-cache.redis-ttl-ms:5000}") long ttlMillis,
+                            @Value("${event.policy-cache.max-size:10000}") long maxSize) {
+        this.redisTemplate = redisTemplate;
+        this.flags = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        this.values = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, flags, "redisPolicyFlags");
+        CaffeineCacheMetrics.monitor(meterRegistry, values, "redisPolicyValues");
+
+        listenerContainer.addMessageListener(this, List.of(
+                new ChannelTopic(INVALIDATION_CHANNEL),
+                new PatternTopic(KEYSPACE_PREFIX + "*__:event:policy:*"),
+                new PatternTopic(KEYSPACE_PREFIX + "*__:event:limit:*")));
+    }
+
+    /**
+     * 대량 트래픽 모드 여부 ("event:policy:high-traffic:{eventId}" 키 존재 여부)
+     */
+    public boolean isHighTraffic(Long eventId) {
+        String key = HIGH_TRAFFIC_PREFIX + Objects.requireNonNull(eventId);
+        return flags.get(key, k -> Boolean.TRUE.equals(redisTemplate.hasKey(k)));
+    }
+
+    /**
+     * 정수 설정값 조회. 키가 없거나 숫자가 아니면 기본값을 사용합니다.
+     */
+    public int getInt(String key, int defaultValue) {
+        Optional<String> value = values.get(Objects.requireNonNull(key),
+                k -> Optional.ofNullable(redisTemplate.opsForValue().get(k)));
+        if (value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value.get());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 다른 인스턴스를 포함한 모든 인스턴스의 캐시를 무효화합니다.
+     * (Keyspace Notification이 꺼진 환경에서 정책 키를 변경한 뒤 호출)
+     */
+    public void publishInvalidation(String key) {
+        invalidate(key);
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, key);
+    }
+
+    public void invalidate(String key) {
+        if (INVALIDATE_ALL.equals(key)) {
+            flags.invalidateAll();
+            values.invalidateAll();
+            log.info("Redis 정책 캐시 전체 무효화");
+            return;
+        }
+        flags.invalidate(key);
+        values.invalidate(key);
+        log.debug("Redis 정책 캐시 무효화: {}", key);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        if (channel.startsWith(KEYSPACE_PREFIX)) {
+            // __keyspace@0__:event:policy:high-traffic:1 → event:policy:high-traffic:1
+            invalidate(channel.substring(channel.indexOf("__:") + 3));
+        } else {
+            invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.event_system.service.cache;
+
+import com.example.event_system.domain.EventReward;
+import com.example.event_system.repository.EventRewardRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * [보상 정책 로컬 캐시]
+ * 당첨 메시지마다 발생하던 event_reward 조회를 Consumer 인스턴스 메모리에서 흡수합니다. (단건/배치 공용)
+ * - 보상 정책은 이벤트 진행 중 바뀌지 않으므로 TTL(ttl-ms)은 다른 인스턴스의 변경을 위한 안전망 용도
+ * - 정책이 없는 이벤트도 빈 값으로 캐싱 → 기본 보상(1P) 이벤트도 매번 조회하지 않음
+ * - 생성/삭제 시에는 EventPolicyChangedEvent를 통해 즉시 무효화
+ * 캐시된 EventReward는 변경 메서드가 없는 준영속 엔티티이므로 스레드 간에 그대로 공유합니다.
+ * 적중률과 적재 시간은 cache.gets{cache=rewardPolicy, result=hit|miss}, cache.load.duration{cache=rewardPolicy}로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class RewardPolicyCache {
+
+    private final EventRewardRepository rewardRepository;
+    private final Cache<Long, Optional<EventReward>> cache;
+
+    public RewardPolicyCache(EventRewardRepository rewardRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${event.reward-policy-cache.max-size:10000}") long maxSize,
+                             @Value("${event.reward-policy-cache.ttl-ms:60000}") long ttlMillis) {
+        this.rewardRepository = rewardRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "rewardPolicy");
+    }
+
+    /**
+     * 캐시에 없으면 DB에서 읽어 둡니다.
+     * @return 보상 정책이 없으면 빈 값
+     */
+    public Optional<EventReward> get(Long eventId) {
+        return cache.get(Objects.requireNonNull(eventId), rewardRepository::findByEventId);
+    }
+
+    public void invalidate(Long eventId) {
+        cache.invalidate(Objects.requireNonNull(eventId));
+        log.debug("보상 정책 캐시 무효화: ID={}", eventId);
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.event_system.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 로컬 추가 전용(append-only) 저널 (메모리 맵 파일)
+ * Kafka 장애 중 받은 응모 메시지를 인스턴스 디스크에 순서대로 쌓아 두었다가 복구 후 다시 발행하는 용도입니다.
+ * - 레코드: [길이 int][CRC32C int][토픽 길이 short][토픽][키 길이 short(-1은 null)][키][값]
+ *   길이를 마지막에 기록하므로 길이가 0이면 아직 기록되지 않은 위치, CRC가 맞지 않으면 중간에 끊긴 레코드
+ * - 세그먼트: segmentSize 크기의 파일("{번호}.journal")을 미리 매핑하고, 가득 차면 다음 번호로 넘어감
+ * - 체크포인트: 발행이 확인된 위치("{세그먼트}:{오프셋}")를 checkpoint 파일에 기록, 이전 세그먼트는 삭제
+ * - 복구: 기동 시 체크포인트부터 레코드를 검증하며 남은 건수를 세고, 끊긴 꼬리는 0으로 지운 뒤 이어서 기록
+ * 기록은 페이지 캐시까지만 보장하며(프로세스 장애 대비), 디스크 동기화(force)는 세그먼트 전환/종료 시 수행합니다.
+ */
+public final class ApplyJournal implements AutoCloseable {
+
+    private static final int HEADER_LENGTH = 8;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CRC32C crc = new CRC32C();
+
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private long readSegment;
+    private int readOffset;
+    private long readBufferSegment = -1;
+    private ByteBuffer readBuffer;
+    private volatile long depth;
+
+    public record Entry(String topic, String key, byte[] value, long segment, int nextOffset) {
+    }
+
+    public ApplyJournal(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_LENGTH) {
+            throw new IllegalArgumentException("세그먼트 크기가 너무 작습니다: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * 레코드를 기록합니다. (세그먼트가 가득 차면 다음 세그먼트로 전환)
+     * @return 기록 후 남은(발행되지 않은) 레코드 수
+     */
+    public synchronized long append(String topic, String key, byte[] value) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = (key != null) ? key.getBytes(StandardCharsets.UTF_8) : null;
+        int length = Short.BYTES + topicBytes.length + Short.BYTES + (keyBytes != null ? keyBytes.length : 0) + value.length;
+        if (HEADER_LENGTH + length > segmentSize) {
+            throw new IllegalArgumentException("레코드가 세그먼트 크기보다 큽니다: " + length);
+        }
+        if (writeBuffer.position() + HEADER_LENGTH + length > segmentSize) {
+            roll();
+        }
+
+        int start = writeBuffer.position();
+        writeBuffer.position(start + HEADER_LENGTH);
+        writeBuffer.putShort((short) topicBytes.length).put(topicBytes);
+        writeBuffer.putShort((short) (keyBytes != null ? keyBytes.length : -1));
+        if (keyBytes != null) writeBuffer.put(keyBytes);
+        writeBuffer.put(value);
+
+        writeBuffer.putInt(start + Integer.BYTES, checksum(writeBuffer, start + HEADER_LENGTH, length));
+        writeBuffer.putInt(start, length); // 길이를 마지막에 기록 → 여기까지 기록되어야 유효한 레코드
+        return ++depth;
+    }
+
+    /**
+     * 발행되지 않은 레코드를 기록 순서대로 최대 max건 읽습니다. (읽기 위치는 acknowledge 전까지 그대로)
+     */
+    public synchronized List<Entry> peek(int max) {
+        List<Entry> entries = new ArrayList<>(Math.min(max, 1024));
+        long segment = readSegment;
+        int offset = readOffset;
+        ByteBuffer buffer = bufferFor(segment);
+        while (entries.size() < max) {
+            int length = validLength(buffer, offset);
+            if (length > 0) {
+                int next = offset + HEADER_LENGTH + length;
+                entries.add(decode(buffer, offset + HEADER_LENGTH, next, segment));
+                offset = next;
+                continue;
+            }
+            if (segment >= writeSegment) break;
+            // 이전 세그먼트의 끝(또는 손상 지점) → 다음 세그먼트
+            segment++;
+            offset = 0;
+            buffer = bufferFor(segment);
+        }
+        return entries;
+    }
+
+    /**
+     * peek으로 읽은 레코드 중 앞에서부터 발행이 확인된 레코드를 완료 처리하고 체크포인트를 기록합니다.
+     */
+    public synchronized void acknowledge(List<Entry> entries) {
+        if (entries.isEmpty()) return;
+        Entry last = entries.get(entries.size() - 1);
+        long previousSegment = readSegment;
+        readSegment = last.segment();
+        readOffset = last.nextOffset();
+        depth -= entries.size();
+        try {
+            writeCheckpoint();
+            for (long segment = previousSegment; segment < readSegment; segment++) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+            if (readBufferSegment < readSegment) {
+                readBuffer = null;
+                readBufferSegment = -1;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 체크포인트 기록 실패", e);
+        }
+    }
+
+    /**
+     * 발행되지 않은 레코드 수 (잠금 없이 조회)
+     */
+    public long depth() {
+        return depth;
+    }
+
+    @Override
+    public synchronized void close() {
+        writeBuffer.force();
+    }
+
+    private void recover() throws IOException {
+        long[] checkpoint = readCheckpoint();
+        List<Long> segments = listSegments();
+        for (Long segment : segments) {
+            if (segment < checkpoint[0]) Files.deleteIfExists(segmentPath(segment));
+        }
+        segments.removeIf(segment -> segment < checkpoint[0]);
+
+        if (segments.isEmpty()) {
+            readSegment = writeSegment = (checkpoint[1] > 0) ? checkpoint[0] + 1 : checkpoint[0];
+            readOffset = 0;
+            writeBuffer = map(writeSegment);
+            depth = 0;
+            return;
+        }
+
+        readSegment = segments.get(0);
+        readOffset = (readSegment == checkpoint[0]) ? (int) checkpoint[1] : 0;
+        writeSegment = segments.get(segments.size() - 1);
+        writeBuffer = map(writeSegment);
+
+        long count = 0;
+        for (Long segment : segments) {
+            ByteBuffer buffer = (segment == writeSegment) ? writeBuffer : map(segment);
+            int offset = (segment == readSegment) ? readOffset : 0;
+            int length;
+            while ((length = validLength(buffer, offset)) > 0) {
+                offset += HEADER_LENGTH + length;
+                count++;
+            }
+            if (segment == writeSegment) {
+                clearTail(offset); // 중간에 끊긴 레코드는 버리고 그 위치부터 이어서 기록
+                writeBuffer.position(offset);
+            }
+        }
+        depth = count;
+    }
+
+    private void roll() {
+        writeBuffer.force();
+        try {
+            writeBuffer = map(writeSegment + 1);
+            writeSegment++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트 생성 실패", e);
+        }
+    }
+
+    private ByteBuffer bufferFor(long segment) {
+        if (segment == writeSegment) return writeBuffer.duplicate();
+        if (segment != readBufferSegment) {
+            try {
+                readBuffer = map(segment);
+                readBufferSegment = segment;
+            } catch (IOException e) {
+                throw new UncheckedIOException("저널 세그먼트 읽기 실패", e);
+            }
+        }
+        return readBuffer.duplicate();
+    }
+
+    /**
+     * @return offset의 레코드가 온전하면 본문 길이, 기록되지 않았거나 손상되었으면 0
+     */
+    private int validLength(ByteBuffer buffer, int offset) {
+        if (offset + HEADER_LENGTH > buffer.capacity()) return 0;
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER_LENGTH + (long) length > buffer.capacity()) return 0;
+        return checksum(buffer, offset + HEADER_LENGTH, length) == buffer.getInt(offset + Integer.BYTES) ? length : 0;
+    }
+
+    private int checksum(ByteBuffer buffer, int offset, int length) {
+        crc.reset();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private Entry decode(ByteBuffer source, int offset, int next, long segment) {
+        ByteBuffer buffer = source.duplicate().position(offset).limit(next);
+        byte[] topic = new byte[buffer.getShort()];
+        buffer.get(topic);
+        short keyLength = buffer.getShort();
+        String key = null;
+        if (keyLength >= 0) {
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(keyBytes);
+            key = new String(keyBytes, StandardCharsets.UTF_8);
+        }
+        byte[] value = new byte[buffer.remaining()];
+        buffer.get(value);
+        return new Entry(new String(topic, StandardCharsets.UTF_8), key, value, segment, next);
+    }
+
+    /**
+     * 끊긴 레코드가 남긴 바이트를 0으로 지웁니다. (이후 새 레코드 뒤에서 옛 데이터를 레코드로 읽지 않도록)
+     */
+    private void clearTail(int offset) {
+        for (int i = offset; i < segmentSize; i++) {
+            if (writeBuffer.get(i) != 0) writeBuffer.put(i, (byte) 0);
+        }
+    }
+
+    private MappedByteBuffer map(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private long[] readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) return new long[]{0, 0};
+        String[] parts = Files.readString(path).trim().split(":");
+        return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, readSegment + ":" + readOffset);
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.event_system.support;
+
+import com.example.event_system.dto.ApplyMessage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 응모 메시지 바이너리 코덱
+ * 고정 길이 헤더 뒤에 옵션 이름만 가변 길이로 붙는 버전 형식입니다. (Big-Endian)
+ * <pre>
+ * [0]      MAGIC (0xA5)      기존 문자열 형식(숫자로 시작)과 구분
+ * [1]      VERSION (1)
+ * [2..9]   eventId
+ * [10..17] memberId
+ * [18..25] requestedAt (epoch ms)
+ * [26..41] 멱등성 ID (high, low)
+ * [42..43] 옵션 길이 (unsigned short, 0 = 옵션 없음)
+ * [44..]   옵션 (UTF-8)
+ * </pre>
+ * - 인코딩은 호출자가 준 버퍼에 직접 쓰며, 디코딩은 바이트 배열에서 바로 읽어 중간 String/배열을 만들지 않음
+ *   (옵션이 있는 경우의 옵션 문자열, 결과 레코드만 할당)
+ * - 배포 전환 기간에는 기존 문자열 형식 "{eventId}:{memberId}[:{옵션}]"도 같은 방식으로 읽음
+ */
+public final class ApplyMessageCodec {
+
+    public static final byte MAGIC = (byte) 0xA5;
+    public static final byte VERSION = 1;
+    public static final int HEADER_LENGTH = 44;
+
+    private static final int MAX_OPTION_LENGTH = 0xFFFF;
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+
+    private ApplyMessageCodec() {
+    }
+
+    public static byte[] encode(ApplyMessage message) {
+        byte[] payload = new byte[encodedLength(message)];
+        encode(message, payload, 0);
+        return payload;
+    }
+
+    /**
+     * target[offset]부터 메시지를 씁니다.
+     * @return 기록한 바이트 수
+     */
+    public static int encode(ApplyMessage message, byte[] target, int offset) {
+        String option = message.optionName();
+        int optionLength = optionLength(option);
+        if (target.length - offset < HEADER_LENGTH + optionLength) {
+            throw new IllegalArgumentException("버퍼 크기가 부족합니다. (필요: " + (HEADER_LENGTH + optionLength) + ")");
+        }
+
+        target[offset] = MAGIC;
+        target[offset + 1] = VERSION;
+        LONG.set(target, offset + 2, message.eventId());
+        LONG.set(target, offset + 10, message.memberId());
+        LONG.set(target, offset + 18, message.requestedAt());
+        LONG.set(target, offset + 26, message.idempotencyHigh());
+        LONG.set(target, offset + 34, message.idempotencyLow());
+        SHORT.set(target, offset + 42, (short) optionLength);
+
+        if (optionLength > 0) {
+            int position = offset + HEADER_LENGTH;
+            if (isAscii(option)) {
+                for (int i = 0; i < optionLength; i++) {
+                    target[position + i] = (byte) option.charAt(i);
+                }
+            } else {
+                System.arraycopy(option.getBytes(StandardCharsets.UTF_8), 0, target, position, optionLength);
+            }
+        }
+        return HEADER_LENGTH + optionLength;
+    }
+
+    public static int encodedLength(ApplyMessage message) {
+        return HEADER_LENGTH + optionLength(message.optionName());
+    }
+
+    /**
+     * 바이너리 형식과 기존 문자열 형식을 모두 읽습니다.
+     * @throws IllegalArgumentException 형식 오류 또는 지원하지 않는 버전 (재시도해도 성공할 수 없는 메시지)
+     */
+    public static ApplyMessage decode(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            throw new IllegalArgumentException("빈 메시지입니다.");
+        }
+        return isBinary(payload) ? decodeBinary(payload) : decodeLegacy(payload);
+    }
+
+    public static boolean isBinary(byte[] payload) {
+        return payload.length > 0 && payload[0] == MAGIC;
+    }
+
+    private static ApplyMessage decodeBinary(byte[] payload) {
+        if (payload.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("메시지 길이가 헤더보다 짧습니다. (length: " + payload.length + ")");
+        }
+        if (payload[1] != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 메시지 버전입니다. (version: " + payload[1] + ")");
+        }
+        int optionLength = Short.toUnsignedInt((short) SHORT.get(payload, 42));
+        if (payload.length != HEADER_LENGTH + optionLength) {
+            throw new IllegalArgumentException("옵션 길이가 메시지 길이와 맞지 않습니다. (option: " + optionLength + ")");
+        }
+        String option = (optionLength == 0) ? null
+                : new String(payload, HEADER_LENGTH, optionLength, StandardCharsets.UTF_8);
+        return new ApplyMessage(
+                (long) LONG.get(payload, 2),
+                (long) LONG.get(payload, 10),
+                option,
+                (long) LONG.get(payload, 18),
+                (long) LONG.get(payload, 26),
+                (long) LONG.get(payload, 34));
+    }
+
+    /**
+     * "{eventId}:{memberId}[:{옵션}]" 을 split/parseLong 없이 바이트 단위로 읽습니다.
+     */
+    private static ApplyMessage decodeLegacy(byte[] payload) {
+        int firstColon = indexOf(payload, 0);
+        if (firstColon < 0) {
+            throw new IllegalArgumentException("잘못된 메시지 형식입니다.");
+        }
+        int secondColon = indexOf(payload, firstColon + 1);
+        int memberEnd = (secondColon < 0) ? payload.length : secondColon;
+
+        long eventId = parseLong(payload, 0, firstColon);
+        long memberId = parseLong(payload, firstColon + 1, memberEnd);
+        String option = (secondColon < 0 || secondColon == payload.length - 1) ? null
+                : new String(payload, secondColon + 1, payload.length - secondColon - 1, StandardCharsets.UTF_8);
+        return new ApplyMessage(eventId, memberId, option, 0L, 0L, 0L);
+    }
+
+    private static int indexOf(byte[] payload, int from) {
+        for (int i = from; i < payload.length; i++) {
+            if (payload[i] == ':') return i;
+        }
+        return -1;
+    }
+
+    private static long parseLong(byte[] payload, int from, int to) {
+        if (from >= to || to - from > 19) {
+            throw new IllegalArgumentException("잘못된 숫자 형식입니다.");
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = payload[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("잘못된 숫자 형식입니다.");
+            }
+            value = value * 10 + digit;
+            if (value < 0) {
+                throw new IllegalArgumentException("숫자 범위를 벗어났습니다.");
+            }
+        }
+        return value;
+    }
+
+    private static int optionLength(String option) {
+        if (option == null) return 0;
+        int length = isAscii(option) ? option.length() : option.getBytes(StandardCharsets.UTF_8).length;
+        if (length > MAX_OPTION_LENGTH) {
+            throw new IllegalArgumentException("옵션 이름이 너무 깁니다. (length: " + length + ")");
+        }
+        return length;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Kafka 값 직렬화기 (KafkaProducerConfig에서 ApplyMessage 타입에 등록)
+     */
+    public static final class Serializer implements org.apache.kafka.common.serialization.Serializer<ApplyMessage> {
+
+        @Override
+        public byte[] serialize(String topic, ApplyMessage data) {
+            return (data == null) ? null : encode(data);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.event_system.support;
+
+import com.example.event_system.dto.ApplyMessage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 응모 메시지 발행 형식
+ * Consumer는 두 형식을 모두 읽으므로, 배포 중에는 string으로 발행하다가
+ * 모든 Consumer가 바이너리 형식을 읽을 수 있게 된 뒤 binary로 전환합니다.
+ * - binary: ApplyMessageCodec 고정 길이 바이너리
+ * - string: 기존 "{eventId}:{memberId}[:{옵션}]" 문자열 (기본값, 이전 버전 Consumer도 읽을 수 있음)
+ */
+public enum ApplyMessageFormat {
+
+    BINARY {
+        @Override
+        public Object payload(ApplyMessage message) {
+            return message;
+        }
+
+        @Override
+        public byte[] encode(ApplyMessage message) {
+            return ApplyMessageCodec.encode(message);
+        }
+    },
+    STRING {
+        @Override
+        public Object payload(ApplyMessage message) {
+            return message.toLegacyString();
+        }
+
+        @Override
+        public byte[] encode(ApplyMessage message) {
+            return message.toLegacyString().getBytes(StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * KafkaTemplate에 넘길 값 (직렬화는 값 타입에 따라 KafkaProducerConfig에서 선택)
+     */
+    public abstract Object payload(ApplyMessage message);
+
+    /**
+     * 발행될 바이트를 미리 만듭니다. (Outbox에 저장해 두었다가 byte[] 그대로 발행)
+     */
+    public abstract byte[] encode(ApplyMessage message);
+
+    public static ApplyMessageFormat from(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase());
+    }
+}
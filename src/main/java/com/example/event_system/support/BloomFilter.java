@@ -0,0 +1,138 @@
+package com.example.event_system.support;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * long 키 전용 Bloom Filter (Thread-Safe, Lock-Free)
+ * - "없다"는 답은 항상 정확하고, "있을 수도 있다"는 답만 오탐(False Positive)을 포함합니다.
+ * - 비트 배열은 힙(long[]) 또는 오프힙(Direct ByteBuffer)에 둘 수 있으며,
+ *   두 경우 모두 VarHandle의 원자적 OR 연산으로 비트를 세팅합니다.
+ */
+public final class BloomFilter {
+
+    private static final VarHandle HEAP_WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle OFF_HEAP_WORDS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    // Direct ByteBuffer는 int 인덱스를 사용하므로 최대 크기를 제한
+    private static final long MAX_OFF_HEAP_WORDS = (Integer.MAX_VALUE - Long.BYTES) / Long.BYTES;
+
+    private final long[] heapWords;
+    private final ByteBuffer offHeapWords;
+    private final long bitSize;
+    private final int hashCount;
+    private final LongAdder insertions = new LongAdder();
+
+    private BloomFilter(long wordCount, int hashCount, boolean offHeap) {
+        this.bitSize = wordCount * Long.SIZE;
+        this.hashCount = hashCount;
+        if (offHeap) {
+            // 원자적 접근을 위해 8바이트 경계에 정렬된 영역을 사용
+            this.offHeapWords = ByteBuffer.allocateDirect((int) (wordCount * Long.BYTES) + Long.BYTES)
+                    .alignedSlice(Long.BYTES);
+            this.heapWords = null;
+        } else {
+            this.heapWords = new long[(int) wordCount];
+            this.offHeapWords = null;
+        }
+    }
+
+    /**
+     * 예상 원소 수(n)와 목표 오탐률(p)로 최적의 비트 수(m)와 해시 함수 개수(k)를 계산합니다.
+     * m = -n·ln(p) / (ln2)², k = (m/n)·ln2
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate, boolean offHeap) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("예상 원소 수는 1 이상이어야 합니다.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("오탐률은 0과 1 사이여야 합니다.");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long maxWords = offHeap ? MAX_OFF_HEAP_WORDS : Integer.MAX_VALUE - 8;
+        long wordCount = Math.min(Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE), maxWords);
+        int hashCount = (int) Math.max(1, Math.round((double) wordCount * Long.SIZE / expectedInsertions * ln2));
+        return new BloomFilter(wordCount, hashCount, offHeap);
+    }
+
+    /**
+     * @return 이번 호출로 새로 세팅된 비트가 있으면 true (처음 보는 값일 가능성이 높음)
+     */
+    public boolean put(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            changed |= setBit(index(h1, h2, i));
+        }
+        if (changed) {
+            insertions.increment();
+        }
+        return changed;
+    }
+
+    public boolean mightContain(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            if (!getBit(index(h1, h2, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 현재까지 적재된 원소 수 기준 예상 오탐률: (1 - e^(-k·n/m))^k
+     */
+    public double expectedFalsePositiveRate() {
+        double fill = -(double) hashCount * insertions.sum() / bitSize;
+        return Math.pow(1 - Math.exp(fill), hashCount);
+    }
+
+    public long memoryBytes() {
+        return bitSize / Byte.SIZE;
+    }
+
+    public long approximateInsertions() {
+        return insertions.sum();
+    }
+
+    public boolean isOffHeap() {
+        return offHeapWords != null;
+    }
+
+    // Kirsch-Mitzenmacher 기법: 두 개의 해시로 k개의 해시를 만들어 냄
+    private long index(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+    }
+
+    private boolean setBit(long bitIndex) {
+        int word = (int) (bitIndex >>> 6);
+        long mask = 1L << bitIndex;
+        long previous = (offHeapWords != null)
+                ? (long) OFF_HEAP_WORDS.getAndBitwiseOr(offHeapWords, word * Long.BYTES, mask)
+                : (long) HEAP_WORDS.getAndBitwiseOr(heapWords, word, mask);
+        return (previous & mask) == 0;
+    }
+
+    private boolean getBit(long bitIndex) {
+        int word = (int) (bitIndex >>> 6);
+        long mask = 1L << bitIndex;
+        long current = (offHeapWords != null)
+                ? (long) OFF_HEAP_WORDS.getVolatile(offHeapWords, word * Long.BYTES)
+                : (long) HEAP_WORDS.getVolatile(heapWords, word);
+        return (current & mask) != 0;
+    }
+
+    // SplitMix64 finalizer: 연속된 회원 ID도 비트 전체에 고르게 흩어지도록 섞음
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.event_system.support;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키 순서 보장 병렬 실행기
+ * 작업을 키 해시로 고정된 레인(단일 스레드)에 배정합니다.
+ * - 같은 키의 작업은 항상 같은 레인에서 제출 순서대로 실행 → 키 단위 순서 보장
+ * - 다른 키의 작업은 서로 다른 레인에서 동시에 실행 (동시 실행 수 = 레인 수로 제한)
+ * - 해시가 같은 레인으로 모인 다른 키끼리는 서로를 기다리므로, 레인 수는 동시에 처리 중인 키 수보다 넉넉하게 둡니다.
+ */
+public final class KeyOrderedExecutor implements AutoCloseable {
+
+    private final ExecutorService[] lanes;
+
+    public KeyOrderedExecutor(String threadNamePrefix, int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("레인 수는 1 이상이어야 합니다: " + laneCount);
+        }
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = threadNamePrefix + "-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(task -> new Thread(task, threadName));
+        }
+    }
+
+    public void execute(Object key, Runnable task) {
+        lanes[laneOf(key)].execute(Objects.requireNonNull(task));
+    }
+
+    public int laneOf(Object key) {
+        int hash = Objects.requireNonNull(key).hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * 새 작업 접수를 멈추고 이미 받은 작업이 끝날 때까지 기다립니다.
+     */
+    @Override
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (ExecutorService lane : lanes) {
+                lane.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.event_system.support;
+
+/**
+ * Kafka 레코드 키(파티션 키) 생성 전략
+ * 같은 키의 메시지는 같은 파티션에 순서대로 쌓이고, 파티션은 한 번에 한 Consumer 스레드만 처리하므로
+ * 같은 회원의 중복 메시지가 서로 다른 스레드에서 동시에 처리되는 경합을 막을 수 있습니다.
+ * - member: 회원 단위 순서 보장 (한 회원의 모든 이벤트 응모가 한 파티션)
+ * - event: 이벤트 단위 순서 보장 (이벤트 하나는 파티션 하나로만 처리되므로 병렬성이 가장 낮음)
+ * - event-member: (이벤트, 회원) 단위 순서 보장, 키 해시로 파티션이 가장 고르게 분산 (기본값)
+ */
+public enum PartitionKeyStrategy {
+
+    MEMBER {
+        @Override
+        public String key(Long eventId, Long memberId) {
+            return String.valueOf(memberId);
+        }
+    },
+    EVENT {
+        @Override
+        public String key(Long eventId, Long memberId) {
+            return String.valueOf(eventId);
+        }
+    },
+    EVENT_MEMBER {
+        @Override
+        public String key(Long eventId, Long memberId) {
+            return eventId + ":" + memberId;
+        }
+    };
+
+    public abstract String key(Long eventId, Long memberId);
+
+    public static PartitionKeyStrategy from(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.event_system.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 처리량 제한기 (여러 스레드 공유)
+ * 요청한 수만큼 다음 처리 가능 시각을 미리 예약하고, 예약 시작 시각까지 대기합니다.
+ * 여러 작업자가 하나의 인스턴스를 공유하면 전체 처리량이 permitsPerSecond를 넘지 않습니다.
+ * (예: 초당 1,000건에서 500건 배치는 0.5초 간격으로 처리)
+ */
+public final class RatePacer {
+
+    private final double nanosPerPermit;
+    private long nextFreeNanos;
+
+    public RatePacer(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("초당 처리량은 0보다 커야 합니다: " + permitsPerSecond);
+        }
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * @return 대기한 시간(ns)
+     */
+    public long acquire(int permits) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + (long) (permits * nanosPerPermit);
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return Math.max(waitNanos, 0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.event_system.support;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 보상 덱 생성기 (AVERAGE_RANDOM 이벤트의 보상 금액을 미리 만들어 둠)
+ * size개의 금액을 [min, max] 범위에서 합계가 정확히 target × size가 되도록 만듭니다.
+ * 1. 모든 금액을 target으로 채움 (합계 = target × size)
+ * 2. 임의의 두 금액 사이에서 범위를 벗어나지 않는 만큼 주고받기를 반복 → 합계는 그대로, 분포만 넓어짐
+ * 3. Fisher-Yates 셔플
+ */
+public final class RewardDeck {
+
+    private static final int SPREAD_PASSES = 3;
+
+    private RewardDeck() {
+    }
+
+    public static int[] generate(int size, int min, int target, int max, RandomGenerator random) {
+        if (size < 1) {
+            throw new IllegalArgumentException("덱 크기는 1 이상이어야 합니다: " + size);
+        }
+        if (min < 0 || min > target || target > max) {
+            throw new IllegalArgumentException(
+                    "보상 범위가 올바르지 않습니다. (0 <= min <= target <= max): " + min + ", " + target + ", " + max);
+        }
+
+        int[] amounts = new int[size];
+        Arrays.fill(amounts, target);
+        if (size == 1 || min == max) return amounts;
+
+        for (int pass = 0; pass < SPREAD_PASSES; pass++) {
+            for (int i = 0; i < size; i++) {
+                int j = random.nextInt(size);
+                if (i == j) continue;
+                // i를 올리고 j를 내릴 수 있는 양(up)과, i를 내리고 j를 올릴 수 있는 양(down)
+                int up = Math.min(max - amounts[i], amounts[j] - min);
+                int down = Math.min(amounts[i] - min, max - amounts[j]);
+                int delta = random.nextInt(up + down + 1) - down;
+                amounts[i] += delta;
+                amounts[j] -= delta;
+            }
+        }
+
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = amounts[i];
+            amounts[i] = amounts[j];
+            amounts[j] = tmp;
+        }
+        return amounts;
+    }
+
+    /**
+     * max를 담는 데 필요한 비트 수 (Redis BITFIELD의 u{width} 타입, int 금액이므로 최대 u31)
+     */
+    public static int bitWidth(int max) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(max));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.event_system.support;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 구간(bucket) 단위 슬라이딩 윈도우 집계
+ * 최근 buckets × bucketMillis 동안 기록된 값의 건수와 합계를 구합니다.
+ * - 구간마다 시작 시각(epoch)을 기록해 두고, 지난 구간은 다시 쓰일 때 새 구간으로 교체 → 별도 정리 작업 없음
+ * - 기록은 락 없이 구간의 LongAdder에 더하므로, 인기 이벤트에 요청이 몰려도 한 모니터에서 줄을 서지 않음
+ *   (구간이 교체되는 순간 이전 구간 객체에 더해진 값은 버려질 수 있으나, 응모율/지연 추정에는 영향이 없는 수준)
+ * - 시각은 호출 측이 전달(System.nanoTime 기준)하여 테스트에서 시간을 고정할 수 있음
+ */
+public final class SlidingWindowCounter {
+
+    private final long bucketNanos;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    private static final class Bucket {
+        private final long epoch;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    public SlidingWindowCounter(int buckets, long bucketMillis) {
+        if (buckets < 1 || bucketMillis < 1) {
+            throw new IllegalArgumentException("구간 수와 구간 길이는 1 이상이어야 합니다.");
+        }
+        this.bucketNanos = bucketMillis * 1_000_000L;
+        this.buckets = new AtomicReferenceArray<>(buckets);
+    }
+
+    public void add(long value, long nowNanos) {
+        long epoch = Math.floorDiv(nowNanos, bucketNanos);
+        int index = (int) Math.floorMod(epoch, (long) buckets.length());
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.epoch != epoch) {
+            if (bucket != null && bucket.epoch > epoch) return; // 이미 다음 주기로 넘어간 구간 (늦게 도착한 기록)
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(index);
+            }
+        }
+        bucket.count.increment();
+        bucket.sum.add(value);
+    }
+
+    /**
+     * 윈도우 안에 기록된 건수
+     */
+    public long count(long nowNanos) {
+        long oldest = Math.floorDiv(nowNanos, bucketNanos) - buckets.length();
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch > oldest) total += bucket.count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 윈도우 안에 기록된 값의 합계
+     */
+    public long sum(long nowNanos) {
+        long oldest = Math.floorDiv(nowNanos, bucketNanos) - buckets.length();
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch > oldest) total += bucket.sum.sum();
+        }
+        return total;
+    }
+
+    public long windowMillis() {
+        return bucketNanos / 1_000_000L * buckets.length();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.event_system.Benchmark_Test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * [추첨 대상 ID 스캔 벤치마크]
+ * drawWinnersRandomly의 Reservoir Sampling이 PENDING 응모 ID를 읽는 방식을 비교합니다.
+ * - OFFSET 페이징 (기존 Slice/nextPageable): 뒤 페이지일수록 앞의 행을 다시 건너뜀 → 전체 O(N²)
+ * - 키셋 페이징 (id > lastId ORDER BY id LIMIT n): 인덱스를 이어서 탐색 → 전체 O(N)
+ * 응모 수별로 건당 스캔 시간을 출력하며, 키셋 방식은 응모 수가 늘어도 건당 시간이 거의 일정해야 합니다.
+ * 기본 규모는 100k, 1M이며 -Dbenchmark.draw.sizes=100000,1000000,10000000 으로 10M까지 늘릴 수 있습니다.
+ * (OFFSET 방식은 1M을 넘으면 수십 분이 걸리므로 1M까지만 측정)
+ * 일반 test 태스크에서는 제외되며 ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class RaffleDrawScanBenchmarkTest {
+
+    private static final int READ_PAGE_SIZE = 10000; // EventBatchService.READ_PAGE_SIZE
+    private static final long OFFSET_MAX_ENTRIES = 1_000_000;
+    private static final String URL = "jdbc:h2:mem:draw_scan_bench;DB_CLOSE_DELAY=-1";
+    private static final String OFFSET_SQL = "SELECT id FROM event_entry WHERE event_id = ? AND status = 'PENDING' " +
+            "LIMIT ? OFFSET ?";
+    private static final String KEYSET_SQL = "SELECT id FROM event_entry WHERE event_id = ? AND status = 'PENDING' " +
+            "AND id > ? ORDER BY id LIMIT ?";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void connect() throws SQLException {
+        connection = DriverManager.getConnection(URL);
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("OFFSET 페이징 대비 키셋 페이징의 응모 수별 스캔 시간 비교 (키셋은 선형)")
+    void compareScanScaling() throws SQLException {
+        long[] sizes = Arrays.stream(System.getProperty("benchmark.draw.sizes", "100000,1000000").split(","))
+                .map(String::trim)
+                .mapToLong(Long::parseLong)
+                .sorted()
+                .toArray();
+
+        List<Result> keysetResults = new ArrayList<>();
+        System.out.println("### [Raffle Draw Scan Benchmark] page=" + READ_PAGE_SIZE);
+        for (long size : sizes) {
+            createEntries(size);
+            scan(size, false); // 워밍업
+
+            Result keyset = scan(size, false);
+            keysetResults.add(keyset);
+            System.out.println("### " + keyset);
+            assertEquals(size, keyset.scanned());
+
+            if (size <= OFFSET_MAX_ENTRIES) {
+                Result offset = scan(size, true);
+                System.out.println("### " + offset);
+                System.out.printf("### entries=%d speed-up=%.1fx%n", size, offset.nanosPerEntry() / keyset.nanosPerEntry());
+                assertEquals(size, offset.scanned());
+                if (size == OFFSET_MAX_ENTRIES) {
+                    assertTrue(keyset.nanosPerEntry() < offset.nanosPerEntry(), "키셋 페이징이 OFFSET 페이징보다 빨라야 합니다.");
+                }
+            }
+        }
+
+        // 키셋 방식: 가장 큰 규모의 건당 스캔 시간이 가장 작은 규모의 3배 이내 (선형 증가)
+        Result smallest = keysetResults.get(0);
+        Result largest = keysetResults.get(keysetResults.size() - 1);
+        assertTrue(largest.nanosPerEntry() < smallest.nanosPerEntry() * 3,
+                "키셋 페이징의 건당 스캔 시간이 응모 수에 비례해 늘어나면 안 됩니다.");
+    }
+
+    /**
+     * 추첨 대상 이벤트(1)의 PENDING 응모 size건과, 다른 이벤트(2)의 응모를 같은 수만큼 섞어서 생성
+     */
+    private void createEntries(long size) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS event_entry");
+            statement.execute("CREATE TABLE event_entry (id BIGINT AUTO_INCREMENT PRIMARY KEY, event_id BIGINT NOT NULL, " +
+                    "member_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL)");
+            statement.execute("INSERT INTO event_entry (event_id, member_id, status) " +
+                    "SELECT MOD(X, 2) + 1, X, 'PENDING' FROM SYSTEM_RANGE(0, " + (size * 2 - 1) + ")");
+            statement.execute("CREATE INDEX idx_event_status ON event_entry (event_id, status)");
+        }
+    }
+
+    private Result scan(long size, boolean offsetPaging) throws SQLException {
+        long scanned = 0;
+        long lastId = 0;
+        long started = System.nanoTime();
+
+        try (PreparedStatement select = connection.prepareStatement(offsetPaging ? OFFSET_SQL : KEYSET_SQL)) {
+            while (true) {
+                select.setLong(1, 1L);
+                if (offsetPaging) {
+                    select.setInt(2, READ_PAGE_SIZE);
+                    select.setLong(3, scanned);
+                } else {
+                    select.setLong(2, lastId);
+                    select.setInt(3, READ_PAGE_SIZE);
+                }
+                int read = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = rs.getLong(1);
+                        read++;
+                    }
+                }
+                scanned += read;
+                if (read < READ_PAGE_SIZE) break;
+            }
+        }
+
+        long elapsed = System.nanoTime() - started;
+        return new Result(offsetPaging ? "offset paging" : "keyset paging", size, scanned, elapsed);
+    }
+
+    private record Result(String name, long entries, long scanned, long elapsedNanos) {
+        double nanosPerEntry() {
+            return (double) elapsedNanos / Math.max(1, scanned);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-14s entries=%d, elapsed=%dms, per-entry=%.0fns",
+                    name, entries, elapsedNanos / 1_000_000, nanosPerEntry());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.event_system.Benchmark_Test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * [추첨 응모 적재 벤치마크]
+ * 메시지마다 exists 조회 + 단건 INSERT를 하는 기존 processRaffleEntry 방식과,
+ * poll 단위로 배치 안 중복 제거 → IN 조회 1회 → JDBC Batch INSERT 1회를 하는 processRaffleBatch 방식의
+ * 처리량을 같은 H2 DB에서 비교합니다. (중복 메시지 10% 포함)
+ * 일반 test 태스크에서는 제외되며 ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class RaffleIngestBenchmarkTest {
+
+    private static final int MESSAGES = 20_000;
+    private static final int BATCH_SIZE = 500; // max-poll-records
+    private static final String URL = "jdbc:h2:mem:raffle_bench;DB_CLOSE_DELAY=-1";
+    private static final String INSERT_SQL = "INSERT INTO event_entry " +
+            "(event_id, member_id, option_name, reward_amount, status, created_at) VALUES (?, ?, NULL, 0, 'PENDING', CURRENT_TIMESTAMP)";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        connection = DriverManager.getConnection(URL);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE event_entry (id BIGINT AUTO_INCREMENT PRIMARY KEY, event_id BIGINT NOT NULL, " +
+                    "member_id BIGINT NOT NULL, option_name VARCHAR(255), reward_amount INT NOT NULL, " +
+                    "status VARCHAR(20) NOT NULL, created_at TIMESTAMP, " +
+                    "CONSTRAINT uk_event_entry_member UNIQUE (event_id, member_id))");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("건별 exists + INSERT 대비 배치 IN 조회 + Batch INSERT의 적재 처리량 비교")
+    void compareIngestThroughput() throws SQLException {
+        List<Long> messages = messages();
+
+        run(1L, messages, true); // 워밍업
+        run(2L, messages, false);
+        Result perMessage = run(3L, messages, true);
+        Result batched = run(4L, messages, false);
+
+        System.out.println("### [Raffle Ingest Benchmark] messages=" + MESSAGES + ", batch=" + BATCH_SIZE);
+        System.out.println("### " + perMessage);
+        System.out.println("### " + batched);
+        System.out.printf("### speed-up=%.1fx%n", batched.throughput() / perMessage.throughput());
+
+        // 두 방식 모두 중복 없이 같은 수의 응모를 저장해야 함
+        long unique = new HashSet<>(messages).size();
+        assertEquals(unique, perMessage.inserted());
+        assertEquals(unique, batched.inserted());
+        assertTrue(batched.throughput() > perMessage.throughput(), "배치 적재가 건별 적재보다 빨라야 합니다.");
+    }
+
+    /**
+     * 회원 0 ~ 17,999 + 앞 2,000명의 중복 메시지를 섞은 메시지 목록
+     */
+    private static List<Long> messages() {
+        List<Long> messages = new ArrayList<>(MESSAGES);
+        for (long memberId = 0; memberId < MESSAGES * 9L / 10; memberId++) {
+            messages.add(memberId);
+        }
+        for (long memberId = 0; messages.size() < MESSAGES; memberId++) {
+            messages.add(memberId);
+        }
+        Collections.shuffle(messages, new Random(42));
+        return messages;
+    }
+
+    private Result run(long eventId, List<Long> messages, boolean perMessage) throws SQLException {
+        long started = System.nanoTime();
+        if (perMessage) {
+            for (Long memberId : messages) {
+                ingestOne(eventId, memberId);
+            }
+        } else {
+            for (int from = 0; from < messages.size(); from += BATCH_SIZE) {
+                ingestBatch(eventId, messages.subList(from, Math.min(from + BATCH_SIZE, messages.size())));
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        return new Result(perMessage ? "exists + insert (per message)" : "IN + batch insert (per poll)",
+                count(eventId), messages.size() * 1_000_000_000.0 / elapsed);
+    }
+
+    // 기존 processRaffleEntry: 트랜잭션마다 exists 조회 + 단건 INSERT
+    private void ingestOne(long eventId, long memberId) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement exists = connection.prepareStatement(
+                "SELECT 1 FROM event_entry WHERE event_id = ? AND member_id = ? LIMIT 1")) {
+            exists.setLong(1, eventId);
+            exists.setLong(2, memberId);
+            try (ResultSet rs = exists.executeQuery()) {
+                if (!rs.next()) {
+                    try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                        bindPending(insert, eventId, memberId);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    // processRaffleBatch: 배치 안 중복 제거 → IN 조회 1회 → Batch INSERT 1회 (트랜잭션 1개)
+    private void ingestBatch(long eventId, List<Long> memberIds) throws SQLException {
+        Set<Long> newMembers = new LinkedHashSet<>(memberIds);
+        connection.setAutoCommit(false);
+        try {
+            String placeholders = String.join(",", Collections.nCopies(newMembers.size(), "?"));
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT member_id FROM event_entry WHERE event_id = ? AND member_id IN (" + placeholders + ")")) {
+                select.setLong(1, eventId);
+                int index = 2;
+                for (Long memberId : newMembers) {
+                    select.setLong(index++, memberId);
+                }
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        newMembers.remove(rs.getLong(1));
+                    }
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                for (Long memberId : newMembers) {
+                    bindPending(insert, eventId, memberId);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static void bindPending(PreparedStatement insert, long eventId, long memberId) throws SQLException {
+        insert.setLong(1, eventId);
+        insert.setLong(2, memberId);
+    }
+
+    private long count(long eventId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT COUNT(*) FROM event_entry WHERE event_id = ?")) {
+            select.setLong(1, eventId);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private record Result(String name, long inserted, double throughput) {
+        @Override
+        public String toString() {
+            return String.format("%-30s inserted=%d, throughput=%.0f msg/s", name, inserted, throughput);
+        }
+    }
+}
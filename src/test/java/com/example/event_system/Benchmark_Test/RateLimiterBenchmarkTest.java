@@ -0,0 +1,185 @@
+package com.example.event_system.Benchmark_Test;
+
+import com.example.event_system.service.RedisRateLimiter;
+import com.example.event_system.service.cache.RedisPolicyCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * [유량 제어 부하 벤치마크]
+ * 기존 GET → INCR → EXPIRE 방식, Lua 스크립트(sliding-window, token-bucket), 토큰 임대 모드의
+ * 요청당 Redis 왕복 횟수와 p50/p99 지연 시간을 비교합니다.
+ * (Lua 방식의 동적 허용량은 RedisPolicyCache에서 읽으므로 설정 조회 왕복이 없음)
+ * 일반 test 태스크에서는 제외되며 ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class RateLimiterBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 20_000;
+    private static final int WARMUP = 2_000;
+    private static final int LIMIT = 1_000;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    @DisplayName("요청당 왕복 횟수와 p99 지연 비교: 고정 윈도우(GET/INCR/EXPIRE) vs Lua vs Lua + 토큰 임대")
+    void compareRoundTripsAndLatency() throws InterruptedException {
+        AtomicLong scriptCalls = new AtomicLong();
+        StringRedisTemplate countingTemplate = countingTemplate(scriptCalls);
+        RedisPolicyCache policyCache = new RedisPolicyCache(redisTemplate,
+                new RedisMessageListenerContainer(), new SimpleMeterRegistry(), 5000, 100);
+        RedisRateLimiter slidingWindow = new RedisRateLimiter(countingTemplate, policyCache, "sliding-window", 1000, false, 0.05, 1000);
+        RedisRateLimiter tokenBucket = new RedisRateLimiter(countingTemplate, policyCache, "token-bucket", 1000, false, 0.05, 1000);
+        RedisRateLimiter leased = new RedisRateLimiter(countingTemplate, policyCache, "sliding-window", 1000, true, 0.05, 1000);
+        AtomicLong legacyRoundTrips = new AtomicLong();
+
+        Result legacy = run("fixed-window (GET/INCR/EXPIRE)", legacyRoundTrips,
+                () -> legacyIsAllowed("bench:legacy", "bench:limit", LIMIT, legacyRoundTrips));
+        Result sliding = run("lua sliding-window", scriptCalls,
+                () -> slidingWindow.isAllowed("bench:sliding", "bench:limit", LIMIT));
+        Result bucket = run("lua token-bucket", scriptCalls,
+                () -> tokenBucket.isAllowed("bench:bucket", "bench:limit", LIMIT));
+        Result lease = run("lua sliding-window + lease(5%)", scriptCalls,
+                () -> leased.isAllowed("bench:lease", "bench:limit", LIMIT));
+
+        System.out.println("### [RateLimiter Benchmark] threads=" + THREADS + ", requests=" + REQUESTS + ", limit=" + LIMIT + "/s");
+        Arrays.asList(legacy, sliding, bucket, lease).forEach(r -> System.out.println("### " + r));
+
+        assertEquals(1.0, sliding.roundTripsPerRequest(), 0.0001);
+        assertEquals(1.0, bucket.roundTripsPerRequest(), 0.0001);
+        assertTrue(legacy.roundTripsPerRequest() >= 2.0, "기존 방식은 요청당 최소 2회 왕복");
+        assertTrue(lease.roundTripsPerRequest() < 0.1, "임대 모드는 대부분의 요청을 로컬에서 처리");
+        assertTrue(lease.allowed() <= LIMIT * 2, "임대 모드에서도 허용량은 근사적으로 지켜져야 함");
+    }
+
+    // 스크립트 실행 횟수(= Redis 왕복 횟수)를 세는 템플릿
+    private static StringRedisTemplate countingTemplate(AtomicLong scriptCalls) {
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory) {
+            @Override
+            public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+                scriptCalls.incrementAndGet();
+                return super.execute(script, keys, args);
+            }
+        };
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * 변경 전 RedisRateLimiter와 동일한 고정 윈도우 구현 (비교 기준)
+     */
+    private boolean legacyIsAllowed(String key, String limitConfigKey, int defaultLimit, AtomicLong roundTrips) {
+        roundTrips.incrementAndGet();
+        String limitStr = redisTemplate.opsForValue().get(limitConfigKey);
+        int limit = (limitStr != null) ? Integer.parseInt(limitStr) : defaultLimit;
+
+        roundTrips.incrementAndGet();
+        Long count = redisTemplate.opsForValue().increment(key);
+        if (count != null && count == 1) {
+            roundTrips.incrementAndGet();
+            redisTemplate.expire(key, 1, TimeUnit.SECONDS);
+        }
+        return count != null && count <= limit;
+    }
+
+    private Result run(String name, AtomicLong roundTrips, LimiterCall call) throws InterruptedException {
+        for (int i = 0; i < WARMUP; i++) {
+            call.isAllowed();
+        }
+        redisTemplate.execute((RedisConnection connection) -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        roundTrips.set(0);
+
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger index = new AtomicInteger();
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch latch = new CountDownLatch(REQUESTS);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.submit(() -> {
+                try {
+                    long begin = System.nanoTime();
+                    if (call.isAllowed()) allowed.incrementAndGet();
+                    latencies[index.getAndIncrement()] = System.nanoTime() - begin;
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsed = System.nanoTime() - started;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        return new Result(name,
+                (double) roundTrips.get() / REQUESTS,
+                REQUESTS * 1_000_000_000.0 / elapsed,
+                latencies[(int) (REQUESTS * 0.50)] / 1000.0,
+                latencies[(int) (REQUESTS * 0.99)] / 1000.0,
+                allowed.get());
+    }
+
+    @FunctionalInterface
+    private interface LimiterCall {
+        boolean isAllowed();
+    }
+
+    private record Result(String name, double roundTripsPerRequest, double throughput,
+                          double p50Micros, double p99Micros, int allowed) {
+        @Override
+        public String toString() {
+            return String.format("%-32s round-trips/req=%.2f, throughput=%.0f req/s, p50=%.1fus, p99=%.1fus, allowed=%d",
+                    name, roundTripsPerRequest, throughput, p50Micros, p99Micros, allowed);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.event_system.Benchmark_Test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * [분할 재고 차감 벤치마크]
+ * Consumer 스레드가 재고 행을 차감한 뒤 당첨 내역 저장까지 같은 트랜잭션에서 락을 잡고 있는 상황을
+ * H2에서 재현하여, 분할 수(1/2/4/8/16)에 따른 차감 처리량을 비교합니다.
+ * SQL은 EventStockRepository의 decreaseOptionStockShard와 동일하고 (분할 1 = 단일 행),
+ * 분할 행 선택 규칙(임의의 행부터 시작, 비어 있으면 다음 행)은 StockShardService와 같습니다.
+ * 일반 test 태스크에서는 제외되며 ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class StockShardBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int TOTAL_STOCK = 4_000;
+    private static final long HOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(200); // 보상 계산 + 당첨 저장 구간
+    private static final String URL = "jdbc:h2:mem:stock_bench;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1";
+
+    private static Connection keepAlive;
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL);
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE event_stock (id BIGINT AUTO_INCREMENT PRIMARY KEY, event_id BIGINT NOT NULL, " +
+                    "option_name VARCHAR(255) NOT NULL, shard_no INT NOT NULL, stock_count INT NOT NULL, " +
+                    "CONSTRAINT uk_event_stock_option UNIQUE (event_id, option_name, shard_no))");
+            statement.execute("CREATE TABLE event_entry (id BIGINT AUTO_INCREMENT PRIMARY KEY, event_id BIGINT NOT NULL, " +
+                    "member_id BIGINT NOT NULL)");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    @DisplayName("분할 수에 따른 재고 차감 처리량 비교 및 총량 정확성 검증")
+    void compareThroughputByShardCount() throws Exception {
+        List<Result> results = new ArrayList<>();
+        long eventId = 1;
+        for (int shards : new int[]{1, 2, 4, 8, 16}) {
+            results.add(run(eventId++, shards));
+        }
+
+        System.out.println("### [Stock Shard Benchmark] threads=" + THREADS + ", stock=" + TOTAL_STOCK
+                + ", hold=" + TimeUnit.NANOSECONDS.toMicros(HOLD_NANOS) + "us");
+        results.forEach(r -> System.out.println("### " + r));
+
+        // 분할 여부와 관계없이 재고는 정확히 소진되어야 함 (초과 당첨/남는 재고 없음)
+        for (Result result : results) {
+            assertEquals(TOTAL_STOCK, result.decremented(), result.shards() + "분할: 차감 수량 불일치");
+            assertEquals(0, result.remaining(), result.shards() + "분할: 잔여 재고 불일치");
+        }
+    }
+
+    private Result run(long eventId, int shards) throws Exception {
+        insertShards(eventId, shards);
+
+        AtomicInteger decremented = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch latch = new CountDownLatch(THREADS);
+
+        long started = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                try (Connection connection = DriverManager.getConnection(URL)) {
+                    connection.setAutoCommit(false);
+                    // 재고가 소진될 때까지 차감 (Consumer가 메시지를 계속 처리하는 상황)
+                    while (decreaseInTransaction(connection, eventId, shards)) {
+                        decremented.incrementAndGet();
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsed = System.nanoTime() - started;
+        executor.shutdown();
+
+        return new Result(shards, decremented.get(), remaining(eventId),
+                decremented.get() * 1_000_000_000.0 / elapsed);
+    }
+
+    private boolean decreaseInTransaction(Connection connection, long eventId, int shards) throws SQLException {
+        try {
+            boolean decreased = decrease(connection, eventId, shards);
+            if (decreased) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO event_entry (event_id, member_id) VALUES (?, ?)")) {
+                    insert.setLong(1, eventId);
+                    insert.setLong(2, ThreadLocalRandom.current().nextLong());
+                    insert.executeUpdate();
+                }
+                LockSupport.parkNanos(HOLD_NANOS);
+            }
+            connection.commit();
+            return decreased;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private boolean decrease(Connection connection, long eventId, int shards) throws SQLException {
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE event_stock SET stock_count = stock_count - 1 " +
+                        "WHERE event_id = ? AND option_name = 'DEFAULT' AND shard_no = ? AND stock_count > 0")) {
+            for (int i = 0; i < shards; i++) {
+                update.setLong(1, eventId);
+                update.setInt(2, (start + i) % shards);
+                if (update.executeUpdate() > 0) return true;
+            }
+        }
+        return false;
+    }
+
+    private void insertShards(long eventId, int shards) throws SQLException {
+        try (PreparedStatement insert = keepAlive.prepareStatement(
+                "INSERT INTO event_stock (event_id, option_name, shard_no, stock_count) VALUES (?, 'DEFAULT', ?, ?)")) {
+            for (int shardNo = 0; shardNo < shards; shardNo++) {
+                insert.setLong(1, eventId);
+                insert.setInt(2, shardNo);
+                insert.setInt(3, TOTAL_STOCK / shards + (shardNo < TOTAL_STOCK % shards ? 1 : 0));
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private long remaining(long eventId) throws SQLException {
+        try (PreparedStatement select = keepAlive.prepareStatement(
+                "SELECT COALESCE(SUM(stock_count), 0) FROM event_stock WHERE event_id = ?")) {
+            select.setLong(1, eventId);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private record Result(int shards, int decremented, long remaining, double throughput) {
+        @Override
+        public String toString() {
+            return String.format("shards=%-3d decrements=%d, remaining=%d, throughput=%.0f decrements/s",
+                    shards, decremented, remaining, throughput);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.event_system.Integration_Test;
+
+import com.example.event_system.config.FakeRedisConfig;
+import com.example.event_system.consumer.DltReplayService;
+import com.example.event_system.domain.Event;
+import com.example.event_system.domain.EventEntry;
+import com.example.event_system.domain.EventStock;
+import com.example.event_system.domain.EventType;
+import com.example.event_system.domain.WinningStatus;
+import com.example.event_system.domain.vo.ComplianceInfo;
+import com.example.event_system.domain.vo.EventPeriod;
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.dto.DltReplayReport;
+import com.example.event_system.repository.EventEntryRepository;
+import com.example.event_system.repository.EventRepository;
+import com.example.event_system.repository.EventStockRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@SuppressWarnings("null") // 테스트를 위한 null pointer 경고삭제
+@Import(FakeRedisConfig.class)
+@EmbeddedKafka(
+    partitions = 2,
+    topics = {"event-apply-topic", "event-raffle-topic", "event-apply-topic.DLT"}
+)
+@TestPropertySource(properties = {
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "event.dlt-replay.batch-size=4",
+    "logging.level.org.apache.kafka=ERROR"
+})
+class DltReplayTest {
+
+    private static final String DLT = "event-apply-topic.DLT";
+
+    @Autowired private DltReplayService dltReplayService;
+    @Autowired private KafkaTemplate<String, Object> kafkaTemplate;
+    @Autowired private EventEntryRepository eventEntryRepository;
+    @Autowired private EventStockRepository eventStockRepository;
+    @Autowired private EventRepository eventRepository;
+
+    @Test
+    @DisplayName("DLT 재처리: dry-run은 저장 없이 예측만 하고, 실제 재처리는 중복 없이 처리한 뒤 체크포인트부터 이어간다")
+    void replayTest() throws Exception {
+        // Given: 재고 5개, 회원 9는 이미 처리됨(LOSE)
+        Long eventId = createEvent("DLT Replay Test");
+        eventStockRepository.save(new EventStock(eventId, 5));
+        eventEntryRepository.save(EventEntry.builder().eventId(eventId).memberId(9L).status(WinningStatus.LOSE).build());
+
+        // DLT: 회원 0~9 + 회원 0 중복 + 형식 오류 1건 + 존재하지 않는 이벤트 1건
+        for (long memberId = 0; memberId < 10; memberId++) {
+            kafkaTemplate.send(DLT, eventId + ":" + memberId, ApplyMessage.of(eventId, memberId, null)).get();
+        }
+        kafkaTemplate.send(DLT, eventId + ":0", ApplyMessage.of(eventId, 0L, null)).get();
+        kafkaTemplate.send(DLT, "broken", "broken".getBytes(StandardCharsets.UTF_8)).get();
+        Long unknownEventId = eventId + 1_000_000;
+        kafkaTemplate.send(DLT, unknownEventId + ":0", ApplyMessage.of(unknownEventId, 0L, null)).get();
+
+        // When 1: dry-run
+        DltReplayReport preview = dltReplayService.replay(DLT, 1000, true);
+
+        // Then 1: 13건 중 형식 오류 1건, 없는 이벤트 1건, 중복 2건(회원 0 재전송, 기존 회원 9), 처리 예정 9건 / 저장 없음
+        assertEquals(13, preview.read());
+        assertEquals(1, preview.malformed());
+        assertEquals(2, preview.duplicates());
+        assertEquals(9, preview.succeeded());
+        assertEquals(1, preview.failed());
+        assertEquals(1, eventEntryRepository.findAllByEventId(eventId).size(), "dry-run은 저장하면 안 됩니다.");
+
+        // When 2: 실제 재처리
+        DltReplayReport report = dltReplayService.replay(DLT, 1000, false);
+
+        // Then 2: 재고만큼만 당첨, 회원당 응모 내역 1건, 없는 이벤트는 dry-run과 같이 실패로 집계하고 저장하지 않음
+        assertEquals(13, report.read());
+        assertEquals(preview.failed(), report.failed());
+        assertEquals(0, eventEntryRepository.findAllByEventId(unknownEventId).size());
+        assertEquals(5, eventEntryRepository.countByEventIdAndStatus(eventId, WinningStatus.WIN));
+        assertEquals(10, eventEntryRepository.findAllByEventId(eventId).size(), "중복 메시지로 응모 내역이 늘어나면 안 됩니다.");
+        assertEquals(0, eventStockRepository.findByEventId(eventId).getStockCount());
+
+        // When 3: 다시 실행하면 체크포인트 이후 레코드만 처리
+        kafkaTemplate.send(DLT, eventId + ":10", ApplyMessage.of(eventId, 10L, null)).get();
+        DltReplayReport resumed = dltReplayService.replay(DLT, 1000, false);
+
+        // Then 3
+        assertEquals(1, resumed.read());
+        assertEquals(11, eventEntryRepository.findAllByEventId(eventId).size());
+    }
+
+    private Long createEvent(String title) {
+        LocalDateTime now = LocalDateTime.now();
+        Event event = eventRepository.save(Event.builder()
+                .title(title)
+                .type(EventType.FIRST_COME)
+                .maxWinners(5)
+                .eventPeriod(new EventPeriod(now, now.plusDays(1)))
+                .complianceInfo(new ComplianceInfo("TEST-DLT", new EventPeriod(now, now.plusDays(1))))
+                .isDuplicateParticipationAllowed(false)
+                .build());
+        return event.getId();
+    }
+}
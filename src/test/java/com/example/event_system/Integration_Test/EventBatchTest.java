@@ -56,7 +56,7 @@ class EventBatchTest {
     private EventLockRepository eventLockRepository;
 
     @MockitoBean
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, Object> kafkaTemplate;
 
     @BeforeEach
     void clear() {
@@ -38,7 +38,7 @@ class EventIntegrityTest {
         private EventEntryRepository entryRepository;
 
         @MockitoBean
-        private KafkaTemplate<String, String> kafkaTemplate;
+        private KafkaTemplate<String, Object> kafkaTemplate;
 
         private Long savedEventId;
 
@@ -0,0 +1,112 @@
+package com.example.event_system.Integration_Test;
+
+import com.example.event_system.config.FakeRedisConfig;
+import com.example.event_system.domain.Event;
+import com.example.event_system.domain.EventEntry;
+import com.example.event_system.domain.EventStock;
+import com.example.event_system.domain.EventType;
+import com.example.event_system.domain.WinningStatus;
+import com.example.event_system.domain.vo.ComplianceInfo;
+import com.example.event_system.domain.vo.EventPeriod;
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.repository.EventEntryRepository;
+import com.example.event_system.repository.EventRepository;
+import com.example.event_system.repository.EventStockRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@SuppressWarnings("null") // 테스트를 위한 null pointer 경고삭제
+@Import(FakeRedisConfig.class)
+@EmbeddedKafka(
+    partitions = 1,
+    topics = {"event-apply-topic", "event-raffle-topic", "event-apply-topic.DLT"}
+)
+@TestPropertySource(properties = {
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "event.kafka.batch.enabled=true",
+    "logging.level.org.apache.kafka=ERROR"
+})
+class KafkaBatchConsumerTest {
+
+    @Autowired private KafkaTemplate<String, Object> kafkaTemplate;
+    @Autowired private EventEntryRepository eventEntryRepository;
+    @Autowired private EventStockRepository eventStockRepository;
+    @Autowired private EventRepository eventRepository;
+
+    @Test
+    @DisplayName("배치 Consumer: 재고(10개)만큼만 당첨되고, 초과분은 미당첨, 중복 메시지는 한 번만 처리되어야 한다")
+    void batchWinningTest() {
+        // Given
+        Long eventId = createEvent("Batch Consumer Test");
+        eventStockRepository.save(new EventStock(eventId, 10));
+
+        // When: 30명 응모 + 같은 회원의 중복 메시지
+        for (long memberId = 0; memberId < 30; memberId++) {
+            kafkaTemplate.send("event-apply-topic", eventId + ":" + memberId, ApplyMessage.of(eventId, memberId, null));
+        }
+        kafkaTemplate.send("event-apply-topic", eventId + ":0", ApplyMessage.of(eventId, 0L, null));
+
+        // Then
+        await()
+            .atMost(Duration.ofSeconds(15))
+            .untilAsserted(() -> {
+                assertEquals(10, eventEntryRepository.countByEventIdAndStatus(eventId, WinningStatus.WIN));
+                assertEquals(20, eventEntryRepository.countByEventIdAndStatus(eventId, WinningStatus.LOSE));
+            });
+        assertEquals(30, eventEntryRepository.findAllByEventId(eventId).size(), "중복 메시지로 응모 내역이 늘어나면 안 됩니다.");
+        assertEquals(0, eventStockRepository.findByEventId(eventId).getStockCount());
+    }
+
+    @Test
+    @DisplayName("배치 Consumer: 추첨 응모는 배치 안 중복과 기존 참여자를 제외하고 한 번씩만 PENDING으로 저장되어야 한다")
+    void batchRaffleTest() {
+        // Given: 회원 0은 이미 응모한 상태
+        Long eventId = createEvent("Batch Raffle Test", EventType.RAFFLE);
+        eventEntryRepository.save(EventEntry.builder().eventId(eventId).memberId(0L).status(WinningStatus.PENDING).build());
+
+        // When: 회원 0~49 응모 + 회원 0~9 중복 메시지
+        for (long memberId = 0; memberId < 50; memberId++) {
+            kafkaTemplate.send("event-raffle-topic", eventId + ":" + memberId, ApplyMessage.of(eventId, memberId, null));
+        }
+        for (long memberId = 0; memberId < 10; memberId++) {
+            kafkaTemplate.send("event-raffle-topic", eventId + ":" + memberId, ApplyMessage.of(eventId, memberId, null));
+        }
+
+        // Then
+        await()
+            .atMost(Duration.ofSeconds(15))
+            .untilAsserted(() -> assertEquals(50, eventEntryRepository.countByEventIdAndStatus(eventId, WinningStatus.PENDING)));
+        assertEquals(50, eventEntryRepository.findAllByEventId(eventId).size(), "중복 메시지로 응모 내역이 늘어나면 안 됩니다.");
+    }
+
+    private Long createEvent(String title) {
+        return createEvent(title, EventType.FIRST_COME);
+    }
+
+    private Long createEvent(String title, EventType type) {
+        LocalDateTime now = LocalDateTime.now();
+        Event event = eventRepository.save(Event.builder()
+                .title(title)
+                .type(type)
+                .maxWinners(10)
+                .eventPeriod(new EventPeriod(now, now.plusDays(1)))
+                .complianceInfo(new ComplianceInfo("TEST-BATCH", new EventPeriod(now, now.plusDays(1))))
+                .isDuplicateParticipationAllowed(false)
+                .build());
+        return event.getId();
+    }
+}
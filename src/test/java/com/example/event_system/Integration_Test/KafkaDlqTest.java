@@ -2,6 +2,8 @@ package com.example.event_system.Integration_Test;
 
 import com.example.event_system.config.FakeRedisConfig;
 import com.example.event_system.service.EventResultService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -24,6 +26,7 @@ import java.util.Collections;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
@@ -33,11 +36,15 @@ import static org.mockito.Mockito.verify;
 @Import(FakeRedisConfig.class)
 @EmbeddedKafka(
     partitions = 1,
-    topics = {"event-apply-topic", "event-apply-topic.DLT"}
+    topics = {"event-apply-topic", "event-apply-topic.retry-100", "event-apply-topic.retry-200", "event-apply-topic.DLT"}
 )
 @TestPropertySource(properties = {
     "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
     "spring.kafka.consumer.auto-offset-reset=earliest",
+    // 재시도 토픽 지연을 줄여 테스트 시간 단축 (.retry-100 → .retry-200 → .DLT)
+    "event.kafka.retry.initial-delay-ms=100",
+    "event.kafka.retry.multiplier=2",
+    "event.kafka.retry.max-delay-ms=200",
     "logging.level.org.apache.kafka=ERROR"
 })
 class KafkaDlqTest {
@@ -48,11 +55,14 @@ class KafkaDlqTest {
     @Autowired
     private EmbeddedKafkaBroker embeddedKafkaBroker;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private EventResultService eventResultService;
 
     @Test
-    @DisplayName("DLQ 테스트: 3회 재시도 실패 후 DLQ 토픽으로 메시지가 이동해야 한다")
+    @DisplayName("DLQ 테스트: 재시도 토픽 2단계를 거쳐 3회 실패 후 DLQ 토픽으로 메시지가 이동해야 한다")
     void testDlqRouting() {
         // Given
         String topic = "event-apply-topic";
@@ -82,7 +92,18 @@ class KafkaDlqTest {
 
         // 3. 재시도 횟수 검증 (최초 1회 + 재시도 2회 = 총 3회 호출)
         verify(eventResultService, times(3)).processWinning(anyLong(), anyLong());
-        
+
+        // 4. 재시도 단계별 유입량 집계 (retry-100 → retry-200 → dlt 각 1건)
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(retryCount(topic, "dlt")).isEqualTo(1.0));
+        assertThat(retryCount(topic, "retry-100")).isEqualTo(1.0);
+        assertThat(retryCount(topic, "retry-200")).isEqualTo(1.0);
+
         consumer.close();
     }
-}
\ No newline at end of file
+
+    private double retryCount(String topic, String tier) {
+        Counter counter = meterRegistry.find("event.kafka.retry.messages").tags("topic", topic, "tier", tier).counter();
+        return (counter == null) ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.event_system.Integration_Test;
+
+import com.example.event_system.config.FakeRedisConfig;
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.service.EventResultService;
+import com.example.event_system.support.ApplyMessageCodec;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@Import(FakeRedisConfig.class)
+@EmbeddedKafka(
+    partitions = 1,
+    topics = {"event-apply-topic", "event-raffle-topic", "event-apply-topic.DLT"}
+)
+@TestPropertySource(properties = {
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "event.kafka.parallel.enabled=true",
+    "event.kafka.parallel.lanes=8",
+    "logging.level.org.apache.kafka=ERROR"
+})
+class KafkaParallelConsumerTest {
+
+    @Autowired private KafkaTemplate<String, Object> kafkaTemplate;
+    @Autowired private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @MockitoBean
+    private EventResultService eventResultService;
+
+    @Test
+    @DisplayName("병렬 Consumer: 한 파티션 안에서 키가 다른 메시지는 동시에, 같은 키의 메시지는 순서대로 처리되어야 한다")
+    void keyOrderedParallelTest() {
+        // Given: 처리마다 100ms가 걸리는 느린 DB 호출
+        List<String> sameKeyOrder = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            if (invocation.getArgument(1, Long.class) == 100L) {
+                sameKeyOrder.add(invocation.getArgument(2, String.class));
+            }
+            inFlight.decrementAndGet();
+            processed.incrementAndGet();
+            return null;
+        }).when(eventResultService).processWinning(anyLong(), anyLong(), anyString());
+
+        // When: 같은 키(회원 100) 5건과 서로 다른 키 8건을 한 파티션에 발행
+        for (int sequence = 1; sequence <= 5; sequence++) {
+            kafkaTemplate.send("event-apply-topic", "1:100", ApplyMessage.of(1L, 100L, String.valueOf(sequence)));
+            kafkaTemplate.send("event-apply-topic", "1:" + sequence, ApplyMessage.of(1L, (long) sequence, "A"));
+        }
+        for (long memberId = 6; memberId <= 8; memberId++) {
+            kafkaTemplate.send("event-apply-topic", "1:" + memberId, ApplyMessage.of(1L, memberId, "A"));
+        }
+
+        // Then
+        await()
+            .atMost(Duration.ofSeconds(15))
+            .untilAsserted(() -> assertThat(processed.get()).isEqualTo(13));
+        assertThat(sameKeyOrder).containsExactly("1", "2", "3", "4", "5");
+        assertThat(maxInFlight.get()).as("키가 다른 메시지는 동시에 처리되어야 합니다.").isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("병렬 Consumer: 3회 재시도 실패한 메시지는 DLQ 토픽으로 이동해야 한다")
+    void parallelDlqTest() {
+        // Given
+        doThrow(new RuntimeException("System Error"))
+                .when(eventResultService).processWinning(eq(2L), anyLong());
+
+        // When
+        kafkaTemplate.send("event-apply-topic", "2:100", ApplyMessage.of(2L, 100L, null));
+
+        // Then
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("test-parallel-dlq-group", "false", embeddedKafkaBroker);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        consumer.subscribe(Collections.singleton("event-apply-topic.DLT"));
+
+        ConsumerRecord<String, byte[]> record = KafkaTestUtils.getSingleRecord(consumer, "event-apply-topic.DLT", Duration.ofMillis(10000));
+        ApplyMessage message = ApplyMessageCodec.decode(record.value());
+        assertThat(message.eventId()).isEqualTo(2L);
+        assertThat(message.memberId()).isEqualTo(100L);
+
+        // 최초 1회 + 재시도 2회 = 총 3회 호출
+        verify(eventResultService, times(3)).processWinning(eq(2L), anyLong());
+
+        consumer.close();
+    }
+
+    @Test
+    @DisplayName("병렬 Consumer: 재시도해도 결과가 같은 오류(존재하지 않는 이벤트)는 재시도 없이 바로 DLQ 토픽으로 이동해야 한다")
+    void parallelNotRetryableTest() {
+        // Given
+        doThrow(new IllegalArgumentException("존재하지 않는 이벤트"))
+                .when(eventResultService).processWinning(eq(3L), anyLong());
+
+        // When
+        kafkaTemplate.send("event-apply-topic", "3:100", ApplyMessage.of(3L, 100L, null));
+
+        // Then: 다른 테스트의 DLQ 메시지와 섞일 수 있으므로 이벤트 ID로 찾음
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("test-parallel-not-retryable-group", "false", embeddedKafkaBroker);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        consumer.subscribe(Collections.singleton("event-apply-topic.DLT"));
+
+        List<ApplyMessage> deadLetters = new ArrayList<>();
+        await()
+            .atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> {
+                KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500))
+                        .forEach(record -> deadLetters.add(ApplyMessageCodec.decode(record.value())));
+                assertThat(deadLetters).anyMatch(message -> message.eventId() == 3L);
+            });
+
+        // 최초 1회만 호출되고 재시도하지 않음
+        verify(eventResultService, times(1)).processWinning(eq(3L), anyLong());
+
+        consumer.close();
+    }
+}
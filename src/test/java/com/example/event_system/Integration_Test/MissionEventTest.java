@@ -3,6 +3,7 @@ package com.example.event_system.Integration_Test;
 import com.example.event_system.domain.*;
 import com.example.event_system.domain.vo.ComplianceInfo;
 import com.example.event_system.domain.vo.EventPeriod;
+import com.example.event_system.dto.ApplyMessage;
 import com.example.event_system.repository.*;
 import com.example.event_system.service.EventApplyService;
 import com.example.event_system.service.MissionService;
@@ -20,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
@@ -27,7 +29,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("null")
-@SpringBootTest
+@SpringBootTest(properties = "event.kafka.message-format=binary") // 발행 메시지를 ApplyMessage로 검증
 @Transactional
 class MissionEventTest {
 
@@ -53,7 +55,7 @@ class MissionEventTest {
     private EventRepository eventRepository;
 
     @MockitoBean
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, Object> kafkaTemplate;
 
     @MockitoBean
     private RedisRateLimiter redisRateLimiter;
@@ -117,6 +119,6 @@ class MissionEventTest {
 
         // 6. [Then] 응모 결과 및 비동기 메시지 발행 검증
         assertEquals("APPLIED", result);
-        verify(kafkaTemplate, times(1)).send(anyString(), anyString());
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(ApplyMessage.class));
     }
 }
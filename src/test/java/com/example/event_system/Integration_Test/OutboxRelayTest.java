@@ -0,0 +1,89 @@
+package com.example.event_system.Integration_Test;
+
+import com.example.event_system.config.FakeRedisConfig;
+import com.example.event_system.domain.Event;
+import com.example.event_system.domain.EventStock;
+import com.example.event_system.domain.EventType;
+import com.example.event_system.domain.WinningStatus;
+import com.example.event_system.domain.vo.ComplianceInfo;
+import com.example.event_system.domain.vo.EventPeriod;
+import com.example.event_system.repository.EventEntryRepository;
+import com.example.event_system.repository.EventOutboxRepository;
+import com.example.event_system.repository.EventRepository;
+import com.example.event_system.repository.EventStockRepository;
+import com.example.event_system.service.EventApplyService;
+import com.example.event_system.service.OutboxRelay;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@SuppressWarnings("null") // 테스트를 위한 null pointer 경고삭제
+@Import(FakeRedisConfig.class)
+@EmbeddedKafka(
+    partitions = 1,
+    topics = {"event-apply-topic"}
+)
+@TestPropertySource(properties = {
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "event.outbox.enabled=true",
+    "event.outbox.relay-interval-ms=3600000", // 테스트에서 직접 drain 호출
+    "event.outbox.batch-size=2",
+    "logging.level.org.apache.kafka=ERROR"
+})
+class OutboxRelayTest {
+
+    @Autowired private EventApplyService eventApplyService;
+    @Autowired private OutboxRelay outboxRelay;
+    @Autowired private EventOutboxRepository outboxRepository;
+    @Autowired private EventEntryRepository eventEntryRepository;
+    @Autowired private EventStockRepository eventStockRepository;
+    @Autowired private EventRepository eventRepository;
+
+    @Test
+    @DisplayName("Outbox: 응모는 Outbox에만 저장되고, 릴레이가 묶음으로 발행한 뒤 삭제하면 Consumer가 당첨 처리한다")
+    void relayTest() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Event event = eventRepository.save(Event.builder()
+                .title("Outbox Test")
+                .type(EventType.FIRST_COME)
+                .maxWinners(10)
+                .eventPeriod(new EventPeriod(now, now.plusDays(1)))
+                .complianceInfo(new ComplianceInfo("TEST-OUTBOX", new EventPeriod(now, now.plusDays(1))))
+                .isDuplicateParticipationAllowed(false)
+                .build());
+        Long eventId = event.getId();
+        eventStockRepository.save(new EventStock(eventId, 10));
+
+        // When 1: 응모 5건
+        for (long memberId = 0; memberId < 5; memberId++) {
+            assertEquals("APPLIED", eventApplyService.apply(eventId, memberId));
+        }
+
+        // Then 1: 발행 전이므로 Outbox에만 쌓여 있음
+        assertEquals(5, outboxRepository.count());
+        assertEquals(0, eventEntryRepository.findAllByEventId(eventId).size());
+
+        // When 2: 릴레이 (묶음 크기 2 → 2 + 2 + 1)
+        int relayed = outboxRelay.drain();
+
+        // Then 2: 발행된 메시지는 삭제되고 Consumer가 모두 당첨 처리
+        assertEquals(5, relayed);
+        assertEquals(0, outboxRepository.count());
+        await()
+            .atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertEquals(5, eventEntryRepository.countByEventIdAndStatus(eventId, WinningStatus.WIN)));
+    }
+}
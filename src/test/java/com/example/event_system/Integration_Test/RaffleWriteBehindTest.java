@@ -0,0 +1,149 @@
+package com.example.event_system.Integration_Test;
+
+import com.example.event_system.config.FakeRedisConfig;
+import com.example.event_system.domain.EventEntry;
+import com.example.event_system.domain.EventType;
+import com.example.event_system.domain.WinningStatus;
+import com.example.event_system.dto.EventCreateRequest;
+import com.example.event_system.repository.EventEntryBatchRepository;
+import com.example.event_system.repository.EventEntryRepository;
+import com.example.event_system.service.EventApplyService;
+import com.example.event_system.service.EventService;
+import com.example.event_system.service.RaffleEntryWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SuppressWarnings("null") // 테스트를 위한 null pointer 경고삭제
+@SpringBootTest(properties = {
+        "event.raffle.write-behind.enabled=true",
+        "event.raffle.write-behind.capacity=100",
+        "event.raffle.write-behind.batch-size=10",
+        "event.raffle.write-behind.flush-interval-ms=20"
+})
+@Import(FakeRedisConfig.class) // 테스트를 위한 가상 Redis 설정 임포트
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RaffleWriteBehindTest {
+
+    @Autowired private EventService eventService;
+    @Autowired private EventApplyService eventApplyService;
+    @Autowired private EventEntryRepository entryRepository;
+    @Autowired private RaffleEntryWriter raffleEntryWriter;
+
+    @MockitoSpyBean
+    private EventEntryBatchRepository entryBatchRepository;
+
+    @MockitoBean
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Test
+    @DisplayName("지연 저장: 동시 응모는 즉시 접수되고, 전용 스레드가 묶음으로 모두 PENDING 저장한다")
+    void writeBehindTest() throws InterruptedException {
+        Long eventId = createRaffleEvent("COMP-WB-001");
+        int memberCount = 55;
+        AtomicInteger applied = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(memberCount);
+
+        for (int i = 0; i < memberCount; i++) {
+            long memberId = i;
+            executor.submit(() -> {
+                try {
+                    if ("APPLIED_RAFFLE".equals(eventApplyService.apply(eventId, memberId))) applied.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        assertEquals(memberCount, applied.get());
+        await()
+            .atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> assertEquals(memberCount,
+                    entryRepository.countByEventIdAndStatus(eventId, WinningStatus.PENDING)));
+        assertEquals(0, raffleEntryWriter.buffered());
+    }
+
+    @Test
+    @DisplayName("정상 종료: 버퍼에 남은 응모를 모두 저장하고, 종료 이후 응모는 바로 저장한다")
+    void gracefulShutdownTest() {
+        Long eventId = createRaffleEvent("COMP-WB-002");
+        for (long memberId = 0; memberId < 5; memberId++) {
+            assertEquals("APPLIED_RAFFLE", eventApplyService.apply(eventId, memberId));
+        }
+
+        raffleEntryWriter.shutdown();
+
+        assertEquals(5, entryRepository.findAllByEventId(eventId).size());
+        assertEquals("APPLIED_RAFFLE", eventApplyService.apply(eventId, 100L));
+        assertEquals(6, entryRepository.findAllByEventId(eventId).size());
+    }
+
+    @Test
+    @DisplayName("단건 재시도: 묶음이 유니크 제약에 걸린 뒤 한 건씩 저장하다 DB 오류가 나도 남은 응모를 재시도하여 중복만 건너뛴다")
+    void oneByOneRetriesTransientFailure() {
+        Long eventId = createRaffleEvent("COMP-WB-003");
+        entryRepository.save(pendingEntry(eventId, 0L)); // 이미 저장된 회원 → 묶음 저장이 유니크 제약에 걸림
+
+        // 회원 3의 단건 저장이 처음 한 번은 일시적 DB 오류로 실패
+        doThrow(new QueryTimeoutException("일시적 DB 오류")).doCallRealMethod()
+                .when(entryBatchRepository).insertAll(argThat(entries ->
+                        entries.size() == 1 && entries.get(0).getMemberId() == 3L));
+
+        for (long memberId = 0; memberId < 5; memberId++) {
+            assertTrue(raffleEntryWriter.submit(pendingEntry(eventId, memberId)));
+        }
+
+        await()
+            .atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> assertEquals(5, entryRepository.findAllByEventId(eventId).size()));
+        verify(entryBatchRepository, times(2)).insertAll(argThat(entries ->
+                entries.size() == 1 && entries.get(0).getMemberId() == 3L));
+        assertEquals(0, raffleEntryWriter.buffered());
+    }
+
+    private EventEntry pendingEntry(Long eventId, Long memberId) {
+        return EventEntry.builder()
+                .eventId(eventId)
+                .memberId(memberId)
+                .status(WinningStatus.PENDING)
+                .build();
+    }
+
+    private Long createRaffleEvent(String reviewNumber) {
+        return eventService.createEvent(new EventCreateRequest(
+                "지연 저장 테스트",
+                "일반 모드 추첨 응모",
+                EventType.RAFFLE,
+                LocalDateTime.now(),
+                LocalDateTime.now().plusDays(7),
+                reviewNumber,
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusMonths(1),
+                100,
+                false));
+    }
+}
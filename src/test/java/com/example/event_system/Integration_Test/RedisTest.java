@@ -8,6 +8,7 @@ import com.example.event_system.domain.EventType;
 import com.example.event_system.domain.RewardType;
 import com.example.event_system.domain.vo.ComplianceInfo;
 import com.example.event_system.domain.vo.EventPeriod;
+import com.example.event_system.dto.ApplyMessage;
 import com.example.event_system.repository.EventEntryRepository;
 import com.example.event_system.repository.EventRepository;
 import com.example.event_system.repository.EventRewardRepository;
@@ -15,6 +16,7 @@ import com.example.event_system.repository.EventStockRepository;
 import com.example.event_system.service.EventApplyService;
 import com.example.event_system.service.EventResultService;
 import com.example.event_system.service.RedisRateLimiter;
+import com.example.event_system.service.cache.RedisPolicyCache;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +30,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Iterator;
 import java.util.Set;
@@ -36,11 +39,12 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @SuppressWarnings({"null", "unchecked"})
-@SpringBootTest
+@SpringBootTest(properties = "event.kafka.message-format=binary") // 발행 메시지를 ApplyMessage로 검증
 @Import(EmbeddedRedisConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class RedisTest {
@@ -72,8 +76,11 @@ class RedisTest {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private RedisPolicyCache redisPolicyCache;
+
     @MockitoBean
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, Object> kafkaTemplate;
 
     @BeforeEach
     void cleanUp() {
@@ -318,7 +325,27 @@ class RedisTest {
 
         // Then
         assertEquals("APPLIED_RAFFLE", result);
-        verify(kafkaTemplate).send(eq("event-raffle-topic"), eq(eventId + ":" + memberId));
+        verify(kafkaTemplate).send(eq("event-raffle-topic"), eq(eventId + ":" + memberId),
+                argThat((ApplyMessage m) -> m.eventId() == eventId && m.memberId() == memberId && m.hasIdempotencyId()));
         assertEquals(0, eventEntryRepository.count(), "Kafka 모드에서는 Service가 직접 DB에 저장하지 않아야 합니다.");
     }
+
+    @Test
+    @DisplayName("8. 정책 키 로컬 캐시: 관리자가 플래그를 바꾸면 Pub/Sub 무효화로 TTL 전에 반영")
+    void redisPolicyCacheInvalidationTest() {
+        Long eventId = 300L;
+        String policyKey = RedisPolicyCache.HIGH_TRAFFIC_PREFIX + eventId;
+
+        // Given: 플래그가 없는 상태가 로컬에 캐싱됨
+        assertFalse(redisPolicyCache.isHighTraffic(eventId));
+
+        // When: 관리자가 플래그를 켜고 무효화 메시지를 발행
+        redisTemplate.opsForValue().set(policyKey, "true");
+
+        // Then: 캐시 TTL(5초)보다 훨씬 짧은 시간 안에 반영되어야 함
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            redisTemplate.convertAndSend(RedisPolicyCache.INVALIDATION_CHANNEL, policyKey);
+            assertTrue(redisPolicyCache.isHighTraffic(eventId));
+        });
+    }
 }
\ No newline at end of file
@@ -2,35 +2,46 @@ package com.example.event_system.Integration_Test;
 
 import com.example.event_system.config.FakeRedisConfig;
 import com.example.event_system.domain.Event;
+import com.example.event_system.domain.EventEntry;
 import com.example.event_system.domain.EventReward;
 import com.example.event_system.domain.EventStock;
 import com.example.event_system.domain.EventType;
 import com.example.event_system.domain.RewardType;
+import com.example.event_system.dto.ApplyMessage;
 import com.example.event_system.repository.EventEntryRepository;
 import com.example.event_system.repository.EventRepository;
 import com.example.event_system.repository.EventRewardRepository;
 import com.example.event_system.repository.EventStockRepository;
 import com.example.event_system.service.EventApplyService;
 import com.example.event_system.service.EventResultService;
+import com.example.event_system.service.EventService;
+import com.example.event_system.service.ParticipantRegistry;
 import com.example.event_system.service.RedisRateLimiter;
+import com.example.event_system.service.RewardDeckService;
+import com.example.event_system.service.SoldOutRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,7 +54,10 @@ import static org.mockito.Mockito.*;
  */
 
 @SuppressWarnings("null")
-@SpringBootTest
+@SpringBootTest(properties = {
+        "event.reward.deck.enabled=true",
+        "event.kafka.message-format=binary" // 발행 메시지를 ApplyMessage로 검증
+})
 @Import(FakeRedisConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class RedisTest_FakeRedis {
@@ -60,6 +74,18 @@ class RedisTest_FakeRedis {
     @Autowired
     private EventResultService eventResultService;
 
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private SoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private RewardDeckService rewardDeckService;
+
+    @Autowired
+    private ParticipantRegistry participantRegistry;
+
     @MockitoBean
     private EventEntryRepository eventEntryRepository;
 
@@ -73,7 +99,7 @@ class RedisTest_FakeRedis {
     private EventRepository eventRepository;
 
     @MockitoBean
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, Object> kafkaTemplate;
 
     @SuppressWarnings("unchecked")
     @BeforeEach
@@ -92,6 +118,14 @@ class RedisTest_FakeRedis {
         reset(kafkaTemplate);
     }
 
+    /**
+     * 단일 행(DEFAULT, 0) 재고 구성을 등록하고, 해당 행의 차감이 항상 성공하도록 설정
+     */
+    private void stubStockDecrease(Long eventId) {
+        when(eventStockRepository.findAllByEventIdOrderByShardNo(eventId)).thenReturn(List.of(new EventStock(eventId, 100)));
+        when(eventStockRepository.decreaseOptionStockShard(eventId, "DEFAULT", 0)).thenReturn(1);
+    }
+
     @Test
     @DisplayName("1. Redis 방어막 차단 테스트")
     void redisBarrierTestWithFake() throws InterruptedException {
@@ -104,7 +138,7 @@ class RedisTest_FakeRedis {
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(mockEvent));
 
         when(eventEntryRepository.existsByEventIdAndMemberId(anyLong(), anyLong())).thenReturn(false);
-        when(eventStockRepository.findByEventId(eventId)).thenReturn(new EventStock(eventId, 100));
+        when(eventStockRepository.sumStockCount(eventId)).thenReturn(100L);
 
         ExecutorService executorService = Executors.newFixedThreadPool(32);
         CountDownLatch latch = new CountDownLatch(threadCount);
@@ -121,7 +155,7 @@ class RedisTest_FakeRedis {
         }
         latch.await();
 
-        verify(kafkaTemplate, times(limit)).send(anyString(), anyString());
+        verify(kafkaTemplate, times(limit)).send(anyString(), anyString(), any(ApplyMessage.class));
     }
 
     @Test
@@ -170,7 +204,7 @@ class RedisTest_FakeRedis {
     @DisplayName("4. Redis 피드백 루프 카운트 무결성 검증")
     void redisFeedbackLoopPrecisionTest() throws InterruptedException {
         int count = 50;
-        when(eventStockRepository.decreaseStock(1L)).thenReturn(1);
+        stubStockDecrease(1L);
         when(eventRewardRepository.findByEventId(1L)).thenReturn(Optional.of(
                 EventReward.builder().rewardType(RewardType.AVERAGE_RANDOM).minAmount(10).maxAmount(50)
                         .targetAverage(30).build()));
@@ -202,7 +236,7 @@ class RedisTest_FakeRedis {
         Long memberId = 777L;
 
         // Mock 설정: 재고 차감은 성공하지만, Redis 연산 시 예외가 발생하는 상황 시뮬레이션
-        when(eventStockRepository.decreaseStock(eventId)).thenReturn(1);
+        stubStockDecrease(eventId);
         when(eventRewardRepository.findByEventId(eventId)).thenReturn(Optional.of(
                 EventReward.builder()
                         .eventId(eventId)
@@ -267,7 +301,7 @@ class RedisTest_FakeRedis {
         String countKey = "event:reward:count:" + eventId;
 
         // Given: Mock Repository 설정
-        when(eventStockRepository.decreaseStock(eventId)).thenReturn(1);
+        stubStockDecrease(eventId);
         when(eventRewardRepository.findByEventId(eventId)).thenReturn(Optional.of(
                 EventReward.builder()
                         .eventId(eventId)
@@ -314,8 +348,255 @@ class RedisTest_FakeRedis {
         // Then
         assertEquals("APPLIED_RAFFLE", result);
         // Kafka로 메시지가 전송되어야 함
-        verify(kafkaTemplate).send(eq("event-raffle-topic"), eq(eventId + ":" + memberId));
+        verify(kafkaTemplate).send(eq("event-raffle-topic"), eq(eventId + ":" + memberId),
+                argThat((ApplyMessage m) -> m.eventId() == eventId && m.memberId() == memberId && m.hasIdempotencyId()));
         // Service 계층에서 직접 DB 저장을 하지 않아야 함 (Consumer가 처리)
         verify(eventEntryRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("9. Redis 재고 예약: 재고를 확보한 요청만 Kafka로 발행되고 나머지는 LOSE 처리")
+    void stockReservationTest() throws InterruptedException {
+        int threadCount = 100;
+        int stockCount = 5;
+        Long eventId = 7L;
+
+        Event mockEvent = mock(Event.class);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(mockEvent));
+        when(eventStockRepository.sumStockCount(eventId)).thenReturn((long) stockCount);
+
+        // Given: 유량 제어에 걸리지 않도록 허용량을 넉넉하게 설정 → 재고 예약만으로 차단되는지 확인
+        redisTemplate.opsForValue().set("event:limit:" + eventId, String.valueOf(threadCount));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger loseCount = new AtomicInteger(0);
+
+        for (int i = 0; i < threadCount; i++) {
+            long memberId = i;
+            executorService.submit(() -> {
+                try {
+                    if ("LOSE".equals(eventApplyService.apply(eventId, memberId))) {
+                        loseCount.incrementAndGet();
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // Then: 재고 수량만큼만 발행되고 Redis 카운터는 0에서 멈춤
+        verify(kafkaTemplate, times(stockCount)).send(anyString(), anyString(), any(ApplyMessage.class));
+        assertEquals(threadCount - stockCount, loseCount.get());
+        assertEquals("0", redisTemplate.opsForValue().get("event:stock:" + eventId));
+    }
+
+    @Test
+    @DisplayName("10. 매진 플래그: 재고 소진 후에는 I/O 없이 LOSE 처리되고, 재입고 시 해제되어 다시 응모 가능")
+    void soldOutShortCircuitTest() {
+        int stockCount = 2;
+        Long eventId = 8L;
+
+        Event mockEvent = mock(Event.class);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(mockEvent));
+        EventStock stock = new EventStock(eventId, stockCount);
+        when(eventStockRepository.sumStockCount(eventId)).thenAnswer(invocation -> (long) stock.getStockCount());
+        when(eventStockRepository.findAllByEventIdOrderByShardNo(eventId)).thenReturn(List.of(stock));
+        redisTemplate.opsForValue().set("event:limit:" + eventId, "100");
+
+        // Given: 재고 2개를 소진시키면 Redis 예약에서 SOLD_OUT이 되어 매진 플래그가 설정됨
+        for (long memberId = 0; memberId < 5; memberId++) {
+            eventApplyService.apply(eventId, memberId);
+        }
+        assertTrue(soldOutRegistry.isSoldOut(eventId));
+
+        // When: Redis 카운터를 임의로 되살려도 플래그가 먼저 차단하므로 예약까지 가지 않음
+        redisTemplate.opsForValue().set("event:stock:" + eventId, "5");
+        assertEquals("LOSE", eventApplyService.apply(eventId, 100L));
+        assertEquals("5", redisTemplate.opsForValue().get("event:stock:" + eventId));
+        redisTemplate.opsForValue().set("event:stock:" + eventId, "0");
+
+        // Then: 재입고가 커밋되면 Redis 카운터가 보충되고 플래그가 해제되어 다시 응모 가능
+        eventService.restock(eventId, 3);
+        assertFalse(soldOutRegistry.isSoldOut(eventId));
+        assertEquals("3", redisTemplate.opsForValue().get("event:stock:" + eventId));
+        assertEquals("APPLIED", eventApplyService.apply(eventId, 200L));
+        verify(kafkaTemplate, times(stockCount + 1)).send(anyString(), anyString(), any(ApplyMessage.class));
+    }
+
+    @Test
+    @DisplayName("11. 옵션별 재고: 선택한 옵션만 차감되고, 소진된 옵션은 매진 표시되며 미선택 시 남은 옵션이 배정됨")
+    void optionAwareStockTest() {
+        Long eventId = 11L;
+
+        Event mockEvent = mock(Event.class);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(mockEvent));
+        when(eventStockRepository.findAllByEventIdOrderByShardNo(eventId)).thenReturn(List.of(
+                new EventStock(eventId, "A", 1), new EventStock(eventId, "B", 2)));
+        when(eventStockRepository.sumOptionStockCount(eventId, "A")).thenReturn(1L);
+        when(eventStockRepository.sumOptionStockCount(eventId, "B")).thenReturn(2L);
+        redisTemplate.opsForValue().set("event:limit:" + eventId, "100");
+
+        // When: A 옵션 1개를 두 명이 선택 (옵션 넘김 모드 꺼짐)
+        assertEquals("APPLIED", eventApplyService.apply(eventId, 1L, "A"));
+        assertEquals("LOSE", eventApplyService.apply(eventId, 2L, "A"));
+
+        // Then: A만 매진 표시되고 이벤트 전체는 계속 응모 가능
+        assertTrue(soldOutRegistry.isSoldOut(eventId, "A"));
+        assertFalse(soldOutRegistry.isSoldOut(eventId));
+
+        // 옵션을 고르지 않으면 재고가 남은 B가 배정되고, 없는 옵션은 거절
+        assertEquals("APPLIED", eventApplyService.apply(eventId, 3L, null));
+        assertThrows(IllegalArgumentException.class, () -> eventApplyService.apply(eventId, 4L, "C"));
+
+        verify(kafkaTemplate).send(eq("event-apply-topic"), eq(eventId + ":1"),
+                argThat((ApplyMessage m) -> m.memberId() == 1L && "A".equals(m.optionName())));
+        verify(kafkaTemplate).send(eq("event-apply-topic"), eq(eventId + ":3"),
+                argThat((ApplyMessage m) -> m.memberId() == 3L && "B".equals(m.optionName())));
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any(ApplyMessage.class));
+        assertEquals("0", redisTemplate.opsForValue().get("event:stock:" + eventId + ":A"));
+        assertEquals("1", redisTemplate.opsForValue().get("event:stock:" + eventId + ":B"));
+    }
+
+    @Test
+    @DisplayName("12. 평균 보상 스크립트: 동시 당첨에도 Redis 누적 지급액/건수가 실제 지급 내역과 일치해야 한다")
+    void feedbackRewardScriptConsistencyTest() throws InterruptedException {
+        Long eventId = 12L;
+        int count = 100;
+        stubStockDecrease(eventId);
+        when(eventRewardRepository.findByEventId(eventId)).thenReturn(Optional.of(
+                EventReward.builder().eventId(eventId).rewardType(RewardType.AVERAGE_RANDOM)
+                        .minAmount(10).maxAmount(50).targetAverage(30).build()));
+        AtomicLong paid = new AtomicLong();
+        when(eventEntryRepository.save(any(EventEntry.class))).thenAnswer(invocation -> {
+            EventEntry entry = invocation.getArgument(0);
+            paid.addAndGet(entry.getRewardAmount());
+            return entry;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            long memberId = i;
+            executor.submit(() -> {
+                try {
+                    eventResultService.processWinning(eventId, memberId);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        // 조회-결정-갱신이 스크립트 한 번으로 처리되므로 누적 통계가 어긋나지 않음
+        assertEquals(String.valueOf(count), redisTemplate.opsForValue().get("event:reward:count:" + eventId));
+        assertEquals(String.valueOf(paid.get()), redisTemplate.opsForValue().get("event:reward:sum:" + eventId));
+    }
+
+    @Test
+    @DisplayName("13. 보상 덱: 재고 수만큼 미리 만든 덱에서 꺼내므로 총 지급액이 목표 평균 × 재고와 정확히 일치해야 한다")
+    void rewardDeckExactBudgetTest() throws InterruptedException {
+        Long eventId = 13L;
+        int stock = 100;
+        when(eventStockRepository.sumStockCount(eventId)).thenReturn((long) stock);
+        stubStockDecrease(eventId);
+        when(eventRewardRepository.findByEventId(eventId)).thenReturn(Optional.of(
+                EventReward.builder().eventId(eventId).rewardType(RewardType.AVERAGE_RANDOM)
+                        .minAmount(1).maxAmount(2000).targetAverage(50).build()));
+        AtomicLong paid = new AtomicLong();
+        AtomicInteger outOfRange = new AtomicInteger();
+        when(eventEntryRepository.save(any(EventEntry.class))).thenAnswer(invocation -> {
+            EventEntry entry = invocation.getArgument(0);
+            paid.addAndGet(entry.getRewardAmount());
+            if (entry.getRewardAmount() < 1 || entry.getRewardAmount() > 2000) outOfRange.incrementAndGet();
+            return entry;
+        });
+
+        assertEquals(stock, rewardDeckService.build(eventId));
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch latch = new CountDownLatch(stock);
+        for (int i = 0; i < stock; i++) {
+            long memberId = i;
+            executor.submit(() -> {
+                try {
+                    eventResultService.processWinning(eventId, memberId);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        // 덱에서만 배정되었으므로 피드백 루프는 사용되지 않고, 예산이 정확히 맞음
+        assertEquals(50L * stock, paid.get());
+        assertEquals(0, outOfRange.get());
+        assertNull(redisTemplate.opsForValue().get("event:reward:count:" + eventId));
+        // 덱 소진 후에는 빈 결과 → 피드백 루프로 넘어감
+        assertEquals(0, rewardDeckService.draw(eventId, 1).length);
+    }
+
+    @Test
+    @DisplayName("14. 보상 덱 반환: 당첨 저장이 롤백되면 꺼낸 금액이 덱에 되돌아가 남은 예산이 그대로 유지되어야 한다")
+    void rewardDeckRestoredOnRollbackTest() {
+        Long eventId = 14L;
+        int stock = 10;
+        when(eventStockRepository.sumStockCount(eventId)).thenReturn((long) stock);
+        stubStockDecrease(eventId);
+        when(eventRewardRepository.findByEventId(eventId)).thenReturn(Optional.of(
+                EventReward.builder().eventId(eventId).rewardType(RewardType.AVERAGE_RANDOM)
+                        .minAmount(1).maxAmount(2000).targetAverage(50).build()));
+        when(eventEntryRepository.save(any(EventEntry.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_event_entry_member"));
+        assertEquals(stock, rewardDeckService.build(eventId));
+
+        // When: 보상 덱에서 금액을 꺼낸 뒤 저장이 실패하여 트랜잭션이 롤백됨
+        assertThrows(DataIntegrityViolationException.class, () -> eventResultService.processWinning(eventId, 1L));
+
+        // Then: 덱에 남은 금액은 여전히 재고 수만큼이고, 합계가 목표 평균 × 재고와 정확히 일치
+        int[] remaining = rewardDeckService.draw(eventId, stock + 1);
+        assertEquals(stock, remaining.length);
+        assertEquals(50L * stock, Arrays.stream(remaining).asLongStream().sum());
+        assertNull(redisTemplate.opsForValue().get("event:reward:count:" + eventId));
+    }
+
+    @Test
+    @DisplayName("15. 참여자 Set 재구축: 만료된 키에 동시 응모가 몰려도 DB 조회는 한 번만 하고, 임시 키와 락은 남지 않아야 한다")
+    void participantSetRebuiltOnceTest() throws InterruptedException {
+        Long eventId = 15L;
+        when(eventEntryRepository.streamMemberIdsByEventId(eventId)).thenAnswer(invocation -> {
+            Thread.sleep(200); // 재구축이 진행되는 동안 다른 요청이 도착하도록 지연
+            return Stream.of(1L, 2L);
+        });
+
+        int threadCount = 20;
+        AtomicInteger claimed = new AtomicInteger();
+        AtomicInteger duplicated = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            long memberId = 1L + i;
+            executor.submit(() -> {
+                try {
+                    ParticipantRegistry.ClaimResult result = participantRegistry.claim(eventId, memberId);
+                    if (result == ParticipantRegistry.ClaimResult.CLAIMED) claimed.incrementAndGet();
+                    if (result == ParticipantRegistry.ClaimResult.DUPLICATE) duplicated.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        // Then: 재구축은 한 번, 기존 참여자(1, 2)는 중복, 나머지는 신규 등록
+        verify(eventEntryRepository, times(1)).streamMemberIdsByEventId(eventId);
+        assertEquals(2, duplicated.get());
+        assertEquals(threadCount - 2, claimed.get());
+        assertEquals(Boolean.FALSE, redisTemplate.hasKey("event:participants:" + eventId + ":rebuild-lock"));
+        verify(redisTemplate).expire(startsWith("event:participants:" + eventId + ":rebuild:"), anyLong(), any());
+    }
+}
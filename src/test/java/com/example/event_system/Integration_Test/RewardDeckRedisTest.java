@@ -0,0 +1,108 @@
+package com.example.event_system.Integration_Test;
+
+import com.example.event_system.config.EmbeddedRedisConfig;
+import com.example.event_system.domain.EventReward;
+import com.example.event_system.domain.RewardType;
+import com.example.event_system.repository.EventRewardRepository;
+import com.example.event_system.service.RewardDeckService;
+import com.example.event_system.service.StockShardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 보상 덱 Lua 스크립트(생성/배정/반환)를 FakeRedisConfig의 Java 구현이 아닌 Embedded Redis에서 실제로 실행합니다.
+ */
+@SuppressWarnings("null")
+@SpringBootTest(properties = "event.reward.deck.enabled=true")
+@Import(EmbeddedRedisConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RewardDeckRedisTest {
+
+    private static final int TARGET_AVERAGE = 50;
+
+    @Autowired private RewardDeckService rewardDeckService;
+    @Autowired private StockShardService stockShardService;
+    @Autowired private EventRewardRepository eventRewardRepository;
+    @Autowired private StringRedisTemplate redisTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        redisTemplate.execute((RedisConnection connection) -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        eventRewardRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("1. 재고 등록이 커밋되면 보상 덱이 만들어지고, 한 번에 수천 건을 꺼내도 총 지급액이 목표 평균 × 재고와 일치한다")
+    void deckBuiltOnStockCreatedAndLargeDraw() {
+        Long eventId = 31L;
+        int stock = 6_000; // BITFIELD 인자 18,000개 → unpack 한도를 넘으므로 나눠 호출되어야 함
+        savePolicy(eventId);
+
+        // When: 재고 등록 (커밋 이후 리스너가 덱 생성)
+        stockShardService.createStock(eventId, stock, 1);
+
+        // Then
+        assertEquals(String.valueOf(stock), redisTemplate.opsForHash().get("event:reward:deck:meta:" + eventId, "size"));
+        int[] amounts = rewardDeckService.draw(eventId, stock);
+        assertEquals(stock, amounts.length);
+        assertEquals((long) TARGET_AVERAGE * stock, Arrays.stream(amounts).asLongStream().sum());
+        assertEquals(0, rewardDeckService.draw(eventId, 1).length);
+    }
+
+    @Test
+    @DisplayName("2. 롤백된 트랜잭션에서 꺼낸 금액은 반환 목록으로 돌아가고, 다음 배정에서 다시 꺼내져 예산이 유지된다")
+    void drawnAmountsReturnedOnRollback() {
+        Long eventId = 32L;
+        int stock = 4_000;
+        savePolicy(eventId);
+        stockShardService.createStock(eventId, stock, 1);
+
+        // When: 덱 전체를 꺼낸 트랜잭션이 롤백됨 (RPUSH 인자 4,000개 → 나눠 호출되어야 함)
+        int[] rolledBack = new TransactionTemplate(transactionManager).execute(status -> {
+            int[] drawn = rewardDeckService.draw(eventId, stock);
+            status.setRollbackOnly();
+            return drawn;
+        });
+        assertNotNull(rolledBack);
+        assertEquals(stock, rolledBack.length);
+        assertEquals(Long.valueOf(stock), redisTemplate.opsForList().size("event:reward:deck:returned:" + eventId));
+
+        // Then: 반환된 금액을 다시 꺼내면 총액이 그대로이며, 덱은 그 이상 내주지 않음
+        int[] amounts = rewardDeckService.draw(eventId, stock);
+        assertArrayEquals(rolledBack, amounts);
+        assertEquals((long) TARGET_AVERAGE * stock, Arrays.stream(amounts).asLongStream().sum());
+        assertEquals(0, rewardDeckService.draw(eventId, 1).length);
+    }
+
+    private void savePolicy(Long eventId) {
+        eventRewardRepository.save(EventReward.builder()
+                .eventId(eventId)
+                .rewardType(RewardType.AVERAGE_RANDOM)
+                .minAmount(1)
+                .maxAmount(2000)
+                .targetAverage(TARGET_AVERAGE)
+                .build());
+    }
+}
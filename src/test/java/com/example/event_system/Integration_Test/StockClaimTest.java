@@ -0,0 +1,97 @@
+package com.example.event_system.Integration_Test;
+
+import com.example.event_system.config.FakeRedisConfig;
+import com.example.event_system.domain.EventStock;
+import com.example.event_system.repository.EventStockRepository;
+import com.example.event_system.service.StockShardService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("null") // 테스트를 위한 null pointer 경고삭제
+@SpringBootTest
+@Import(FakeRedisConfig.class) // 테스트를 위한 가상 Redis 설정 임포트
+class StockClaimTest {
+
+    @Autowired private StockShardService stockShardService;
+    @Autowired private EventStockRepository stockRepository;
+
+    @MockitoBean
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Test
+    @DisplayName("배치 차감: 분할된 단일 옵션 재고를 동시에 확보해도 재고 수만큼만 확보되고 음수가 되지 않는다")
+    void concurrentClaimOnShardedStock() throws InterruptedException {
+        Long eventId = 9_001L;
+        int stock = 100;
+        stockShardService.createStock(eventId, stock, 4);
+
+        // 요청 총량(16 × 9 = 144)이 재고보다 많아 매진 직전의 부분 확보 경로까지 동시에 실행됨
+        int threadCount = 16;
+        AtomicInteger claimed = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    claimed.addAndGet(stockShardService.claim(eventId, null, 9));
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        assertEquals(0, failures.get());
+        assertEquals(stock, claimed.get());
+        assertEquals(0L, stockShardService.remaining(eventId));
+        for (EventStock row : stockRepository.findAllByEventIdOrderByShardNo(eventId)) {
+            assertEquals(0, row.getStockCount());
+        }
+    }
+
+    @Test
+    @DisplayName("배치 차감: 어느 분할 행에도 요청 수만큼 남아 있지 않으면 여러 행에서 남은 만큼만 확보한다")
+    void partialClaimAcrossShards() {
+        Long eventId = 9_002L;
+        stockShardService.createStock(eventId, 10, 4); // 3, 3, 2, 2
+
+        assertEquals(8, stockShardService.claim(eventId, null, 8));
+        assertEquals(2, stockShardService.claim(eventId, null, 5));
+        assertEquals(0, stockShardService.claim(eventId, null, 1));
+        assertEquals(0L, stockShardService.remaining(eventId));
+    }
+
+    @Test
+    @DisplayName("행 구성 캐시가 오래되어도 차감은 지정한 한 행만 UPDATE하고, 잔여 재고는 모든 행의 합계로 조회한다")
+    void staleLayoutDecreasesSingleRowOnly() {
+        Long eventId = 9_003L;
+        stockShardService.createStock(eventId, 10, 1);
+        assertEquals(1, stockShardService.decrease(eventId)); // 단일 행 구성이 캐시됨
+
+        // 다른 인스턴스가 옵션을 추가한 상황 (이 인스턴스의 캐시는 무효화되지 않음)
+        stockRepository.save(new EventStock(eventId, "B", 5));
+
+        assertEquals(1, stockShardService.decrease(eventId));
+        assertEquals(5, stockShardService.claim(eventId, null, 5));
+        assertEquals(8L, stockShardService.remaining(eventId));
+        for (EventStock row : stockRepository.findAllByEventIdOrderByShardNo(eventId)) {
+            assertEquals("B".equals(row.getOptionName()) ? 5 : 3, row.getStockCount());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.support.ApplyJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplyJournalTest {
+
+    private static final int SEGMENT_SIZE = 128; // 레코드 약 7건마다 세그먼트 전환
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("성공: 기록한 순서대로 읽고, 완료 처리한 만큼 적체량이 줄며 다 읽은 세그먼트는 삭제된다")
+    void appendPeekAcknowledge() throws IOException {
+        ApplyJournal journal = new ApplyJournal(directory, SEGMENT_SIZE);
+        for (int i = 0; i < 20; i++) {
+            journal.append("event-apply-topic", "1:" + i, bytes("v" + i));
+        }
+        assertEquals(20, journal.depth());
+        assertTrue(segmentCount() > 1, "세그먼트가 전환되어야 합니다.");
+
+        List<ApplyJournal.Entry> entries = journal.peek(100);
+        assertEquals(20, entries.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("1:" + i, entries.get(i).key());
+            assertArrayEquals(bytes("v" + i), entries.get(i).value());
+        }
+
+        journal.acknowledge(entries);
+        assertEquals(0, journal.depth());
+        assertTrue(journal.peek(100).isEmpty());
+        assertEquals(1, segmentCount(), "기록 중인 세그먼트만 남아야 합니다.");
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("성공: 다시 열면 체크포인트 이후의 레코드부터 이어서 읽는다 (비정상 종료 복구)")
+    void recoverFromCheckpoint() throws IOException {
+        ApplyJournal journal = new ApplyJournal(directory, SEGMENT_SIZE);
+        for (int i = 0; i < 10; i++) {
+            journal.append("event-apply-topic", null, bytes("v" + i));
+        }
+        journal.acknowledge(journal.peek(4));
+
+        ApplyJournal recovered = new ApplyJournal(directory, SEGMENT_SIZE);
+
+        assertEquals(6, recovered.depth());
+        List<ApplyJournal.Entry> entries = recovered.peek(100);
+        assertArrayEquals(bytes("v4"), entries.get(0).value());
+        assertNull(entries.get(0).key());
+        assertArrayEquals(bytes("v9"), entries.get(5).value());
+    }
+
+    @Test
+    @DisplayName("성공: 중간에 끊긴 마지막 레코드는 체크섬으로 걸러내고 그 위치부터 이어서 기록한다")
+    void dropTornRecordOnRecovery() throws IOException {
+        ApplyJournal journal = new ApplyJournal(directory, SEGMENT_SIZE);
+        journal.append("t", "a", bytes("first"));
+        journal.append("t", "b", bytes("second"));
+        journal.close();
+
+        // 두 번째 레코드의 본문 1바이트 손상 (첫 레코드: 헤더 8 + 본문 2+1+2+1+5 = 19바이트)
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), 19 + 8 + 3);
+        }
+
+        ApplyJournal recovered = new ApplyJournal(directory, SEGMENT_SIZE);
+        assertEquals(1, recovered.depth());
+        recovered.append("t", "c", bytes("third"));
+
+        List<ApplyJournal.Entry> entries = recovered.peek(100);
+        assertEquals(List.of("a", "c"), entries.stream().map(ApplyJournal.Entry::key).toList());
+    }
+
+    @Test
+    @DisplayName("실패: 세그먼트보다 큰 레코드는 기록할 수 없다")
+    void rejectOversizedRecord() throws IOException {
+        ApplyJournal journal = new ApplyJournal(directory, SEGMENT_SIZE);
+
+        assertThrows(IllegalArgumentException.class, () -> journal.append("t", "k", new byte[SEGMENT_SIZE]));
+        assertEquals(0, journal.depth());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.dto.ApplyMessage;
+import com.example.event_system.support.ApplyMessageCodec;
+import com.example.event_system.support.ApplyMessageFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplyMessageCodecTest {
+
+    @Test
+    @DisplayName("성공: 바이너리로 인코딩한 메시지를 그대로 복원한다 (옵션 없음/ASCII/UTF-8 옵션)")
+    void encodeDecode_RoundTrip() {
+        for (String option : new String[]{null, "A", "블루-XL"}) {
+            ApplyMessage message = new ApplyMessage(Long.MAX_VALUE, 7L, option, 1_700_000_000_000L, -1L, 42L);
+
+            byte[] payload = ApplyMessageCodec.encode(message);
+
+            assertTrue(ApplyMessageCodec.isBinary(payload));
+            assertEquals(ApplyMessageCodec.encodedLength(message), payload.length);
+            assertEquals(message, ApplyMessageCodec.decode(payload));
+        }
+    }
+
+    @Test
+    @DisplayName("성공: 호출자가 준 버퍼의 지정 위치에 기록하고, 기록한 길이를 반환한다")
+    void encode_IntoBuffer() {
+        ApplyMessage message = ApplyMessage.of(1L, 2L, "B");
+        byte[] buffer = new byte[128];
+
+        int length = ApplyMessageCodec.encode(message, buffer, 0);
+
+        assertEquals(ApplyMessageCodec.HEADER_LENGTH + 1, length);
+        byte[] payload = new byte[length];
+        System.arraycopy(buffer, 0, payload, 0, length);
+        assertEquals(message, ApplyMessageCodec.decode(payload));
+        assertTrue(message.hasIdempotencyId());
+    }
+
+    @Test
+    @DisplayName("성공: 전환 기간 동안 기존 문자열 형식도 읽는다 (요청 시각/멱등성 ID는 0)")
+    void decode_LegacyString() {
+        ApplyMessage withOption = ApplyMessageCodec.decode("1:100:A".getBytes(StandardCharsets.UTF_8));
+        ApplyMessage withoutOption = ApplyMessageCodec.decode("1:100".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(new ApplyMessage(1L, 100L, "A", 0L, 0L, 0L), withOption);
+        assertEquals(new ApplyMessage(1L, 100L, null, 0L, 0L, 0L), withoutOption);
+        assertFalse(withoutOption.hasIdempotencyId());
+
+        // string 형식으로 발행한 메시지도 같은 내용으로 읽힘
+        Object legacy = ApplyMessageFormat.STRING.payload(ApplyMessage.of(1L, 100L, "A"));
+        assertEquals("1:100:A", legacy);
+    }
+
+    @Test
+    @DisplayName("실패: 형식 오류, 범위 초과, 지원하지 않는 버전은 IllegalArgumentException")
+    void decode_Malformed() {
+        assertThrows(IllegalArgumentException.class, () -> ApplyMessageCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> ApplyMessageCodec.decode("1".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class, () -> ApplyMessageCodec.decode("1:abc".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class, () -> ApplyMessageCodec.decode("99999999999999999999:1".getBytes(StandardCharsets.UTF_8)));
+
+        byte[] payload = ApplyMessageCodec.encode(ApplyMessage.of(1L, 2L, null));
+        payload[1] = 2; // 알 수 없는 버전
+        assertThrows(IllegalArgumentException.class, () -> ApplyMessageCodec.decode(payload));
+
+        byte[] truncated = new byte[ApplyMessageCodec.HEADER_LENGTH - 1];
+        truncated[0] = ApplyMessageCodec.MAGIC;
+        assertThrows(IllegalArgumentException.class, () -> ApplyMessageCodec.decode(truncated));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.support.BloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("성공: 넣은 값은 항상 '있을 수도 있다'로 판단한다 (False Negative 없음)")
+    void noFalseNegative(boolean offHeap) {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, offHeap);
+
+        for (long memberId = 1; memberId <= 10_000; memberId++) {
+            filter.put(memberId);
+        }
+
+        for (long memberId = 1; memberId <= 10_000; memberId++) {
+            assertThat(filter.mightContain(memberId)).isTrue();
+        }
+        assertThat(filter.isOffHeap()).isEqualTo(offHeap);
+    }
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("성공: 예상 원소 수만큼 채워도 실제 오탐률이 목표치 근처로 유지된다")
+    void falsePositiveRateWithinTarget(boolean offHeap) {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, offHeap);
+        for (long memberId = 1; memberId <= 10_000; memberId++) {
+            filter.put(memberId);
+        }
+
+        int falsePositives = 0;
+        for (long memberId = 1_000_000; memberId < 1_100_000; memberId++) {
+            if (filter.mightContain(memberId)) falsePositives++;
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+        assertThat(filter.memoryBytes()).isPositive();
+    }
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("실패: 예상 원소 수가 0 이하이거나 오탐률이 (0, 1) 밖이면 IllegalArgumentException이 발생한다")
+    void create_Fail_InvalidArguments(boolean offHeap) {
+        assertThatThrownBy(() -> BloomFilter.create(0, 0.01, offHeap))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(100, 1.0, offHeap))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
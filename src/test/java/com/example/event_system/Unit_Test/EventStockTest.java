@@ -4,6 +4,8 @@ import com.example.event_system.domain.EventStock;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EventStockTest {
@@ -90,4 +92,30 @@ class EventStockTest {
         assertThrows(IllegalArgumentException.class, () -> stock.increase(0));
         assertThrows(IllegalArgumentException.class, () -> stock.increase(-1));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("성공: 재고 분할 시 합계는 유지되고 나머지는 앞 번호 행부터 배정된다")
+    void split_DistributesRemainder() {
+        List<EventStock> shards = EventStock.split(1L, "DEFAULT", 10, 3);
+
+        assertEquals(3, shards.size());
+        assertEquals(List.of(4, 3, 3), shards.stream().map(EventStock::getStockCount).toList());
+        assertEquals(List.of(0, 1, 2), shards.stream().map(EventStock::getShardNo).toList());
+
+        // 재고보다 분할 수가 많으면 빈 행이 생기지만 합계는 동일
+        assertEquals(2, EventStock.split(1L, "DEFAULT", 2, 4).stream().mapToInt(EventStock::getStockCount).sum());
+        assertThrows(IllegalArgumentException.class, () -> EventStock.split(1L, "DEFAULT", 10, 0));
+    }
+
+    @Test
+    @DisplayName("성공: 여러 개를 한 번에 차감하고, 잔여 재고를 넘는 차감은 거절한다")
+    void decreaseCount_Logic() {
+        EventStock stock = new EventStock(1L, 10);
+        stock.decrease(7);
+        assertEquals(3, stock.getStockCount());
+
+        assertThrows(IllegalStateException.class, () -> stock.decrease(4));
+        assertThrows(IllegalArgumentException.class, () -> stock.decrease(0));
+        assertEquals(3, stock.getStockCount());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.support.KeyOrderedExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+
+    @Test
+    @DisplayName("성공: 같은 키의 작업은 제출 순서대로 실행된다")
+    void sameKey_PreservesOrder() {
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor("test-lane", 8)) {
+            for (int i = 0; i < 1000; i++) {
+                int sequence = i;
+                executor.execute("1:100", () -> executed.add(sequence));
+            }
+        } // close()는 남은 작업이 끝날 때까지 대기
+
+        assertEquals(IntStream.range(0, 1000).boxed().toList(), executed);
+    }
+
+    @Test
+    @DisplayName("성공: 다른 레인의 작업은 앞선 작업이 끝나기를 기다리지 않고 동시에 실행된다")
+    void differentLanes_RunConcurrently() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor("test-lane", 8)) {
+            String blockedKey = "1:1";
+            String otherKey = IntStream.range(2, 100).mapToObj(i -> "1:" + i)
+                    .filter(key -> executor.laneOf(key) != executor.laneOf(blockedKey))
+                    .findFirst().orElseThrow();
+
+            executor.execute(blockedKey, () -> awaitQuietly(release));
+            executor.execute(otherKey, secondStarted::countDown);
+
+            // 첫 작업이 막혀 있어도 다른 레인의 작업은 실행되어야 함
+            assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("실패: 레인 수가 1보다 작으면 생성할 수 없다")
+    void invalidLaneCount() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyOrderedExecutor("test-lane", 0));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
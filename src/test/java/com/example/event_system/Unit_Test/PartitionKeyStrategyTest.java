@@ -0,0 +1,29 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.support.PartitionKeyStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionKeyStrategyTest {
+
+    @Test
+    @DisplayName("성공: 전략별로 회원/이벤트/(이벤트, 회원) 단위의 키를 생성한다")
+    void key_ByStrategy() {
+        assertEquals("7", PartitionKeyStrategy.MEMBER.key(1L, 7L));
+        assertEquals("1", PartitionKeyStrategy.EVENT.key(1L, 7L));
+        assertEquals("1:7", PartitionKeyStrategy.EVENT_MEMBER.key(1L, 7L));
+
+        // 같은 회원의 메시지는 항상 같은 키 → 같은 파티션
+        assertEquals(PartitionKeyStrategy.MEMBER.key(1L, 7L), PartitionKeyStrategy.MEMBER.key(2L, 7L));
+    }
+
+    @Test
+    @DisplayName("성공: 설정값(kebab-case, 대소문자 무관)을 전략으로 변환하고, 알 수 없는 값은 거절한다")
+    void from_PropertyValue() {
+        assertEquals(PartitionKeyStrategy.EVENT_MEMBER, PartitionKeyStrategy.from("event-member"));
+        assertEquals(PartitionKeyStrategy.MEMBER, PartitionKeyStrategy.from(" Member "));
+        assertThrows(IllegalArgumentException.class, () -> PartitionKeyStrategy.from("round-robin"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.support.RatePacer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatePacerTest {
+
+    @Test
+    @DisplayName("성공: 초당 처리량을 넘는 요청은 예약한 만큼 간격을 두고 대기한다")
+    void acquire_PacesToRate() throws InterruptedException {
+        RatePacer pacer = new RatePacer(1000); // 1건당 1ms
+
+        long started = System.nanoTime();
+        pacer.acquire(100); // 첫 요청은 바로 처리
+        pacer.acquire(100); // 앞선 100건 예약(100ms) 이후 처리
+        pacer.acquire(100); // 200ms 이후 처리
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue(elapsedMs >= 190, "300건은 최소 200ms에 걸쳐 처리되어야 합니다: " + elapsedMs + "ms");
+    }
+
+    @Test
+    @DisplayName("성공: 처리량 이하로 요청하면 대기하지 않는다")
+    void acquire_NoWaitUnderRate() throws InterruptedException {
+        RatePacer pacer = new RatePacer(1_000_000);
+
+        assertEquals(0, pacer.acquire(1));
+    }
+
+    @Test
+    @DisplayName("실패: 초당 처리량이 0 이하이면 생성할 수 없다")
+    void invalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new RatePacer(0));
+        assertThrows(IllegalArgumentException.class, () -> new RatePacer(-1));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.consumer.RetryTopicMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryTopicMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RetryTopicMetrics metrics = new RetryTopicMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("성공: 재시도 토픽 수신은 원본 토픽과 단계별로 집계하고, 원본 토픽 수신은 집계하지 않는다")
+    void recordAttempt_ByTier() {
+        metrics.recordAttempt("event-apply-topic");
+        metrics.recordAttempt("event-apply-topic.retry-1000");
+        metrics.recordAttempt("event-apply-topic.retry-1000");
+        metrics.recordAttempt("event-apply-topic.retry-10000");
+        metrics.recordAttempt("event-raffle-topic.retry-1000");
+
+        assertEquals(2.0, count("event-apply-topic", "retry-1000"));
+        assertEquals(1.0, count("event-apply-topic", "retry-10000"));
+        assertEquals(1.0, count("event-raffle-topic", "retry-1000"));
+        assertEquals(3, meterRegistry.find("event.kafka.retry.messages").counters().size());
+    }
+
+    @Test
+    @DisplayName("성공: DLT 도착 메시지는 원본 토픽의 dlt 단계로 집계한다")
+    void handleDlt_CountsOriginalTopic() {
+        metrics.handleDlt("1:100".getBytes(StandardCharsets.UTF_8), "event-apply-topic.DLT");
+
+        assertEquals(1.0, count("event-apply-topic", "dlt"));
+    }
+
+    private double count(String topic, String tier) {
+        Counter counter = meterRegistry.find("event.kafka.retry.messages").tags("topic", topic, "tier", tier).counter();
+        return (counter == null) ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.support.RewardDeck;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RewardDeckTest {
+
+    @Test
+    @DisplayName("성공: 덱의 합계는 목표 평균 × 크기와 정확히 같고 모든 금액이 범위 안에 있다")
+    void generate_ExactBudgetWithinRange() {
+        int[] deck = RewardDeck.generate(100_000, 1, 50, 2000, new SplittableRandom(42));
+
+        IntSummaryStatistics stats = Arrays.stream(deck).summaryStatistics();
+        assertEquals(100_000, stats.getCount());
+        assertEquals(50L * 100_000, stats.getSum());
+        assertTrue(stats.getMin() >= 1);
+        assertTrue(stats.getMax() <= 2000);
+    }
+
+    @Test
+    @DisplayName("성공: 목표 평균 하나로 몰리지 않고 낮은 금액과 높은 금액이 고르게 섞인다")
+    void generate_SpreadsAmounts() {
+        int[] deck = RewardDeck.generate(10_000, 10, 100, 1000, new SplittableRandom(7));
+
+        long below = Arrays.stream(deck).filter(amount -> amount < 100).count();
+        long above = Arrays.stream(deck).filter(amount -> amount > 100).count();
+        long distinct = Arrays.stream(deck).distinct().count();
+        assertTrue(below > 1000, "목표보다 낮은 금액이 충분해야 합니다: " + below);
+        assertTrue(above > 1000, "목표보다 높은 금액이 충분해야 합니다: " + above);
+        assertTrue(distinct > 100, "금액 종류가 다양해야 합니다: " + distinct);
+    }
+
+    @Test
+    @DisplayName("성공: 범위가 한 값이면 모든 금액이 목표 평균이다")
+    void generate_SingleValueRange() {
+        int[] deck = RewardDeck.generate(10, 30, 30, 30, new SplittableRandom(1));
+
+        assertTrue(Arrays.stream(deck).allMatch(amount -> amount == 30));
+    }
+
+    @Test
+    @DisplayName("실패: 덱 크기가 0 이하이거나 목표 평균이 범위를 벗어나면 생성할 수 없다")
+    void generate_InvalidArguments() {
+        SplittableRandom random = new SplittableRandom();
+        assertThrows(IllegalArgumentException.class, () -> RewardDeck.generate(0, 1, 50, 2000, random));
+        assertThrows(IllegalArgumentException.class, () -> RewardDeck.generate(10, 60, 50, 2000, random));
+        assertThrows(IllegalArgumentException.class, () -> RewardDeck.generate(10, 1, 50, 40, random));
+        assertThrows(IllegalArgumentException.class, () -> RewardDeck.generate(10, -1, 50, 2000, random));
+    }
+
+    @Test
+    @DisplayName("성공: 최대 금액을 담는 데 필요한 비트 수를 계산한다")
+    void bitWidth() {
+        assertEquals(1, RewardDeck.bitWidth(0));
+        assertEquals(1, RewardDeck.bitWidth(1));
+        assertEquals(11, RewardDeck.bitWidth(2000));
+        assertEquals(11, RewardDeck.bitWidth(2047));
+        assertEquals(12, RewardDeck.bitWidth(2048));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.domain.EventReward;
+import com.example.event_system.domain.RewardType;
+import com.example.event_system.repository.EventRewardRepository;
+import com.example.event_system.service.cache.RewardPolicyCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RewardPolicyCacheTest {
+
+    private final EventRewardRepository rewardRepository = mock(EventRewardRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RewardPolicyCache cache = new RewardPolicyCache(rewardRepository, meterRegistry, 100, 60_000);
+
+    @Test
+    @DisplayName("성공: 같은 이벤트의 보상 정책은 한 번만 조회하고 적중/미스 지표를 남긴다")
+    void get_LoadsOnce() {
+        EventReward reward = EventReward.builder().eventId(1L).rewardType(RewardType.FIXED).fixedAmount(100).build();
+        when(rewardRepository.findByEventId(1L)).thenReturn(Optional.of(reward));
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(reward, cache.get(1L).orElseThrow());
+        }
+
+        verify(rewardRepository, times(1)).findByEventId(1L);
+        assertEquals(9.0, meterRegistry.get("cache.gets").tags("cache", "rewardPolicy", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "rewardPolicy", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("성공: 보상 정책이 없는 이벤트도 빈 값으로 캐싱한다")
+    void get_CachesAbsentPolicy() {
+        when(rewardRepository.findByEventId(2L)).thenReturn(Optional.empty());
+
+        assertTrue(cache.get(2L).isEmpty());
+        assertTrue(cache.get(2L).isEmpty());
+
+        verify(rewardRepository, times(1)).findByEventId(2L);
+    }
+
+    @Test
+    @DisplayName("성공: 무효화하면 다음 조회에서 변경된 정책을 다시 읽는다")
+    void invalidate_ReloadsPolicy() {
+        EventReward before = EventReward.builder().eventId(3L).rewardType(RewardType.FIXED).fixedAmount(100).build();
+        EventReward after = EventReward.builder().eventId(3L).rewardType(RewardType.FIXED).fixedAmount(200).build();
+        when(rewardRepository.findByEventId(3L)).thenReturn(Optional.of(before), Optional.of(after));
+
+        assertEquals(100, cache.get(3L).orElseThrow().getFixedAmount());
+        cache.invalidate(3L);
+
+        assertEquals(200, cache.get(3L).orElseThrow().getFixedAmount());
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.event_system.Unit_Test;
+
+import com.example.event_system.domain.TrafficModeAudit;
+import com.example.event_system.repository.TrafficModeAuditRepository;
+import com.example.event_system.service.TrafficModeController;
+import com.example.event_system.service.cache.RedisPolicyCache;
+import com.example.event_system.support.SlidingWindowCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TrafficModeControllerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final RedisPolicyCache redisPolicyCache = mock(RedisPolicyCache.class);
+    private final TrafficModeAuditRepository auditRepository = mock(TrafficModeAuditRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 윈도우 100ms, 진입 500/s(= 윈도우당 50건), 복귀 200/s, 지연 진입 200ms / 복귀 50ms, 복귀 유지 3회
+    private final TrafficModeController controller = new TrafficModeController(
+            redisPolicyCache, auditRepository, meterRegistry, true, 100, 500, 200, 200, 50, 3);
+
+    @Test
+    @DisplayName("슬라이딩 윈도우: 윈도우를 벗어난 구간은 건수와 합계에서 빠진다")
+    void slidingWindow_ExpiresOldBuckets() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(5, 10);
+
+        counter.add(3, 0);
+        counter.add(7, 15 * MS);
+        counter.add(5, 45 * MS);
+        assertEquals(3, counter.count(49 * MS));
+        assertEquals(15, counter.sum(49 * MS));
+
+        // 50ms 시점: 0~9ms 구간이 만료
+        assertEquals(2, counter.count(50 * MS));
+        assertEquals(12, counter.sum(50 * MS));
+
+        // 같은 칸을 다시 쓰면 이전 값은 버리고 새로 집계
+        counter.add(1, 60 * MS);
+        assertEquals(1, counter.count(94 * MS));
+        assertEquals(50, counter.windowMillis());
+    }
+
+    @Test
+    @DisplayName("슬라이딩 윈도우: 여러 스레드가 동시에 기록해도 건수와 합계가 빠짐없이 집계된다")
+    void slidingWindow_ConcurrentAdd() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(5, 10);
+        long now = 3 * MS;
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) counter.add(2, now);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(80_000, counter.count(now));
+        assertEquals(160_000, counter.sum(now));
+    }
+
+    @Test
+    @DisplayName("자동 전환: 응모율이 진입 임계값을 넘으면 대량 트래픽 모드로 전환하고 이력을 남긴다")
+    void enterOnApplyRate() {
+        for (int i = 0; i < 80; i++) controller.recordApply(1L);
+        controller.evaluate();
+
+        assertTrue(controller.isHighTraffic(1L));
+        assertFalse(controller.isHighTraffic(2L));
+
+        ArgumentCaptor<TrafficModeAudit> captor = ArgumentCaptor.forClass(TrafficModeAudit.class);
+        verify(auditRepository).save(captor.capture());
+        assertEquals(1L, captor.getValue().getEventId());
+        assertTrue(captor.getValue().isHighTraffic());
+        assertTrue(captor.getValue().getApplyRate() >= 500);
+        assertEquals(1.0, meterRegistry.get("event.traffic-mode.transitions").tag("mode", "high").counter().count());
+    }
+
+    @Test
+    @DisplayName("자동 전환: 평균 DB 저장 지연이 진입 임계값을 넘으면 응모율과 관계없이 전환한다")
+    void enterOnDbLatency() {
+        for (int i = 0; i < 10; i++) {
+            controller.recordApply(1L);
+            controller.recordDbWrite(1L, 300 * MS);
+        }
+        controller.evaluate();
+
+        assertTrue(controller.isHighTraffic(1L));
+    }
+
+    @Test
+    @DisplayName("히스테리시스: 복귀 조건이 exit-hold회 연속으로 유지되어야 일반 모드로 돌아간다")
+    void exitAfterHold() throws InterruptedException {
+        for (int i = 0; i < 80; i++) controller.recordApply(1L);
+        controller.evaluate();
+        assertTrue(controller.isHighTraffic(1L));
+
+        Thread.sleep(150); // 윈도우(100ms) 경과 → 응모율 0
+        controller.evaluate();
+        controller.evaluate();
+        assertTrue(controller.isHighTraffic(1L));
+
+        // 복귀 대기 중 다시 응모가 몰리면 연속 횟수를 처음부터 센다
+        for (int i = 0; i < 30; i++) controller.recordApply(1L);
+        controller.evaluate();
+        Thread.sleep(150);
+        controller.evaluate();
+        controller.evaluate();
+        assertTrue(controller.isHighTraffic(1L));
+
+        controller.evaluate();
+        assertFalse(controller.isHighTraffic(1L));
+
+        ArgumentCaptor<TrafficModeAudit> captor = ArgumentCaptor.forClass(TrafficModeAudit.class);
+        verify(auditRepository, times(2)).save(captor.capture());
+        List<TrafficModeAudit> audits = captor.getAllValues();
+        assertTrue(audits.get(0).isHighTraffic());
+        assertFalse(audits.get(1).isHighTraffic());
+    }
+
+    @Test
+    @DisplayName("히스테리시스: DB 지연으로 진입한 뒤에는 응모가 이어지는 동안 새 지연 표본이 있어야 복귀한다")
+    void latencyEntryNeedsFreshSample() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            controller.recordApply(1L);
+            controller.recordDbWrite(1L, 300 * MS);
+        }
+        controller.evaluate();
+        assertTrue(controller.isHighTraffic(1L));
+
+        // Kafka 경유로 바뀌어 일반 모드 저장 지연이 더 이상 기록되지 않는 상황: 응모만 들어오면 복귀하지 않음
+        for (int round = 0; round < 5; round++) {
+            Thread.sleep(110);
+            controller.recordApply(1L);
+            controller.evaluate();
+        }
+        assertTrue(controller.isHighTraffic(1L));
+
+        // Consumer 저장 등에서 복귀 임계값 이하의 지연 표본이 들어오면 exit-hold회 뒤 복귀
+        for (int round = 0; round < 3; round++) {
+            controller.recordApply(1L);
+            controller.recordDbWrite(1L, 10 * MS);
+            controller.evaluate();
+        }
+        assertFalse(controller.isHighTraffic(1L));
+    }
+
+    @Test
+    @DisplayName("수동 플래그: Redis 플래그가 켜져 있으면 자동 판단과 관계없이 대량 트래픽 모드다")
+    void manualFlagOverrides() {
+        when(redisPolicyCache.isHighTraffic(1L)).thenReturn(true);
+
+        assertTrue(controller.isHighTraffic(1L));
+        verifyNoInteractions(auditRepository);
+    }
+}
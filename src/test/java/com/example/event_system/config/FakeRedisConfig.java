@@ -1,13 +1,28 @@
 package com.example.event_system.config;
 
+import com.example.event_system.service.EventResultService;
+import com.example.event_system.service.ParticipantRegistry;
+import com.example.event_system.service.RedisRateLimiter;
+import com.example.event_system.service.RewardDeckService;
+import com.example.event_system.service.StockReservationService;
+import org.mockito.invocation.InvocationOnMock;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,17 +50,29 @@ public class FakeRedisConfig {
         StringRedisTemplate mockTemplate = mock(StringRedisTemplate.class);
         ValueOperations<String, String> mockValues = mock(ValueOperations.class);
         ZSetOperations<String, String> mockZSet = mock(ZSetOperations.class);
+        SetOperations<String, String> mockSet = mock(SetOperations.class);
 
         // [Key-Value Store] 실제 Redis처럼 키별로 값을 관리하는 Map (Thread-Safe)
         Map<String, String> redisStore = new ConcurrentHashMap<>();
+        // [Set Store] SADD/SREM 등 Set 자료구조 모사
+        Map<String, Set<String>> setStore = new ConcurrentHashMap<>();
+        // [ZSet Store] 유량 제어 스크립트의 요청 시각 기록(ZADD/ZREMRANGEBYSCORE) 모사
+        Map<String, Deque<Long>> windowStore = new ConcurrentHashMap<>();
 
         when(mockTemplate.opsForValue()).thenReturn(mockValues);
         when(mockTemplate.opsForZSet()).thenReturn(mockZSet);
+        when(mockTemplate.opsForSet()).thenReturn(mockSet);
 
         // 1. hasKey 구현
         when(mockTemplate.hasKey(anyString())).thenAnswer(invocation -> {
             String key = invocation.getArgument(0);
-            return redisStore.containsKey(key);
+            return redisStore.containsKey(key) || setStore.containsKey(key);
+        });
+
+        // 1-1. delete 구현
+        when(mockTemplate.delete(anyString())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            return redisStore.remove(key) != null | setStore.remove(key) != null;
         });
 
         // 2. set 구현
@@ -62,6 +89,13 @@ public class FakeRedisConfig {
             return redisStore.get(key);
         });
 
+        // 3-1. setIfAbsent 구현 (SET NX PX 락, 만료는 생략 - 락은 항상 해제 스크립트로 지움)
+        when(mockValues.setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            String value = invocation.getArgument(1);
+            return redisStore.putIfAbsent(key, value) == null;
+        });
+
         // 4. increment (delta=1)
         when(mockValues.increment(anyString())).thenAnswer(invocation -> {
             String key = invocation.getArgument(0);
@@ -83,7 +117,11 @@ public class FakeRedisConfig {
 
             // 테스트 환경이므로 지연 실행을 통해 만료 시뮬레이션
             CompletableFuture.delayedExecutor(timeout, unit)
-                .execute(() -> redisStore.remove(key));
+                .execute(() -> {
+                    redisStore.remove(key);
+                    setStore.remove(key);
+                    windowStore.remove(key);
+                });
             return true;
         });
 
@@ -91,9 +129,178 @@ public class FakeRedisConfig {
         when(mockZSet.reverseRange(anyString(), anyLong(), anyLong()))
                 .thenReturn(Set.of("이벤트B", "이벤트C", "이벤트A")); // B가 1등인 상황 가정
 
+        // 8. Set 구현 (SADD / SREM / SUNIONSTORE)
+        when(mockSet.add(anyString(), any(String[].class))).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            Object[] members = varargs(invocation, 1);
+            Set<String> set = setStore.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+            return Arrays.stream(members).filter(m -> set.add((String) m)).count();
+        });
+        when(mockSet.remove(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            Object[] members = varargs(invocation, 1);
+            Set<String> set = setStore.getOrDefault(key, Set.of());
+            return Arrays.stream(members).filter(set::remove).count();
+        });
+        when(mockSet.unionAndStore(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            String otherKey = invocation.getArgument(1);
+            String destKey = invocation.getArgument(2);
+            Set<String> union = new HashSet<>(setStore.getOrDefault(key, Set.of()));
+            union.addAll(setStore.getOrDefault(otherKey, Set.of()));
+            Set<String> dest = ConcurrentHashMap.newKeySet();
+            dest.addAll(union);
+            setStore.put(destKey, dest);
+            return (long) dest.size();
+        });
+
+        // 9. Lua 스크립트 구현 (운영 코드의 스크립트를 Java로 동일하게 모사, 원자성은 synchronized로 보장)
+        when(mockTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            RedisScript<?> script = invocation.getArgument(0);
+            List<String> keys = invocation.getArgument(1);
+            Object[] args = varargs(invocation, 2);
+            synchronized (redisStore) {
+                return executeScript(script, keys, args, redisStore, setStore, windowStore);
+            }
+        });
+
         return mockTemplate;
     }
 
+    // 가변 인자(varargs)를 배열로 꺼냄 (Mockito 버전에 따라 펼쳐진 형태/배열 형태 모두 대응)
+    private Object[] varargs(InvocationOnMock invocation, int index) {
+        Object[] arguments = invocation.getArguments();
+        if (arguments.length == index + 1 && arguments[index] instanceof Object[] array) {
+            return array;
+        }
+        return Arrays.copyOfRange(arguments, index, arguments.length);
+    }
+
+    private Object executeScript(RedisScript<?> script, List<String> keys, Object[] args,
+                                 Map<String, String> store, Map<String, Set<String>> setStore,
+                                 Map<String, Deque<Long>> windowStore) {
+        if (script == RedisRateLimiter.SLIDING_WINDOW_SCRIPT || script == RedisRateLimiter.TOKEN_BUCKET_SCRIPT) {
+            boolean slidingWindow = script == RedisRateLimiter.SLIDING_WINDOW_SCRIPT;
+            long limit = Long.parseLong((String) args[0]);
+            long window = Long.parseLong((String) args[1]) * 1000;
+            double requested = Double.parseDouble((String) args[slidingWindow ? 3 : 2]);
+            long permits = requested < 1 ? Math.max(1, (long) Math.floor(limit * requested)) : (long) requested;
+            long now = System.nanoTime() / 1000;
+            if (slidingWindow) {
+                Deque<Long> requests = windowStore.computeIfAbsent(keys.get(0), k -> new ArrayDeque<>());
+                while (!requests.isEmpty() && requests.peekFirst() <= now - window) requests.pollFirst();
+                long granted = Math.min(permits, limit - requests.size());
+                for (long i = 0; i < granted; i++) requests.addLast(now);
+                return Math.max(0L, granted);
+            }
+            String[] bucket = store.getOrDefault(keys.get(0), limit + ":" + now).split(":");
+            double tokens = Math.min(limit, Double.parseDouble(bucket[0])
+                    + Math.max(0, now - Long.parseLong(bucket[1])) * (double) limit / window);
+            long granted = Math.max(0L, Math.min(permits, (long) Math.floor(tokens)));
+            store.put(keys.get(0), (tokens - granted) + ":" + now);
+            return granted;
+        }
+        if (script == ParticipantRegistry.CLAIM_SCRIPT) {
+            Set<String> participants = setStore.get(keys.get(0));
+            if (participants == null) return -1L;
+            return participants.add((String) args[0]) ? 1L : 0L;
+        }
+        if (script == ParticipantRegistry.UNLOCK_SCRIPT) {
+            return store.remove(keys.get(0), (String) args[0]) ? 1L : 0L;
+        }
+        if (script == StockReservationService.RESERVE_SCRIPT) {
+            String stock = store.get(keys.get(0));
+            if (stock == null) return -2L;
+            Set<String> reserved = setStore.computeIfAbsent(keys.get(1), k -> ConcurrentHashMap.newKeySet());
+            if (reserved.contains((String) args[0])) return -1L;
+            if (Long.parseLong(stock) <= 0) return 0L;
+            incrementValue(store, keys.get(0), -1L);
+            reserved.add((String) args[0]);
+            return 1L;
+        }
+        if (script == StockReservationService.RELEASE_SCRIPT) {
+            Set<String> reserved = setStore.getOrDefault(keys.get(1), Set.of());
+            if (!reserved.remove((String) args[0])) return 0L;
+            if (store.containsKey(keys.get(0))) incrementValue(store, keys.get(0), 1L);
+            return 1L;
+        }
+        if (script == StockReservationService.SEED_SCRIPT) {
+            boolean seeded = store.putIfAbsent(keys.get(0), (String) args[0]) == null;
+            setStore.computeIfAbsent(keys.get(1), k -> ConcurrentHashMap.newKeySet()).add((String) args[2]);
+            return seeded ? 1L : 0L;
+        }
+        if (script == StockReservationService.RESTOCK_SCRIPT) {
+            if (!store.containsKey(keys.get(0))) return -1L;
+            return incrementValue(store, keys.get(0), Long.parseLong((String) args[0]));
+        }
+        if (script == EventResultService.FEEDBACK_REWARD_SCRIPT) {
+            int min = Integer.parseInt((String) args[0]);
+            int target = Integer.parseInt((String) args[1]);
+            int count = Integer.parseInt((String) args[3]);
+            Random random = new Random(Long.parseLong((String) args[4]));
+            long sum = Long.parseLong(store.getOrDefault(keys.get(0), "0"));
+            long total = Long.parseLong(store.getOrDefault(keys.get(1), "0"));
+            List<Long> rewards = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long reward = target;
+                if (total > 0) {
+                    reward = (sum > (long) target * total)
+                            ? min + random.nextInt(target - min + 1)
+                            : target + random.nextInt(Integer.parseInt((String) args[2]) - target + 1);
+                }
+                rewards.add(reward);
+                sum += reward;
+                total++;
+            }
+            store.put(keys.get(0), String.valueOf(sum));
+            store.put(keys.get(1), String.valueOf(total));
+            return rewards;
+        }
+        // 보상 덱: BITFIELD 대신 덱 키에 쉼표 구분 문자열, 메타 키에 "width:size"로 보관
+        if (script == RewardDeckService.DECK_WRITE_SCRIPT) {
+            List<String> deck = new ArrayList<>(List.of(store.getOrDefault(keys.get(0), "").split(",")));
+            deck.removeIf(String::isEmpty);
+            int index = Integer.parseInt((String) args[1]);
+            for (String amount : ((String) args[2]).split(",")) {
+                while (deck.size() <= index) deck.add("0");
+                deck.set(index++, amount);
+            }
+            store.put(keys.get(0), String.join(",", deck));
+            if (Long.parseLong((String) args[3]) > 0) store.put(keys.get(1), args[0] + ":" + args[3]);
+            return (long) index;
+        }
+        // 반환 목록도 쉼표 구분 문자열로 보관
+        if (script == RewardDeckService.DECK_DRAW_SCRIPT) {
+            String meta = store.get(keys.get(1));
+            if (meta == null) return List.of();
+            int n = Integer.parseInt((String) args[0]);
+            List<Long> amounts = new ArrayList<>();
+            List<String> returned = new ArrayList<>(List.of(store.getOrDefault(keys.get(3), "").split(",")));
+            returned.removeIf(String::isEmpty);
+            while (amounts.size() < n && !returned.isEmpty()) amounts.add(Long.parseLong(returned.remove(0)));
+            store.put(keys.get(3), String.join(",", returned));
+            int need = n - amounts.size();
+            if (need == 0) return amounts;
+            long size = Long.parseLong(meta.split(":")[1]);
+            long start = incrementValue(store, keys.get(2), need) - need;
+            if (start >= size) return amounts;
+            String[] deck = store.get(keys.get(0)).split(",");
+            for (long index = start; index < Math.min(start + need, size); index++) {
+                amounts.add(Long.parseLong(deck[(int) index]));
+            }
+            return amounts;
+        }
+        if (script == RewardDeckService.DECK_RETURN_SCRIPT) {
+            if (!store.containsKey(keys.get(0))) return 0L;
+            List<String> returned = new ArrayList<>(List.of(store.getOrDefault(keys.get(1), "").split(",")));
+            returned.removeIf(String::isEmpty);
+            for (Object amount : args) returned.add((String) amount);
+            store.put(keys.get(1), String.join(",", returned));
+            return (long) returned.size();
+        }
+        throw new UnsupportedOperationException("FakeRedis에서 지원하지 않는 스크립트입니다.");
+    }
+
     // Map 기반 원자적 증가 로직
     private Long incrementValue(Map<String, String> store, String key, long delta) {
         return Long.parseLong(store.compute(key, (k, v) -> {